@@ -0,0 +1,56 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetFingerprint;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetSpecFactory;
+import com.rtte.argocd.orchestrator.model.domain.ApplicationSetSpec;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Desired-state computation of one customer's ApplicationSet on every
+ * reconcile: building the spec from the CAC configuration, and building plus
+ * fingerprinting it, which is what decides whether an apply is skipped.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationSetBuildBenchmark {
+
+    @Param({"55", "500", "5000"})
+    private int applications;
+
+    private ApplicationSetSpecFactory factory;
+    private CustomerConfig customer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = BenchmarkCustomers.specFactory();
+        customer = BenchmarkCustomers.customer("benchmark", applications);
+    }
+
+    @Benchmark
+    public ApplicationSetSpec build() {
+        return factory.build(customer);
+    }
+
+    @Benchmark
+    public String buildAndFingerprint() {
+        return ApplicationSetFingerprint.stamp(factory.build(customer));
+    }
+}
@@ -0,0 +1,72 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import com.rtte.argocd.orchestrator.config.CACProperties;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetSpecFactory;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic customer configurations shaped like the CAC files under
+ * examples/cac-configs/customers: every application carries resources, a few
+ * Helm parameters and a small values map.
+ */
+public final class BenchmarkCustomers {
+
+    private BenchmarkCustomers() {
+    }
+
+    /**
+     * Build a customer with {@code applications} enabled applications, named
+     * like the services of {@link BenchmarkGraphs}
+     */
+    public static CustomerConfig customer(String customer, int applications) {
+        List<CustomerConfig.ApplicationConfig> apps = new ArrayList<>(applications);
+        for (int i = 0; i < applications; i++) {
+            apps.add(CustomerConfig.ApplicationConfig.builder()
+                    .name(BenchmarkGraphs.serviceName(i))
+                    .enabled(true)
+                    .version("1." + (i % 20) + ".0")
+                    .imageRepository("registry.rtte.com/" + customer + "/" + BenchmarkGraphs.serviceName(i))
+                    .deploymentStrategy(i % 4 == 0 ? "CANARY" : "ROLLING_UPDATE")
+                    .replicas(1 + i % 3)
+                    .resources(CustomerConfig.ResourceConfig.builder()
+                            .requests(CustomerConfig.ResourceConfig.ResourceRequest.builder()
+                                    .cpu("250m").memory("256Mi").build())
+                            .limits(CustomerConfig.ResourceConfig.ResourceRequest.builder()
+                                    .cpu("1").memory("1Gi").build())
+                            .build())
+                    .parameters(List.of(
+                            CustomerConfig.ParameterConfig.builder().name("logLevel").value("info").build(),
+                            CustomerConfig.ParameterConfig.builder().name("wave")
+                                    .value(String.valueOf(BenchmarkGraphs.waveOf(i, applications)))
+                                    .forceString(true).build()))
+                    .values(Map.of(
+                            "ingress", Map.of("enabled", i % 2 == 0, "host", BenchmarkGraphs.serviceName(i) + ".rtte.com"),
+                            "autoscaling", Map.of("minReplicas", 1, "maxReplicas", 5)))
+                    .environment("production")
+                    .autoSync(true)
+                    .build());
+        }
+        return CustomerConfig.builder()
+                .customer(customer)
+                .environment("production")
+                .applications(apps)
+                .globalConfig(Map.of("region", "eu-west-1", "monitoring", Map.of("enabled", true)))
+                .labels(Map.of("tier", "enterprise"))
+                .annotations(Map.of("owner", "platform-team"))
+                .build();
+    }
+
+    /**
+     * Spec factory with the default {@code argocd} and {@code cac} properties
+     */
+    public static ApplicationSetSpecFactory specFactory() {
+        CACProperties cacProperties = new CACProperties();
+        cacProperties.setRepositoryUrl("https://github.com/rtte/cac-configs");
+        return new ApplicationSetSpecFactory(new ArgoCDProperties(), cacProperties);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Synthetic dependency graphs shaped like the customer layout in
+ * examples/microservices/microservices-config.yaml: services spread over
+ * eight waves, each depending on a few services from earlier waves.
+ */
+public final class BenchmarkGraphs {
+
+    public static final int WAVES = 8;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Name of the i-th generated service
+     */
+    public static String serviceName(int index) {
+        return "service-" + index;
+    }
+
+    /**
+     * Wave the i-th generated service is placed in
+     */
+    public static int waveOf(int index, int services) {
+        return (int) ((long) index * WAVES / services);
+    }
+
+    /**
+     * Build an acyclic graph where every service outside wave 0 depends on up to
+     * {@code maxDependencies} random services from earlier waves
+     */
+    public static DependencyGraph layered(int services, int maxDependencies, long seed) {
+        Random random = new Random(seed);
+        DependencyGraph graph = DependencyGraph.builder()
+                .customerId("benchmark")
+                .graphName("benchmark-" + services)
+                .nodes(new ArrayList<>())
+                .edges(new ArrayList<>())
+                .topologicalOrder(new ArrayList<>())
+                .build();
+
+        int waveSize = Math.max(1, services / WAVES);
+        for (int i = 0; i < services; i++) {
+            int wave = waveOf(i, services);
+            graph.addNode(DependencyGraph.DependencyNode.builder()
+                    .serviceName(serviceName(i))
+                    .syncWave(wave)
+                    .priority(0)
+                    .build());
+
+            int firstInWave = (int) Math.ceil((double) wave * services / WAVES);
+            if (firstInWave == 0) {
+                continue;
+            }
+            int dependencies = 1 + random.nextInt(maxDependencies);
+            for (int d = 0; d < dependencies; d++) {
+                int lowest = Math.max(0, firstInWave - 2 * waveSize);
+                int target = lowest + random.nextInt(firstInWave - lowest);
+                graph.addEdge(DependencyGraph.DependencyEdge.builder()
+                        .fromService(serviceName(i))
+                        .toService(serviceName(target))
+                        .dependencyType(DependencyGraph.DependencyEdge.DependencyType.HARD)
+                        .weight(1 + random.nextInt(10))
+                        .build());
+            }
+        }
+        return graph;
+    }
+}
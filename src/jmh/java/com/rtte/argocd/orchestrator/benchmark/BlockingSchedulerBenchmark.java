@@ -0,0 +1,110 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code APPLIES} concurrent simulated ApplicationSet applies, each a
+ * blocking call of {@code APPLY_LATENCY_MILLIS} moved off the caller with
+ * {@code subscribeOn}, on Reactor's {@code boundedElastic} pool versus the
+ * virtual-thread scheduler of {@link BlockingSchedulers}.
+ *
+ * boundedElastic caps out at 10 threads per core and queues the rest, so its
+ * throughput is bounded by that cap; virtual threads run every apply at once.
+ * Memory is reported as the peak number of platform threads and the heap
+ * used at the end of each invocation; run with {@code -prof gc} for
+ * allocation rates. {@code virtual} needs a Java 21+ runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-XX:ActiveProcessorCount=4", "-Xmx2g"})
+public class BlockingSchedulerBenchmark {
+
+    private static final int APPLIES = 10_000;
+    private static final long APPLY_LATENCY_MILLIS = 20;
+
+    @Param({"boundedElastic", "virtual"})
+    private String scheduler;
+
+    private Scheduler blocking;
+
+    /**
+     * Platform threads and heap in use, reported next to the throughput score
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        public long peakPlatformThreads;
+        public long heapUsedMb;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            threads.resetPeakThreadCount();
+        }
+
+        void record() {
+            peakPlatformThreads = threads.getPeakThreadCount();
+            heapUsedMb = memory.getHeapMemoryUsage().getUsed() >> 20;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        blocking = switch (scheduler) {
+            case "boundedElastic" -> Schedulers.boundedElastic();
+            case "virtual" -> BlockingSchedulers.virtualThreadScheduler("benchmark-virtual")
+                    .orElseThrow(() -> new IllegalStateException("Virtual threads need a Java 21+ runtime"));
+            default -> throw new IllegalArgumentException(scheduler);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (!"boundedElastic".equals(scheduler)) {
+            blocking.dispose();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(APPLIES)
+    public long concurrentApplies(Footprint footprint) {
+        long applied = Flux.range(0, APPLIES)
+                .flatMap(i -> Mono.fromCallable(() -> {
+                            Thread.sleep(APPLY_LATENCY_MILLIS);
+                            return i;
+                        })
+                        .subscribeOn(blocking), APPLIES)
+                .count()
+                .block();
+        footprint.record();
+        return applied;
+    }
+}
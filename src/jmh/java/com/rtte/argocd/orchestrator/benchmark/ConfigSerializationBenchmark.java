@@ -0,0 +1,100 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.rtte.argocd.orchestrator.model.domain.ApplicationSetSpec;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of a customer's CAC configuration and of its
+ * generated ApplicationSet, in YAML (as stored in the CAC repository) and
+ * JSON (as sent to the API server and kept in the database).
+ *
+ * Documents are serialized once at setup, so the read benchmarks parse the
+ * exact output of the write benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigSerializationBenchmark {
+
+    @Param({"55", "500", "5000"})
+    private int applications;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final YAMLMapper yamlMapper = new YAMLMapper();
+
+    private CustomerConfig customer;
+    private ApplicationSetSpec spec;
+    private String customerYaml;
+    private byte[] customerJson;
+    private String specYaml;
+    private byte[] specJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        customer = BenchmarkCustomers.customer("benchmark", applications);
+        spec = BenchmarkCustomers.specFactory().build(customer);
+        customerYaml = yamlMapper.writeValueAsString(customer);
+        customerJson = jsonMapper.writeValueAsBytes(customer);
+        specYaml = yamlMapper.writeValueAsString(spec);
+        specJson = jsonMapper.writeValueAsBytes(spec);
+    }
+
+    @Benchmark
+    public CustomerConfig readCustomerConfigYaml() throws Exception {
+        return yamlMapper.readValue(customerYaml, CustomerConfig.class);
+    }
+
+    @Benchmark
+    public String writeCustomerConfigYaml() throws Exception {
+        return yamlMapper.writeValueAsString(customer);
+    }
+
+    @Benchmark
+    public CustomerConfig readCustomerConfigJson() throws Exception {
+        return jsonMapper.readValue(customerJson, CustomerConfig.class);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerConfigJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public ApplicationSetSpec readApplicationSetYaml() throws Exception {
+        return yamlMapper.readValue(specYaml, ApplicationSetSpec.class);
+    }
+
+    @Benchmark
+    public String writeApplicationSetYaml() throws Exception {
+        return yamlMapper.writeValueAsString(spec);
+    }
+
+    @Benchmark
+    public ApplicationSetSpec readApplicationSetJson() throws Exception {
+        return jsonMapper.readValue(specJson, ApplicationSetSpec.class);
+    }
+
+    @Benchmark
+    public byte[] writeApplicationSetJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(spec);
+    }
+}
@@ -0,0 +1,113 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.graph.DependencyCycle;
+import com.rtte.argocd.orchestrator.engine.graph.SyncWaveAnalysis;
+import com.rtte.argocd.orchestrator.engine.graph.SyncWaveAnalyzer;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-graph algorithms behind every deployment plan, each measured through
+ * the public {@link DependencyGraph} entry point so the cost of compiling the
+ * graph is included, as it is in production. {@link #compile} is the baseline
+ * to subtract for the algorithm alone.
+ *
+ * Cycle detection runs twice: on the acyclic layered graph (the common case,
+ * a yes/no check) and on a copy where one in fifty services, counted from
+ * the last wave, forms a two-service SOFT cycle with its first dependency, so
+ * every cycle has to be reported and condensed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DependencyGraphBenchmark {
+
+    private static final int CYCLE_EVERY = 50;
+
+    @Param({"55", "500", "5000"})
+    private int services;
+
+    private DependencyGraph graph;
+    private DependencyGraph cyclicGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.layered(services, 3, 42L);
+        cyclicGraph = BenchmarkGraphs.layered(services, 3, 42L);
+        for (int i = services - 1; i >= 0; i -= CYCLE_EVERY) {
+            String service = BenchmarkGraphs.serviceName(i);
+            Optional<DependencyEdge> forward = cyclicGraph.getEdges().stream()
+                    .filter(edge -> edge.getFromService().equals(service))
+                    .findFirst();
+            if (forward.isPresent()) {
+                // Condensed ordering only accepts cycles without HARD edges
+                forward.get().setDependencyType(DependencyEdge.DependencyType.SOFT);
+                cyclicGraph.addEdge(DependencyEdge.builder()
+                        .fromService(forward.get().getToService())
+                        .toService(service)
+                        .dependencyType(DependencyEdge.DependencyType.SOFT)
+                        .weight(1)
+                        .build());
+            }
+        }
+        if (!cyclicGraph.hasCircularDependencies()) {
+            throw new IllegalStateException("Cyclic benchmark graph has no cycle");
+        }
+    }
+
+    @Benchmark
+    public CompiledDependencyGraph compile() {
+        return graph.compile();
+    }
+
+    @Benchmark
+    public boolean detectCycleAcyclic() {
+        return graph.hasCircularDependencies();
+    }
+
+    @Benchmark
+    public List<DependencyCycle> findCyclesCyclic() {
+        return cyclicGraph.findCircularDependencies();
+    }
+
+    @Benchmark
+    public List<String> topologicalSort() {
+        return graph.generateTopologicalOrder();
+    }
+
+    @Benchmark
+    public List<String> condensedTopologicalSortCyclic() {
+        return cyclicGraph.generateTopologicalOrder(true);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> waveGrouping() {
+        return graph.getSyncWaveOrder();
+    }
+
+    @Benchmark
+    public SyncWaveAnalysis waveAnalysis() {
+        return SyncWaveAnalyzer.analyze(graph.compile());
+    }
+}
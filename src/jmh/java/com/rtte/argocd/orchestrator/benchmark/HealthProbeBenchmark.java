@@ -0,0 +1,111 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.engine.probe.HealthProber;
+import com.rtte.argocd.orchestrator.engine.probe.ProbeTarget;
+import com.rtte.argocd.orchestrator.engine.timer.HierarchicalTimingWheel;
+import com.rtte.argocd.orchestrator.model.domain.Microservice.MicroserviceStatus;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probe throughput of {@link HealthProber} against a local stub HTTP server
+ * that answers every health check with 200 (or 503 for every tenth target).
+ *
+ * Each invocation runs one round of probes over all targets with bounded
+ * concurrency, the way the timing wheel fires them in steady state. The
+ * score is in probes per second, so 55 services × 300 customers probed
+ * every 30s needs roughly 550 probes/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-XX:ActiveProcessorCount=2"})
+public class HealthProbeBenchmark {
+
+    private static final int TARGETS = 1000;
+
+    @Param({"64", "256"})
+    private int concurrency;
+
+    private HttpServer server;
+    private HierarchicalTimingWheel wheel;
+    private HealthProber prober;
+    private List<ProbeTarget> targets;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", exchange -> {
+            int status = exchange.getRequestURI().getPath().endsWith("/unhealthy") ? 503 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark-probes")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        wheel = new HierarchicalTimingWheel(Duration.ofMillis(100), 6, 4, Clock.systemDefaultZone(), Runnable::run);
+        prober = new HealthProber(webClient, wheel, 0.1, (target, status) -> { });
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        targets = new ArrayList<>(TARGETS);
+        for (int i = 0; i < TARGETS; i++) {
+            String path = i % 10 == 0 ? "/svc-" + i + "/unhealthy" : "/svc-" + i + "/health";
+            targets.add(new ProbeTarget((long) i, "customer-" + (i / 55), "svc-" + i, URI.create(base + path),
+                    "GET", 200, Duration.ofSeconds(5), Duration.ofSeconds(30), 3, 1, MicroserviceStatus.PENDING));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        prober.close();
+        wheel.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public long probeRound() {
+        return Flux.fromIterable(targets)
+                .flatMap(target -> prober.probe(target)
+                        .doOnNext(target::record), concurrency)
+                .filter(Boolean::booleanValue)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,94 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-edge updates as sent by CAC webhooks: incremental Pearce-Kelly
+ * maintenance, which DependencyGraph does once an order has been generated,
+ * versus recomputing the full topological order.
+ *
+ * Each invocation adds a dependency between two services of the same wave
+ * (which may force a reorder but never closes a cycle) and removes it again,
+ * so the graph returns to its original shape after every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncrementalTopologicalOrderBenchmark {
+
+    @Param({"55", "500", "5000"})
+    private int services;
+
+    private DependencyGraph incrementalGraph;
+    private DependencyGraph rebuildGraph;
+    private List<DependencyEdge> candidates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        incrementalGraph = BenchmarkGraphs.layered(services, 3, 42L);
+        rebuildGraph = BenchmarkGraphs.layered(services, 3, 42L);
+        incrementalGraph.generateTopologicalOrder();
+
+        Random random = new Random(7L);
+        candidates = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            int from = random.nextInt(services);
+            int wave = BenchmarkGraphs.waveOf(from, services);
+            int to = random.nextInt(services);
+            if (to != from && BenchmarkGraphs.waveOf(to, services) == wave) {
+                candidates.add(DependencyEdge.builder()
+                        .fromService(BenchmarkGraphs.serviceName(from))
+                        .toService(BenchmarkGraphs.serviceName(to))
+                        .dependencyType(DependencyEdge.DependencyType.SOFT)
+                        .weight(1)
+                        .build());
+            }
+        }
+    }
+
+    private DependencyEdge nextCandidate() {
+        DependencyEdge edge = candidates.get(next);
+        next = (next + 1) % candidates.size();
+        return edge;
+    }
+
+    @Benchmark
+    public void incremental(Blackhole blackhole) {
+        DependencyEdge edge = nextCandidate();
+        incrementalGraph.addEdge(edge);
+        blackhole.consume(incrementalGraph.getTopologicalOrder());
+        incrementalGraph.removeEdge(edge);
+    }
+
+    @Benchmark
+    public void fullRebuild(Blackhole blackhole) {
+        DependencyEdge edge = nextCandidate();
+        // Without a generated order the graph does no incremental maintenance
+        rebuildGraph.addEdge(edge);
+        blackhole.consume(rebuildGraph.compile().topologicalOrder());
+        rebuildGraph.removeEdge(edge);
+    }
+}
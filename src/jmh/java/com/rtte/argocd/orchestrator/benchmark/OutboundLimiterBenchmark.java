@@ -0,0 +1,155 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.engine.limit.AdaptiveConcurrencyLimiter;
+import com.rtte.argocd.orchestrator.engine.limit.AimdLimit;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of {@link AdaptiveConcurrencyLimiter} against a local stand-in for
+ * the Argo CD API that degrades like the real one under load: every request
+ * beyond {@code CAPACITY} concurrent ones adds latency, and beyond twice the
+ * capacity the stand-in answers 503.
+ *
+ * Each invocation is a fleet-wide change: {@code REQUESTS} mutations from
+ * {@code CUSTOMERS} customers fired at once. Compare {@code limited=true}
+ * against the unbounded baseline on both throughput and the
+ * {@code overloadErrors} counter; the limiter should converge near the
+ * stand-in's capacity and keep 503s close to zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-XX:ActiveProcessorCount=4"})
+public class OutboundLimiterBenchmark {
+
+    private static final int REQUESTS = 600;
+    private static final int CUSTOMERS = 30;
+    private static final int CAPACITY = 16;
+    private static final long BASE_LATENCY_MILLIS = 5;
+    private static final long LATENCY_PER_EXCESS_MILLIS = 2;
+
+    @Param({"true", "false"})
+    private boolean limited;
+
+    private HttpServer server;
+    private WebClient webClient;
+    private AdaptiveConcurrencyLimiter limiter;
+    private final AtomicInteger serverInFlight = new AtomicInteger();
+
+    /**
+     * Failed requests per iteration, reported next to the throughput score
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Errors {
+        private final AtomicLong failures = new AtomicLong();
+
+        public long overloadErrors() {
+            return failures.get();
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failures.set(0);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.createContext("/", exchange -> {
+            int concurrent = serverInFlight.incrementAndGet();
+            try {
+                if (concurrent > 2 * CAPACITY) {
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                long excess = Math.max(0, concurrent - CAPACITY);
+                Thread.sleep(BASE_LATENCY_MILLIS + excess * LATENCY_PER_EXCESS_MILLIS);
+                exchange.sendResponseHeaders(200, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                serverInFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark-outbound")
+                .maxConnections(REQUESTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(8, 2, 256, 0.9, Duration.ofMillis(50)),
+                () -> new AimdLimit(8, 2, 256, 0.9, Duration.ofMillis(50)),
+                REQUESTS,
+                error -> error instanceof WebClientResponseException responseError
+                        && responseError.getStatusCode().is5xxServerError());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long fleetWideChange(Errors errors) {
+        return Flux.range(0, REQUESTS)
+                .flatMap(i -> mutate("customer-" + (i % CUSTOMERS))
+                        .thenReturn(true)
+                        .onErrorResume(error -> {
+                            errors.failures.incrementAndGet();
+                            return Mono.just(false);
+                        }), REQUESTS)
+                .filter(Boolean::booleanValue)
+                .count()
+                .block();
+    }
+
+    private Mono<Void> mutate(String customer) {
+        Mono<Void> request = webClient.post()
+                .uri("/api/v1/applications/{customer}/sync", customer)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+        return limited ? limiter.execute("in-cluster", customer, () -> request) : request;
+    }
+}
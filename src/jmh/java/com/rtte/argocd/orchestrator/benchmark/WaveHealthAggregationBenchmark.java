@@ -0,0 +1,92 @@
+package com.rtte.argocd.orchestrator.benchmark;
+
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgress;
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgressTracker;
+import com.rtte.argocd.orchestrator.model.dto.ApplicationStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregation of Argo CD Application health into sync wave progress, as done
+ * on every status refresh.
+ *
+ * {@link #rollout} drives a fresh wave from all-pending to completed: every
+ * service reports Synced/Progressing and then Synced/Healthy, mapped through
+ * {@link ApplicationStatus#getState()} exactly like a refresh. Tracker
+ * creation is part of the measurement. {@link #unchangedRefresh} replays the
+ * most common refresh, where every service reports the state it already has.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaveHealthAggregationBenchmark {
+
+    @Param({"55", "500", "5000"})
+    private int services;
+
+    private List<String> serviceNames;
+    private List<ApplicationStatus> deployed;
+    private List<ApplicationStatus> healthy;
+    private WaveProgressTracker deployedWave;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serviceNames = new ArrayList<>(services);
+        deployed = new ArrayList<>(services);
+        healthy = new ArrayList<>(services);
+        for (int i = 0; i < services; i++) {
+            String service = BenchmarkGraphs.serviceName(i);
+            serviceNames.add(service);
+            deployed.add(status(service, "Progressing"));
+            healthy.add(status(service, "Healthy"));
+        }
+        deployedWave = new WaveProgressTracker(1L, "benchmark", 0, serviceNames);
+        apply(deployedWave, deployed);
+    }
+
+    private static ApplicationStatus status(String service, String health) {
+        return ApplicationStatus.builder()
+                .applicationName("benchmark-" + service)
+                .customerId("benchmark")
+                .serviceName(service)
+                .syncStatus("Synced")
+                .healthStatus(health)
+                .build();
+    }
+
+    private static WaveProgress apply(WaveProgressTracker tracker, List<ApplicationStatus> statuses) {
+        for (ApplicationStatus status : statuses) {
+            tracker.update(status.getServiceName(), status.getState());
+        }
+        return tracker.snapshot();
+    }
+
+    @Benchmark
+    public WaveProgress rollout() {
+        WaveProgressTracker tracker = new WaveProgressTracker(1L, "benchmark", 0, serviceNames);
+        apply(tracker, deployed);
+        return apply(tracker, healthy);
+    }
+
+    @Benchmark
+    public WaveProgress unchangedRefresh() {
+        return apply(deployedWave, deployed);
+    }
+}
@@ -36,6 +36,12 @@ public class ArgoCDProperties {
     @NotNull
     private ApplicationSetConfig applicationSet = new ApplicationSetConfig();
 
+    @NotNull
+    private InformerConfig informers = new InformerConfig();
+
+    @NotNull
+    private ClientConfig client = new ClientConfig();
+
     @NotNull
     private List<EnvironmentConfig> environments = List.of();
 
@@ -43,6 +49,35 @@ public class ArgoCDProperties {
     public static class ApplicationSetConfig {
         private boolean enabled = true;
         private String namespace = "argocd";
+        private SyncRetryConfig syncRetry = new SyncRetryConfig();
+    }
+
+    /**
+     * Retry strategy written into generated Applications' sync policy
+     */
+    @Data
+    public static class SyncRetryConfig {
+        private int limit = 5;
+        private String backoff = "exponential";
+        private Duration duration = Duration.ofSeconds(5);
+        private int factor = 2;
+        private Duration maxDuration = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class InformerConfig {
+        private boolean enabled = true;
+        private Duration resyncPeriod = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class ClientConfig {
+        private int maxConnections = 50;
+        private Duration maxIdleTime = Duration.ofSeconds(60);
+        private boolean http2 = true;
+        private Duration tokenRefreshBefore = Duration.ofMinutes(5);
+        // Used when the session token carries no exp claim
+        private Duration sessionTtl = Duration.ofHours(1);
     }
 
     @Data
@@ -0,0 +1,141 @@
+package com.rtte.argocd.orchestrator.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Schedulers for blocking calls, one per kind of call site.
+ *
+ * Every blocking fabric8 call against core Kubernetes resources, every
+ * blocking call against Argo CD custom resources and every JPA call is moved
+ * off the event loop with {@code subscribeOn}/{@code publishOn} on the
+ * scheduler of its {@link CallSite}. {@code orchestrator.blocking.executor}
+ * picks the default and {@code orchestrator.blocking.<call-site>} overrides it:
+ * <ul>
+ *   <li>BOUNDED_ELASTIC: Reactor's shared bounded elastic pool;</li>
+ *   <li>VIRTUAL: a thread-per-task executor of virtual threads, so thousands
+ *       of blocked calls cost a few KiB each instead of a platform thread.
+ *       The build targets Java 17, so virtual threads are created
+ *       reflectively and this falls back to BOUNDED_ELASTIC on older runtimes.</li>
+ * </ul>
+ * Long-running workers that block for a whole task, such as the reconcile
+ * queue workers, get a dedicated scheduler from {@link #newWorkers} that
+ * follows the executor of their call site.
+ */
+@Component
+@Slf4j
+public class BlockingSchedulers {
+
+    public enum CallSite {
+        KUBERNETES,
+        ARGOCD,
+        JPA,
+        RECONCILE
+    }
+
+    public enum ExecutorType {
+        BOUNDED_ELASTIC,
+        VIRTUAL
+    }
+
+    private final Map<CallSite, Scheduler> schedulers = new EnumMap<>(CallSite.class);
+    private final Map<CallSite, ExecutorType> types = new EnumMap<>(CallSite.class);
+    private final List<Scheduler> owned = new ArrayList<>();
+
+    public BlockingSchedulers(OrchestratorProperties orchestratorProperties) {
+        OrchestratorProperties.BlockingConfig config = orchestratorProperties.getBlocking();
+        for (CallSite site : CallSite.values()) {
+            ExecutorType type = Optional.ofNullable(config.overrideFor(site)).orElse(config.getExecutor());
+            Scheduler scheduler = Schedulers.boundedElastic();
+            if (type == ExecutorType.VIRTUAL) {
+                Optional<Scheduler> virtual = virtualThreadScheduler("blocking-" + site.name().toLowerCase(Locale.ROOT));
+                if (virtual.isPresent()) {
+                    scheduler = virtual.get();
+                    owned.add(scheduler);
+                } else {
+                    log.warn("Virtual threads need Java 21+, running {} calls on boundedElastic", site);
+                    type = ExecutorType.BOUNDED_ELASTIC;
+                }
+            }
+            schedulers.put(site, scheduler);
+            types.put(site, type);
+            log.info("Blocking {} calls run on {}", site, type);
+        }
+    }
+
+    @PreDestroy
+    void dispose() {
+        owned.forEach(Scheduler::dispose);
+    }
+
+    /**
+     * Scheduler for blocking calls of a call site
+     */
+    public Scheduler get(CallSite site) {
+        return schedulers.get(site);
+    }
+
+    public Scheduler kubernetes() {
+        return get(CallSite.KUBERNETES);
+    }
+
+    public Scheduler argocd() {
+        return get(CallSite.ARGOCD);
+    }
+
+    public Scheduler jpa() {
+        return get(CallSite.JPA);
+    }
+
+    public Scheduler reconcile() {
+        return get(CallSite.RECONCILE);
+    }
+
+    /**
+     * New scheduler for {@code workers} long-running blocking workers of a call
+     * site: one virtual thread per worker with the VIRTUAL executor, otherwise a
+     * bounded elastic pool of exactly {@code workers} threads. The caller
+     * disposes it.
+     */
+    public Scheduler newWorkers(CallSite site, int workers, String name) {
+        if (types.get(site) == ExecutorType.VIRTUAL) {
+            Optional<Scheduler> virtual = virtualThreadScheduler(name);
+            if (virtual.isPresent()) {
+                return virtual.get();
+            }
+        }
+        return Schedulers.newBoundedElastic(workers, workers, name);
+    }
+
+    /**
+     * New scheduler running each task on its own virtual thread, or empty
+     * if the runtime has no virtual threads
+     */
+    public static Optional<Scheduler> virtualThreadScheduler(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            ExecutorService executor = (ExecutorService) perTask.invoke(null, factory);
+            return Optional.of(Schedulers.fromExecutorService(executor, name));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+}
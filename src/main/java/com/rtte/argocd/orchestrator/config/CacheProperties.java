@@ -0,0 +1,40 @@
+package com.rtte.argocd.orchestrator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Configuration properties for in-process caches
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache")
+@Validated
+public class CacheProperties {
+
+    @Valid
+    @NotNull
+    private CacheSpec customerConfigs = new CacheSpec();
+
+    @Valid
+    @NotNull
+    private CacheSpec deploymentStatus = new CacheSpec();
+
+    @Data
+    public static class CacheSpec {
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl = Duration.ofMinutes(5);
+
+        @Min(1)
+        private long maxSize = 1000;
+    }
+}
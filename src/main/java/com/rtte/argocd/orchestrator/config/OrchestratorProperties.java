@@ -0,0 +1,198 @@
+package com.rtte.argocd.orchestrator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the orchestrator runtime (StatefulSet, sync loop, scheduling)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "orchestrator")
+@Validated
+public class OrchestratorProperties {
+
+    private String podName = "argocd-orchestrator-0";
+
+    private String podNamespace = "argocd-orchestrator";
+
+    @Valid
+    @NotNull
+    private LeaderElectionConfig leaderElection = new LeaderElectionConfig();
+
+    @Valid
+    @NotNull
+    private SyncConfig sync = new SyncConfig();
+
+    @Valid
+    @NotNull
+    private StateConfig state = new StateConfig();
+
+    @Valid
+    @NotNull
+    private SchedulingConfig scheduling = new SchedulingConfig();
+
+    @Valid
+    @NotNull
+    private ProgressConfig progress = new ProgressConfig();
+
+    @Valid
+    @NotNull
+    private ProbeConfig probes = new ProbeConfig();
+
+    @Valid
+    @NotNull
+    private TimerConfig timers = new TimerConfig();
+
+    @Valid
+    @NotNull
+    private RetryConfig retry = new RetryConfig();
+
+    @Valid
+    @NotNull
+    private LimiterConfig outboundLimiter = new LimiterConfig();
+
+    @Valid
+    @NotNull
+    private StatusConfig status = new StatusConfig();
+
+    @Valid
+    @NotNull
+    private ShardingConfig sharding = new ShardingConfig();
+
+    @Valid
+    @NotNull
+    private BlockingConfig blocking = new BlockingConfig();
+
+    @Data
+    public static class LeaderElectionConfig {
+        private boolean enabled = true;
+        private Duration leaseDuration = Duration.ofSeconds(15);
+        private Duration renewDeadline = Duration.ofSeconds(10);
+        private Duration retryPeriod = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class SyncConfig {
+        private Duration interval = Duration.ofMinutes(5);
+        private int parallelism = 32;
+        private Duration customerTimeout = Duration.ofMinutes(1);
+        private int workers = 8;
+        private Duration requeueBaseDelay = Duration.ofSeconds(5);
+        private Duration requeueMaxDelay = Duration.ofMinutes(5);
+        private double requeueRate = 10;
+        private int requeueBurst = 100;
+    }
+
+    @Data
+    public static class StateConfig {
+        private boolean enabled = true;
+        private String storagePath = "/data/state";
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+        private boolean backupEnabled = true;
+        private Duration backupInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class SchedulingConfig {
+        private int maxConcurrency = 10;
+        private Duration defaultServiceDuration = Duration.ofSeconds(60);
+        private Duration edgeWeightUnit = Duration.ofSeconds(1);
+        // Longest a service may take from sync request to Healthy before it counts as failed
+        private Duration serviceTimeout = Duration.ofMinutes(10);
+        // Re-read of a deploying Application, in case its watch event was missed
+        private Duration healthRecheckInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ProgressConfig {
+        private Duration flushInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class ProbeConfig {
+        private boolean enabled = true;
+        private String baseUrlTemplate = "http://{service}.{namespace}.svc.cluster.local:8080";
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        private Duration tickDuration = Duration.ofMillis(100);
+        private double jitter = 0.1;
+        private int maxConnections = 500;
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class TimerConfig {
+        private Duration tickDuration = Duration.ofMillis(100);
+        // 2^bucketBits buckets per wheel level
+        private int bucketBits = 6;
+        private int levels = 4;
+    }
+
+    @Data
+    public static class RetryConfig {
+        private boolean enabled = true;
+        private Duration baseDelay = Duration.ofSeconds(5);
+        private Duration maxDelay = Duration.ofMinutes(5);
+        private double globalBudget = 50;
+        private double globalRefillPerSecond = 1;
+        private double clusterBudget = 10;
+        private double clusterRefillPerSecond = 0.2;
+    }
+
+    @Data
+    public static class LimiterConfig {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        private int destinationInitialLimit = 10;
+        private int destinationMaxLimit = 50;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ofSeconds(10);
+        private int maxQueued = 5000;
+    }
+
+    @Data
+    public static class StatusConfig {
+        private boolean enabled = true;
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        private int concurrency = 8;
+    }
+
+    @Data
+    public static class ShardingConfig {
+        private boolean enabled = false;
+        private String group = "argocd-orchestrator-shard";
+        private int virtualNodes = 128;
+        private Duration leaseDuration = Duration.ofSeconds(15);
+        private Duration renewInterval = Duration.ofSeconds(5);
+        private String peerUrlTemplate = "http://{pod}.argocd-orchestrator-headless.{namespace}.svc.cluster.local:8080";
+    }
+
+    @Data
+    public static class BlockingConfig {
+        private BlockingSchedulers.ExecutorType executor = BlockingSchedulers.ExecutorType.BOUNDED_ELASTIC;
+        // Per call site overrides of executor; unset uses the default
+        private BlockingSchedulers.ExecutorType kubernetes;
+        private BlockingSchedulers.ExecutorType argocd;
+        private BlockingSchedulers.ExecutorType jpa;
+        private BlockingSchedulers.ExecutorType reconcile;
+
+        public BlockingSchedulers.ExecutorType overrideFor(BlockingSchedulers.CallSite site) {
+            return switch (site) {
+                case KUBERNETES -> kubernetes;
+                case ARGOCD -> argocd;
+                case JPA -> jpa;
+                case RECONCILE -> reconcile;
+            };
+        }
+    }
+}
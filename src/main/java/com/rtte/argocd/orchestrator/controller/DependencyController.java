@@ -0,0 +1,106 @@
+package com.rtte.argocd.orchestrator.controller;
+
+import com.rtte.argocd.orchestrator.engine.graph.BlastRadius;
+import com.rtte.argocd.orchestrator.engine.graph.CircularDependencyException;
+import com.rtte.argocd.orchestrator.engine.graph.SyncWaveAnalysis;
+import com.rtte.argocd.orchestrator.engine.scheduling.RolloutSchedule;
+import com.rtte.argocd.orchestrator.service.DependencyAnalysisService;
+import com.rtte.argocd.orchestrator.service.RolloutSchedulingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller exposing dependency analysis and rollout scheduling
+ */
+@RestController
+@RequestMapping("/dependencies")
+@RequiredArgsConstructor
+public class DependencyController {
+
+    private final RolloutSchedulingService rolloutSchedulingService;
+    private final DependencyAnalysisService dependencyAnalysisService;
+
+    /**
+     * Critical path and concurrency-capped rollout schedule for a customer
+     */
+    @GetMapping("/{customerId}/critical-path")
+    public ResponseEntity<RolloutSchedule> getCriticalPath(
+            @PathVariable String customerId,
+            @RequestParam(required = false) Integer maxConcurrency) {
+        return rolloutSchedulingService.scheduleRollout(customerId, maxConcurrency)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Start a rollout of a customer's services; each service deploys as soon as
+     * its HARD dependencies are healthy
+     */
+    @PostMapping("/{customerId}/rollout")
+    public ResponseEntity<Map<String, Object>> startRollout(@PathVariable String customerId) {
+        boolean started = rolloutSchedulingService.startRollout(customerId);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(Map.<String, Object>of("customerId", customerId, "started", started));
+    }
+
+    /**
+     * Configured sync waves compared with the minimal waves implied by dependencies
+     */
+    @GetMapping("/{customerId}/waves")
+    public ResponseEntity<SyncWaveAnalysis> getWaveAnalysis(@PathVariable String customerId) {
+        return dependencyAnalysisService.analyzeSyncWaves(customerId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Rewritten CAC sync-waves block using the minimal waves
+     */
+    @GetMapping(value = "/{customerId}/waves/layout", produces = "application/yaml")
+    public ResponseEntity<String> getSuggestedWaveLayout(@PathVariable String customerId) {
+        return dependencyAnalysisService.analyzeSyncWaves(customerId)
+                .map(analysis -> ResponseEntity.ok(analysis.toSyncWavesYaml()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Transitive dependencies and dependents of a single service
+     */
+    @GetMapping("/{customerId}/services/{serviceName}/blast-radius")
+    public ResponseEntity<BlastRadius> getBlastRadius(@PathVariable String customerId,
+                                                      @PathVariable String serviceName) {
+        return dependencyAnalysisService.blastRadius(customerId, serviceName)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Minimal set of services to redeploy when the given services change, dependencies first
+     */
+    @GetMapping("/{customerId}/redeploy-set")
+    public ResponseEntity<List<String>> getRedeploySet(@PathVariable String customerId,
+                                                       @RequestParam List<String> services) {
+        return dependencyAnalysisService.redeploySet(customerId, services)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(CircularDependencyException.class)
+    public ResponseEntity<Map<String, Object>> handleCircularDependencies(CircularDependencyException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "circular-dependencies",
+                "message", exception.getMessage(),
+                "cycles", exception.getCycles()));
+    }
+}
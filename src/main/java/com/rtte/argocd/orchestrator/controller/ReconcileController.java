@@ -0,0 +1,74 @@
+package com.rtte.argocd.orchestrator.controller;
+
+import com.rtte.argocd.orchestrator.engine.fleet.FleetReconcileSummary;
+import com.rtte.argocd.orchestrator.service.FleetReconcileService;
+import com.rtte.argocd.orchestrator.service.ReconcileQueueService;
+import com.rtte.argocd.orchestrator.service.ShardingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Controller queueing customer reconciles, e.g. from CAC repository webhooks
+ */
+@RestController
+@RequestMapping("/reconcile")
+@RequiredArgsConstructor
+public class ReconcileController {
+
+    private final ReconcileQueueService reconcileQueueService;
+    private final ShardingService shardingService;
+    private final FleetReconcileService fleetReconcileService;
+
+    /**
+     * Reconcile every stored customer in one pass and return its summary
+     */
+    @PostMapping
+    public Mono<FleetReconcileSummary> reconcileAll() {
+        return fleetReconcileService.reconcileAll();
+    }
+
+    /**
+     * Summary of the most recent fleet pass
+     */
+    @GetMapping
+    public ResponseEntity<FleetReconcileSummary> getLastSummary() {
+        return fleetReconcileService.lastSummary()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Queue a reconcile of one customer on the replica owning it; repeated
+     * calls while it waits are merged
+     */
+    @PostMapping("/{customerId}")
+    public Mono<ResponseEntity<Map<String, Object>>> enqueue(
+            @PathVariable String customerId,
+            @RequestHeader(value = ReconcileQueueService.FORWARDED_HEADER, defaultValue = "false") boolean forwarded) {
+        return reconcileQueueService.route(customerId, forwarded)
+                .map(queued -> ResponseEntity.accepted().body(Map.<String, Object>of(
+                        "customerId", customerId,
+                        "owner", shardingService.ownerOf(customerId),
+                        "queued", queued)));
+    }
+
+    /**
+     * Live replicas and the replica owning a customer
+     */
+    @GetMapping("/{customerId}/owner")
+    public Map<String, Object> getOwner(@PathVariable String customerId) {
+        return Map.of(
+                "customerId", customerId,
+                "owner", shardingService.ownerOf(customerId),
+                "members", shardingService.members());
+    }
+}
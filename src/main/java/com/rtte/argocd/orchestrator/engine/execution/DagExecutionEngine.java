@@ -0,0 +1,265 @@
+package com.rtte.argocd.orchestrator.engine.execution;
+
+import com.rtte.argocd.orchestrator.engine.graph.CircularDependencyException;
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.graph.DependencyCycle;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Barrier-free execution of a dependency graph.
+ *
+ * Instead of waiting for a whole {@code SyncWave} to become ready before the
+ * next one starts, every service is started as soon as all of its HARD
+ * dependencies are healthy. SOFT and OPTIONAL dependencies never block: the
+ * service may run degraded until they come up. A failed service skips the
+ * services that HARD-depend on it, transitively, while unrelated branches keep
+ * rolling out. Configured sync waves survive only as a reporting view, see
+ * {@link DagExecutionResult#toSyncWaveReport(String)}.
+ */
+@Slf4j
+public class DagExecutionEngine {
+
+    /**
+     * Execute a rollout of every service in the graph.
+     *
+     * @param maxConcurrency maximum services deploying at once; zero or less means unbounded
+     * @return the execution result; errors with {@link CircularDependencyException} if HARD dependencies form a cycle
+     */
+    public Mono<DagExecutionResult> execute(CompiledDependencyGraph graph, ServiceDeployer deployer, int maxConcurrency) {
+        return Mono.defer(() -> {
+            int[] blockingDependencies = countHardDependencies(graph);
+            requireNoHardCycles(graph, blockingDependencies.clone());
+            return Mono.<DagExecutionResult>create(sink -> new Execution(graph, deployer, maxConcurrency, blockingDependencies, sink).start());
+        });
+    }
+
+    private static boolean isBlocking(CompiledDependencyGraph graph, int edge) {
+        return graph.edgeType(edge) == DependencyEdge.DependencyType.HARD;
+    }
+
+    private static int[] countHardDependencies(CompiledDependencyGraph graph) {
+        int[] count = new int[graph.size()];
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            if (isBlocking(graph, edge)) {
+                count[graph.edgeFrom(edge)]++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Kahn pass over HARD edges only: SOFT/OPTIONAL cycles are fine, HARD cycles would deadlock
+     */
+    private static void requireNoHardCycles(CompiledDependencyGraph graph, int[] pending) {
+        int[] queue = new int[graph.size()];
+        int tail = 0;
+        for (int id = 0; id < graph.size(); id++) {
+            if (pending[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int current = queue[head];
+            for (int i = graph.dependentsStart(current); i < graph.dependentsEnd(current); i++) {
+                int edge = graph.dependentEdge(i);
+                if (isBlocking(graph, edge) && --pending[graph.edgeFrom(edge)] == 0) {
+                    queue[tail++] = graph.edgeFrom(edge);
+                }
+            }
+        }
+        if (tail != graph.size()) {
+            List<DependencyCycle> cycles = graph.findCycles().stream()
+                    .filter(DependencyCycle::isBlocking)
+                    .toList();
+            throw new CircularDependencyException(cycles);
+        }
+    }
+
+    /**
+     * State of one running execution. All bookkeeping happens under the instance
+     * lock; deployer subscriptions are made outside of it.
+     *
+     * Launches are trampolined: a deployer that completes synchronously settles
+     * its service inside {@link #launch}, and the services that settling made
+     * startable are queued for the loop already running in {@link #dispatch}
+     * instead of being launched recursively, so the stack stays flat however
+     * long a dependency chain is.
+     */
+    private static final class Execution {
+
+        private final CompiledDependencyGraph graph;
+        private final ServiceDeployer deployer;
+        private final int slots;
+        private final int[] blockingDependencies;
+        private final MonoSink<DagExecutionResult> sink;
+        private final ServiceExecution[] executions;
+        private final Deque<Integer> ready = new ArrayDeque<>();
+        private final Deque<Integer> toLaunch = new ArrayDeque<>();
+        private final Disposable.Composite running = Disposables.composite();
+        private final Instant startedAt = Instant.now();
+        private int inFlight;
+        private int settled;
+        private boolean dispatching;
+
+        private Execution(CompiledDependencyGraph graph, ServiceDeployer deployer, int maxConcurrency,
+                          int[] blockingDependencies, MonoSink<DagExecutionResult> sink) {
+            this.graph = graph;
+            this.deployer = deployer;
+            this.slots = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+            this.blockingDependencies = blockingDependencies;
+            this.sink = sink;
+            this.executions = new ServiceExecution[graph.size()];
+        }
+
+        void start() {
+            sink.onDispose(running);
+            List<Integer> toStart;
+            synchronized (this) {
+                for (int id = 0; id < graph.size(); id++) {
+                    if (blockingDependencies[id] == 0) {
+                        ready.add(id);
+                    }
+                }
+                toStart = takeStartable();
+            }
+            if (graph.size() == 0) {
+                finish();
+                return;
+            }
+            dispatch(toStart);
+        }
+
+        private List<Integer> takeStartable() {
+            List<Integer> startable = new ArrayList<>();
+            while (inFlight < slots && !ready.isEmpty()) {
+                int id = ready.poll();
+                inFlight++;
+                executions[id] = ServiceExecution.builder()
+                        .serviceName(graph.serviceName(id))
+                        .syncWave(graph.syncWave(id))
+                        .startedAt(Instant.now())
+                        .build();
+                startable.add(id);
+            }
+            return startable;
+        }
+
+        private void launch(int id) {
+            String serviceName = graph.serviceName(id);
+            log.debug("Starting deployment of service {}", serviceName);
+            running.add(deployer.deployAndAwaitHealthy(serviceName)
+                    .defaultIfEmpty(false)
+                    .subscribe(
+                            healthy -> onSettled(id, healthy, healthy ? null : "Service did not become healthy"),
+                            error -> onSettled(id, false, error.getMessage())));
+        }
+
+        private void onSettled(int id, boolean healthy, String message) {
+            List<Integer> toStart;
+            boolean done;
+            synchronized (this) {
+                ServiceExecution execution = executions[id];
+                execution.setFinishedAt(Instant.now());
+                execution.setOutcome(healthy ? ServiceExecution.Outcome.HEALTHY : ServiceExecution.Outcome.FAILED);
+                execution.setMessage(message);
+                inFlight--;
+                settled++;
+
+                if (healthy) {
+                    release(id);
+                } else {
+                    log.warn("Service {} failed: {}", graph.serviceName(id), message);
+                    skipDependents(id);
+                }
+                toStart = takeStartable();
+                done = settled == graph.size();
+            }
+            if (done) {
+                finish();
+            } else {
+                dispatch(toStart);
+            }
+        }
+
+        /**
+         * Launch services, or hand them to the dispatch loop already running on this or another thread
+         */
+        private void dispatch(List<Integer> ids) {
+            synchronized (this) {
+                toLaunch.addAll(ids);
+                if (dispatching) {
+                    return;
+                }
+                dispatching = true;
+            }
+            while (true) {
+                Integer next;
+                synchronized (this) {
+                    next = toLaunch.poll();
+                    if (next == null) {
+                        dispatching = false;
+                        return;
+                    }
+                }
+                launch(next);
+            }
+        }
+
+        private void release(int id) {
+            for (int i = graph.dependentsStart(id); i < graph.dependentsEnd(id); i++) {
+                int edge = graph.dependentEdge(i);
+                if (isBlocking(graph, edge)) {
+                    int dependent = graph.edgeFrom(edge);
+                    if (--blockingDependencies[dependent] == 0 && executions[dependent] == null) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Skip every service that transitively HARD-depends on a failed one
+         */
+        private void skipDependents(int failed) {
+            Deque<Integer> pending = new ArrayDeque<>();
+            pending.push(failed);
+            while (!pending.isEmpty()) {
+                int current = pending.pop();
+                for (int i = graph.dependentsStart(current); i < graph.dependentsEnd(current); i++) {
+                    int edge = graph.dependentEdge(i);
+                    int dependent = graph.edgeFrom(edge);
+                    if (isBlocking(graph, edge) && executions[dependent] == null) {
+                        executions[dependent] = ServiceExecution.builder()
+                                .serviceName(graph.serviceName(dependent))
+                                .syncWave(graph.syncWave(dependent))
+                                .outcome(ServiceExecution.Outcome.SKIPPED)
+                                .message("HARD dependency " + graph.serviceName(current) + " failed")
+                                .build();
+                        settled++;
+                        pending.push(dependent);
+                    }
+                }
+            }
+        }
+
+        private void finish() {
+            sink.success(DagExecutionResult.builder()
+                    .startedAt(startedAt)
+                    .finishedAt(Instant.now())
+                    .services(Arrays.asList(executions))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rtte.argocd.orchestrator.engine.execution;
+
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Result of a barrier-free DAG execution
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DagExecutionResult {
+
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<ServiceExecution> services;
+
+    /**
+     * Whether every service ended up healthy
+     */
+    public boolean isSuccessful() {
+        return services.stream().allMatch(service -> service.getOutcome() == ServiceExecution.Outcome.HEALTHY);
+    }
+
+    /**
+     * End-to-end duration of the execution
+     */
+    public Duration getDuration() {
+        return Duration.between(startedAt, finishedAt);
+    }
+
+    /**
+     * Summarize the execution per configured sync wave. Waves are a reporting
+     * view here: they record when their services ran, not a barrier between them.
+     */
+    public List<SyncWave> toSyncWaveReport(String customerId) {
+        Map<Integer, List<ServiceExecution>> byWave = new TreeMap<>();
+        for (ServiceExecution service : services) {
+            byWave.computeIfAbsent(service.getSyncWave(), k -> new ArrayList<>()).add(service);
+        }
+
+        List<SyncWave> waves = new ArrayList<>(byWave.size());
+        byWave.forEach((waveNumber, members) -> {
+            int healthy = count(members, ServiceExecution.Outcome.HEALTHY);
+            int failed = count(members, ServiceExecution.Outcome.FAILED);
+            int skipped = count(members, ServiceExecution.Outcome.SKIPPED);
+
+            SyncWave wave = SyncWave.builder()
+                    .customerId(customerId)
+                    .waveNumber(waveNumber)
+                    .waveName(SyncWave.SyncWaveType.fromWaveNumber(waveNumber).getDisplayName())
+                    .services(members.stream().map(ServiceExecution::getServiceName).toList())
+                    .totalServices(members.size())
+                    .deployedServices(healthy + failed)
+                    .healthyServices(healthy)
+                    .failedServices(failed + skipped)
+                    .status(healthy == members.size() ? SyncWave.SyncWaveStatus.COMPLETED : SyncWave.SyncWaveStatus.FAILED)
+                    .dependenciesSatisfied(skipped == 0)
+                    .startTime(toLocal(members.stream().map(ServiceExecution::getStartedAt)
+                            .filter(Objects::nonNull).min(Comparator.naturalOrder()).orElse(null)))
+                    .endTime(toLocal(members.stream().map(ServiceExecution::getFinishedAt)
+                            .filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null)))
+                    .build();
+            waves.add(wave);
+        });
+        return waves;
+    }
+
+    private static int count(List<ServiceExecution> services, ServiceExecution.Outcome outcome) {
+        return (int) services.stream().filter(service -> service.getOutcome() == outcome).count();
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rtte.argocd.orchestrator.engine.execution;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Deploys a single service on behalf of the DAG execution engine
+ */
+@FunctionalInterface
+public interface ServiceDeployer {
+
+    /**
+     * Start deploying a service and wait for it to settle.
+     *
+     * @return {@code true} once the service is healthy; {@code false} or an error when it failed
+     */
+    Mono<Boolean> deployAndAwaitHealthy(String serviceName);
+}
@@ -0,0 +1,34 @@
+package com.rtte.argocd.orchestrator.engine.execution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a single service in a DAG execution
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceExecution {
+
+    private String serviceName;
+    private int syncWave;
+    private Outcome outcome;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String message;
+
+    /**
+     * Final state of a service
+     */
+    public enum Outcome {
+        HEALTHY,    // Deployed and healthy
+        FAILED,     // Deployment or health check failed
+        SKIPPED     // Not started because a HARD dependency failed
+    }
+}
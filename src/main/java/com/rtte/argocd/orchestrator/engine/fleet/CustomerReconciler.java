@@ -0,0 +1,25 @@
+package com.rtte.argocd.orchestrator.engine.fleet;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Brings one customer's Argo CD resources in line with its configuration
+ */
+public interface CustomerReconciler {
+
+    /**
+     * Reconcile a customer
+     *
+     * @return whether anything was written; errors if the customer could not be reconciled
+     */
+    Mono<ReconcileResult> reconcile(String customerId);
+
+    /**
+     * Outcome of reconciling one customer
+     */
+    enum ReconcileResult {
+        APPLIED,    // Resources were created or patched
+        SKIPPED,    // Live state already matched
+        FAILED      // Reconcile errored or timed out
+    }
+}
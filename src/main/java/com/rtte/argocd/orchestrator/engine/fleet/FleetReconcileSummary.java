@@ -0,0 +1,36 @@
+package com.rtte.argocd.orchestrator.engine.fleet;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Summary of one pass over all customers
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetReconcileSummary {
+
+    private Instant startedAt;
+    private Duration duration;
+    private int applied;
+    private int skipped;
+    private int failed;
+    // Customer ID -> error message, capped to keep the summary small
+    private Map<String, String> failures;
+    private Duration p50;
+    private Duration p90;
+    private Duration p99;
+    private Duration max;
+
+    public int getTotal() {
+        return applied + skipped + failed;
+    }
+}
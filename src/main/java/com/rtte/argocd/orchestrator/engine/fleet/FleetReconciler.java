@@ -0,0 +1,129 @@
+package com.rtte.argocd.orchestrator.engine.fleet;
+
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler.ReconcileResult;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams every customer through a {@link CustomerReconciler} with bounded parallelism.
+ *
+ * At most {@code parallelism} customers are in flight and the customer source
+ * is only pulled as slots free up, so a lazily loaded fleet is never
+ * buffered in full. Each customer has its own timeout and errors are mapped
+ * to FAILED for that customer only; one bad config cannot abort the pass.
+ */
+@Slf4j
+public class FleetReconciler {
+
+    private static final int MAX_REPORTED_FAILURES = 50;
+
+    private final CustomerReconciler reconciler;
+    private final int parallelism;
+    private final Duration customerTimeout;
+
+    public FleetReconciler(CustomerReconciler reconciler, int parallelism, Duration customerTimeout) {
+        this.reconciler = reconciler;
+        this.parallelism = Math.max(1, parallelism);
+        this.customerTimeout = customerTimeout;
+    }
+
+    /**
+     * Reconcile every customer the source emits
+     */
+    public Mono<FleetReconcileSummary> reconcile(Flux<String> customerIds) {
+        return Mono.defer(() -> {
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            Tally tally = new Tally();
+            return customerIds
+                    .flatMap(this::reconcileOne, parallelism)
+                    .doOnNext(tally::add)
+                    .then(Mono.fromCallable(() -> tally.summarize(startedAt, Duration.ofNanos(System.nanoTime() - start))));
+        });
+    }
+
+    private Mono<CustomerOutcome> reconcileOne(String customerId) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.defer(() -> reconciler.reconcile(customerId))
+                    .timeout(customerTimeout)
+                    .defaultIfEmpty(ReconcileResult.SKIPPED)
+                    .map(result -> new CustomerOutcome(customerId, result, System.nanoTime() - start, null))
+                    .onErrorResume(error -> {
+                        log.warn("Reconcile of customer {} failed: {}", customerId, error.toString());
+                        return Mono.just(new CustomerOutcome(customerId, ReconcileResult.FAILED,
+                                System.nanoTime() - start, error.toString()));
+                    });
+        });
+    }
+
+    private static final class CustomerOutcome {
+        final String customerId;
+        final ReconcileResult result;
+        final long nanos;
+        final String error;
+
+        CustomerOutcome(String customerId, ReconcileResult result, long nanos, String error) {
+            this.customerId = customerId;
+            this.result = result;
+            this.nanos = nanos;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Accumulates outcomes; flatMap delivers them serially, so no locking is needed
+     */
+    private static final class Tally {
+        private final int[] counts = new int[ReconcileResult.values().length];
+        private final Map<String, String> failures = new LinkedHashMap<>();
+        private long[] nanos = new long[256];
+        private int size;
+
+        void add(CustomerOutcome outcome) {
+            counts[outcome.result.ordinal()]++;
+            if (outcome.error != null && failures.size() < MAX_REPORTED_FAILURES) {
+                failures.put(outcome.customerId, outcome.error);
+            }
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = outcome.nanos;
+        }
+
+        FleetReconcileSummary summarize(Instant startedAt, Duration duration) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return FleetReconcileSummary.builder()
+                    .startedAt(startedAt)
+                    .duration(duration)
+                    .applied(counts[ReconcileResult.APPLIED.ordinal()])
+                    .skipped(counts[ReconcileResult.SKIPPED.ordinal()])
+                    .failed(counts[ReconcileResult.FAILED.ordinal()])
+                    .failures(failures)
+                    .p50(percentile(sorted, 0.50))
+                    .p90(percentile(sorted, 0.90))
+                    .p99(percentile(sorted, 0.99))
+                    .max(sorted.length > 0 ? Duration.ofNanos(sorted[sorted.length - 1]) : Duration.ZERO)
+                    .build();
+        }
+
+        /**
+         * Nearest-rank percentile
+         */
+        private static Duration percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+        }
+    }
+}
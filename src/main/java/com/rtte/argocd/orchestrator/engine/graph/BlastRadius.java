@@ -0,0 +1,36 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything a single service transitively depends on and everything that
+ * transitively depends on it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlastRadius {
+
+    private String serviceName;
+
+    /**
+     * Transitive dependencies, sorted by name
+     */
+    private List<String> upstream;
+
+    /**
+     * Transitive dependents, sorted by name
+     */
+    private List<String> downstream;
+
+    /**
+     * Services to redeploy if this service is rolled back, dependencies first
+     */
+    private List<String> redeploySet;
+}
@@ -0,0 +1,23 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when a dependency graph cannot be ordered because of circular dependencies.
+ * Carries every offending cycle so operators don't have to hunt for them.
+ */
+public class CircularDependencyException extends IllegalStateException {
+
+    private final transient List<DependencyCycle> cycles;
+
+    public CircularDependencyException(List<DependencyCycle> cycles) {
+        super("Cannot generate topological order for graph with circular dependencies: "
+                + cycles.stream().map(DependencyCycle::describe).collect(Collectors.joining("; ")));
+        this.cycles = List.copyOf(cycles);
+    }
+
+    public List<DependencyCycle> getCycles() {
+        return cycles;
+    }
+}
@@ -0,0 +1,414 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, index-backed form of a {@link DependencyGraph}.
+ *
+ * Service names are interned to dense int ids and edges are stored as CSR
+ * (compressed sparse row) arrays in both directions, so cycle checks,
+ * topological ordering and wave grouping run in O(V+E) without building
+ * per-call lists. The JPA entity stays the persistence shape; compile it
+ * whenever the structure is needed for scheduling decisions.
+ *
+ * Edge direction follows the entity: {@code fromService} depends on
+ * {@code toService}. "Dependencies" of a service are therefore its forward
+ * neighbours and "dependents" its reverse neighbours.
+ */
+public final class CompiledDependencyGraph {
+
+    private static final DependencyEdge.DependencyType[] DEPENDENCY_TYPES = DependencyEdge.DependencyType.values();
+
+    private final String[] serviceNames;
+    private final Map<String, Integer> serviceIds;
+    private final int[] syncWaves;
+    private final int[] priorities;
+
+    // Edge attributes, indexed by edge id (position in the source edge list)
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeights;
+    private final byte[] edgeTypes;
+
+    // Forward adjacency: service -> its dependencies
+    private final int[] dependencyOffsets;
+    private final int[] dependencyEdges;
+
+    // Reverse adjacency: service -> its dependents
+    private final int[] dependentOffsets;
+    private final int[] dependentEdges;
+
+    // Dependencies-first order; shorter than size() when the graph has a cycle
+    private final int[] topologicalOrder;
+
+    CompiledDependencyGraph(String[] serviceNames, int[] syncWaves, int[] priorities,
+                            int[] edgeFrom, int[] edgeTo, int[] edgeWeights, byte[] edgeTypes) {
+        int nodeCount = serviceNames.length;
+        this.serviceNames = serviceNames;
+        this.syncWaves = syncWaves;
+        this.priorities = priorities;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeights = edgeWeights;
+        this.edgeTypes = edgeTypes;
+
+        Map<String, Integer> ids = new HashMap<>(nodeCount * 2);
+        for (int id = 0; id < nodeCount; id++) {
+            ids.put(serviceNames[id], id);
+        }
+        this.serviceIds = Collections.unmodifiableMap(ids);
+
+        this.dependencyOffsets = new int[nodeCount + 1];
+        this.dependentOffsets = new int[nodeCount + 1];
+        this.dependencyEdges = new int[edgeFrom.length];
+        this.dependentEdges = new int[edgeFrom.length];
+        fillAdjacency(edgeFrom, dependencyOffsets, dependencyEdges);
+        fillAdjacency(edgeTo, dependentOffsets, dependentEdges);
+
+        this.topologicalOrder = computeTopologicalOrder();
+    }
+
+    /**
+     * Compile a dependency graph entity. Services referenced only by edges are
+     * added as implicit nodes in wave 0; duplicate node names keep the first entry.
+     */
+    public static CompiledDependencyGraph compile(DependencyGraph graph) {
+        List<DependencyNode> nodes = graph.getNodes() != null ? graph.getNodes() : List.of();
+        List<DependencyEdge> edges = graph.getEdges() != null ? graph.getEdges() : List.of();
+
+        Map<String, Integer> ids = new HashMap<>((nodes.size() + edges.size()) * 2);
+        List<String> names = new ArrayList<>(nodes.size());
+        List<DependencyNode> nodeById = new ArrayList<>(nodes.size());
+
+        for (DependencyNode node : nodes) {
+            if (ids.putIfAbsent(node.getServiceName(), names.size()) == null) {
+                names.add(node.getServiceName());
+                nodeById.add(node);
+            }
+        }
+
+        int edgeCount = edges.size();
+        int[] edgeFrom = new int[edgeCount];
+        int[] edgeTo = new int[edgeCount];
+        int[] edgeWeights = new int[edgeCount];
+        byte[] edgeTypes = new byte[edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            DependencyEdge edge = edges.get(e);
+            edgeFrom[e] = intern(edge.getFromService(), ids, names, nodeById);
+            edgeTo[e] = intern(edge.getToService(), ids, names, nodeById);
+            edgeWeights[e] = edge.getWeight() != null ? edge.getWeight() : 1;
+            edgeTypes[e] = (byte) (edge.getDependencyType() != null
+                    ? edge.getDependencyType() : DependencyEdge.DependencyType.HARD).ordinal();
+        }
+
+        int nodeCount = names.size();
+        int[] syncWaves = new int[nodeCount];
+        int[] priorities = new int[nodeCount];
+        for (int id = 0; id < nodeCount; id++) {
+            DependencyNode node = nodeById.get(id);
+            if (node != null) {
+                syncWaves[id] = node.getSyncWave() != null ? node.getSyncWave() : 0;
+                priorities[id] = node.getPriority() != null ? node.getPriority() : 0;
+            }
+        }
+
+        return new CompiledDependencyGraph(names.toArray(String[]::new), syncWaves, priorities,
+                edgeFrom, edgeTo, edgeWeights, edgeTypes);
+    }
+
+    private static int intern(String serviceName, Map<String, Integer> ids,
+                              List<String> names, List<DependencyNode> nodeById) {
+        Integer id = ids.get(serviceName);
+        if (id == null) {
+            id = names.size();
+            ids.put(serviceName, id);
+            names.add(serviceName);
+            nodeById.add(null);
+        }
+        return id;
+    }
+
+    private static void fillAdjacency(int[] source, int[] offsets, int[] adjacentEdges) {
+        for (int node : source) {
+            offsets[node + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] cursor = offsets.clone();
+        for (int e = 0; e < source.length; e++) {
+            adjacentEdges[cursor[source[e]]++] = e;
+        }
+    }
+
+    /**
+     * Kahn's algorithm over the reverse adjacency so that dependencies come
+     * before their dependents. Ties are broken by id, keeping the result stable.
+     */
+    private int[] computeTopologicalOrder() {
+        int nodeCount = serviceNames.length;
+        int[] pending = new int[nodeCount];
+        int[] queue = new int[nodeCount];
+        int tail = 0;
+
+        for (int id = 0; id < nodeCount; id++) {
+            pending[id] = dependencyOffsets[id + 1] - dependencyOffsets[id];
+            if (pending[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int current = queue[head];
+            for (int i = dependentOffsets[current]; i < dependentOffsets[current + 1]; i++) {
+                int dependent = edgeFrom[dependentEdges[i]];
+                if (--pending[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+
+        return tail == nodeCount ? queue : Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Number of services in the graph
+     */
+    public int size() {
+        return serviceNames.length;
+    }
+
+    /**
+     * Number of dependency edges in the graph
+     */
+    public int edgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * Get the id of a service, or -1 if the service is not part of the graph
+     */
+    public int idOf(String serviceName) {
+        Integer id = serviceIds.get(serviceName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the service name for an id
+     */
+    public String serviceName(int id) {
+        return serviceNames[id];
+    }
+
+    /**
+     * Get the configured sync wave for a service
+     */
+    public int syncWave(int id) {
+        return syncWaves[id];
+    }
+
+    /**
+     * Get the configured priority for a service
+     */
+    public int priority(int id) {
+        return priorities[id];
+    }
+
+    /**
+     * Start of a service's dependency edges in {@link #dependencyEdge(int)} position space
+     */
+    public int dependenciesStart(int id) {
+        return dependencyOffsets[id];
+    }
+
+    /**
+     * End (exclusive) of a service's dependency edges
+     */
+    public int dependenciesEnd(int id) {
+        return dependencyOffsets[id + 1];
+    }
+
+    /**
+     * Edge id stored at a position of the forward adjacency
+     */
+    public int dependencyEdge(int position) {
+        return dependencyEdges[position];
+    }
+
+    /**
+     * Start of a service's dependent edges in {@link #dependentEdge(int)} position space
+     */
+    public int dependentsStart(int id) {
+        return dependentOffsets[id];
+    }
+
+    /**
+     * End (exclusive) of a service's dependent edges
+     */
+    public int dependentsEnd(int id) {
+        return dependentOffsets[id + 1];
+    }
+
+    /**
+     * Edge id stored at a position of the reverse adjacency
+     */
+    public int dependentEdge(int position) {
+        return dependentEdges[position];
+    }
+
+    /**
+     * Dependent service of an edge (the edge's {@code fromService})
+     */
+    public int edgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    /**
+     * Dependency service of an edge (the edge's {@code toService})
+     */
+    public int edgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    /**
+     * Weight of an edge
+     */
+    public int edgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    /**
+     * Dependency type of an edge
+     */
+    public DependencyEdge.DependencyType edgeType(int edge) {
+        return DEPENDENCY_TYPES[edgeTypes[edge]];
+    }
+
+    /**
+     * Build a detached edge entity describing an edge, for reporting
+     */
+    public DependencyEdge toEdge(int edge) {
+        return DependencyEdge.builder()
+                .fromService(serviceNames[edgeFrom[edge]])
+                .toService(serviceNames[edgeTo[edge]])
+                .dependencyType(edgeType(edge))
+                .weight(edgeWeights[edge])
+                .build();
+    }
+
+    /**
+     * Get the names of all direct dependencies of a service
+     */
+    public List<String> dependenciesOf(String serviceName) {
+        int id = idOf(serviceName);
+        if (id < 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(dependenciesEnd(id) - dependenciesStart(id));
+        for (int i = dependenciesStart(id); i < dependenciesEnd(id); i++) {
+            result.add(serviceNames[edgeTo[dependencyEdges[i]]]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the names of all services that directly depend on a service
+     */
+    public List<String> dependentsOf(String serviceName) {
+        int id = idOf(serviceName);
+        if (id < 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(dependentsEnd(id) - dependentsStart(id));
+        for (int i = dependentsStart(id); i < dependentsEnd(id); i++) {
+            result.add(serviceNames[edgeFrom[dependentEdges[i]]]);
+        }
+        return result;
+    }
+
+    /**
+     * Check if the graph contains at least one dependency cycle
+     */
+    public boolean hasCycle() {
+        return topologicalOrder.length != serviceNames.length;
+    }
+
+    /**
+     * Get the dependencies-first topological order as service ids
+     */
+    public int[] topologicalOrderIds() {
+        requireAcyclic();
+        return topologicalOrder.clone();
+    }
+
+    /**
+     * Get the dependencies-first topological order as service names
+     */
+    public List<String> topologicalOrder() {
+        requireAcyclic();
+        List<String> result = new ArrayList<>(topologicalOrder.length);
+        for (int id : topologicalOrder) {
+            result.add(serviceNames[id]);
+        }
+        return result;
+    }
+
+    /**
+     * Group services by their configured sync wave, each wave in topological order
+     */
+    public Map<Integer, List<String>> syncWaveOrder() {
+        requireAcyclic();
+        Map<Integer, List<String>> syncWaves = new TreeMap<>();
+        for (int id : topologicalOrder) {
+            syncWaves.computeIfAbsent(this.syncWaves[id], k -> new ArrayList<>()).add(serviceNames[id]);
+        }
+        return syncWaves;
+    }
+
+    /**
+     * Compute the strongly connected components of the graph
+     */
+    public StronglyConnectedComponents stronglyConnectedComponents() {
+        return StronglyConnectedComponents.analyze(this);
+    }
+
+    /**
+     * Find every cycle in the graph, with its member services and edges
+     */
+    public List<DependencyCycle> findCycles() {
+        return hasCycle() ? stronglyConnectedComponents().cycles() : List.of();
+    }
+
+    /**
+     * Get the schedulable units of the condensed graph in dependencies-first order.
+     * Cycles made only of SOFT or OPTIONAL edges collapse into one unit; cycles
+     * containing a HARD edge still cannot be scheduled.
+     */
+    public List<List<String>> condensedOrder() {
+        StronglyConnectedComponents components = stronglyConnectedComponents();
+        List<DependencyCycle> blocking = components.cycles().stream()
+                .filter(DependencyCycle::isBlocking)
+                .toList();
+        if (!blocking.isEmpty()) {
+            throw new CircularDependencyException(blocking);
+        }
+        return components.condensedOrder();
+    }
+
+    private void requireAcyclic() {
+        if (hasCycle()) {
+            throw new CircularDependencyException(stronglyConnectedComponents().cycles());
+        }
+    }
+}
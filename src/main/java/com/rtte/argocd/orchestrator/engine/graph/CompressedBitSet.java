@@ -0,0 +1,102 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of small non-negative ints stored either as a sorted int array
+ * (sparse sets) or as trimmed 64-bit words (dense sets), whichever is smaller.
+ */
+final class CompressedBitSet {
+
+    static final CompressedBitSet EMPTY = new CompressedBitSet(new int[0], null);
+
+    private final int[] members;
+    private final long[] words;
+
+    private CompressedBitSet(int[] members, long[] words) {
+        this.members = members;
+        this.words = words;
+    }
+
+    /**
+     * Compress a raw word array; the array is not retained
+     */
+    static CompressedBitSet of(long[] raw) {
+        int lastWord = raw.length - 1;
+        int cardinality = 0;
+        while (lastWord >= 0 && raw[lastWord] == 0) {
+            lastWord--;
+        }
+        for (int w = 0; w <= lastWord; w++) {
+            cardinality += Long.bitCount(raw[w]);
+        }
+        if (cardinality == 0) {
+            return EMPTY;
+        }
+        // An int costs half a word: prefer the sorted array while it is smaller
+        if (cardinality < 2 * (lastWord + 1)) {
+            int[] members = new int[cardinality];
+            int next = 0;
+            for (int w = 0; w <= lastWord; w++) {
+                long word = raw[w];
+                while (word != 0) {
+                    members[next++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return new CompressedBitSet(members, null);
+        }
+        return new CompressedBitSet(null, Arrays.copyOf(raw, lastWord + 1));
+    }
+
+    boolean contains(int value) {
+        if (words == null) {
+            return Arrays.binarySearch(members, value) >= 0;
+        }
+        int word = value >>> 6;
+        return word < words.length && (words[word] & (1L << value)) != 0;
+    }
+
+    int cardinality() {
+        if (words == null) {
+            return members.length;
+        }
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    /**
+     * OR this set into a raw word array
+     */
+    void orInto(long[] raw) {
+        if (words == null) {
+            for (int value : members) {
+                raw[value >>> 6] |= 1L << value;
+            }
+        } else {
+            for (int w = 0; w < words.length; w++) {
+                raw[w] |= words[w];
+            }
+        }
+    }
+
+    void forEach(IntConsumer action) {
+        if (words == null) {
+            for (int value : members) {
+                action.accept(value);
+            }
+            return;
+        }
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A strongly connected group of services together with the dependency
+ * edges that keep them in a cycle
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyCycle {
+
+    private List<String> services;
+    private List<DependencyEdge> edges;
+
+    /**
+     * Whether the cycle contains at least one HARD edge. Cycles made only of
+     * SOFT or OPTIONAL edges can be scheduled as a single unit.
+     */
+    public boolean isBlocking() {
+        return edges.stream()
+                .anyMatch(edge -> edge.getDependencyType() == DependencyEdge.DependencyType.HARD);
+    }
+
+    /**
+     * Human readable description, e.g. {@code [api, auth] via api -> auth, auth -> api}
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder(services.toString()).append(" via ");
+        for (int i = 0; i < edges.size(); i++) {
+            DependencyEdge edge = edges.get(i);
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(edge.getFromService()).append(" -> ").append(edge.getToService())
+                    .append(" (").append(edge.getDependencyType()).append(')');
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Compact binary encoding of a {@link CompiledDependencyGraph}, used for
+ * graph snapshots so that one row fetch rebuilds the compiled form.
+ *
+ * Layout: magic, format version, then the node table (name, sync wave,
+ * priority) and the edge table (from id, to id, weight, type ordinal) in
+ * compiled id order. Integers are unsigned or zig-zag varints, so typical
+ * graphs need one or two bytes per number. Decoding restores the exact ids
+ * of the encoded graph.
+ */
+public final class DependencyGraphCodec {
+
+    /**
+     * Current payload format; bump when the layout changes
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x44475331; // "DGS1"
+    private static final int DEPENDENCY_TYPE_COUNT = DependencyEdge.DependencyType.values().length;
+
+    private DependencyGraphCodec() {
+    }
+
+    /**
+     * Encode a compiled graph
+     */
+    public static byte[] encode(CompiledDependencyGraph graph) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + graph.size() * 24 + graph.edgeCount() * 5);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+
+            writeVarInt(out, graph.size());
+            for (int id = 0; id < graph.size(); id++) {
+                out.writeUTF(graph.serviceName(id));
+                writeVarInt(out, zigZag(graph.syncWave(id)));
+                writeVarInt(out, zigZag(graph.priority(id)));
+            }
+
+            writeVarInt(out, graph.edgeCount());
+            for (int edge = 0; edge < graph.edgeCount(); edge++) {
+                writeVarInt(out, graph.edgeFrom(edge));
+                writeVarInt(out, graph.edgeTo(edge));
+                writeVarInt(out, zigZag(graph.edgeWeight(edge)));
+                out.writeByte(graph.edgeType(edge).ordinal());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a payload produced by {@link #encode}
+     *
+     * @throws IllegalArgumentException if the payload is corrupt or uses another format version
+     */
+    public static CompiledDependencyGraph decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a dependency graph snapshot");
+            }
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported dependency graph snapshot format: " + version);
+            }
+
+            int nodeCount = readCount(in, payload.length);
+            String[] serviceNames = new String[nodeCount];
+            int[] syncWaves = new int[nodeCount];
+            int[] priorities = new int[nodeCount];
+            for (int id = 0; id < nodeCount; id++) {
+                serviceNames[id] = in.readUTF();
+                syncWaves[id] = unZigZag(readVarInt(in));
+                priorities[id] = unZigZag(readVarInt(in));
+            }
+
+            int edgeCount = readCount(in, payload.length);
+            int[] edgeFrom = new int[edgeCount];
+            int[] edgeTo = new int[edgeCount];
+            int[] edgeWeights = new int[edgeCount];
+            byte[] edgeTypes = new byte[edgeCount];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                edgeFrom[edge] = readId(in, nodeCount);
+                edgeTo[edge] = readId(in, nodeCount);
+                edgeWeights[edge] = unZigZag(readVarInt(in));
+                edgeTypes[edge] = in.readByte();
+                if (edgeTypes[edge] < 0 || edgeTypes[edge] >= DEPENDENCY_TYPE_COUNT) {
+                    throw new IllegalArgumentException("Invalid dependency type in snapshot: " + edgeTypes[edge]);
+                }
+            }
+
+            return new CompiledDependencyGraph(serviceNames, syncWaves, priorities,
+                    edgeFrom, edgeTo, edgeWeights, edgeTypes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated dependency graph snapshot", e);
+        }
+    }
+
+    private static int readCount(DataInputStream in, int payloadLength) throws IOException {
+        int count = readVarInt(in);
+        // Every entry takes at least one byte, so larger counts can only come from corruption
+        if (count < 0 || count > payloadLength) {
+            throw new IllegalArgumentException("Invalid entry count in snapshot: " + count);
+        }
+        return count;
+    }
+
+    private static int readId(DataInputStream in, int nodeCount) throws IOException {
+        int id = readVarInt(in);
+        if (id < 0 || id >= nodeCount) {
+            throw new IllegalArgumentException("Invalid service id in snapshot: " + id);
+        }
+        return id;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in snapshot");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,293 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dynamic topological ordering for a {@link DependencyGraph} using the
+ * Pearce-Kelly algorithm.
+ *
+ * CAC webhooks usually add or remove a single dependency at a time. Instead of
+ * re-running cycle detection and a full sort, an inserted edge only searches
+ * the region of the order between its two endpoints: services that have to move
+ * are reassigned the positions they already occupied, and the bound graph's
+ * {@code topologicalOrder} list is rewritten at exactly those positions.
+ * Edge removal never invalidates a topological order, so it is O(degree).
+ *
+ * {@link DependencyGraph} binds an instance once its stored order is current
+ * and reports every node and edge change to it; this class only maintains the
+ * order and never edits the graph's node or edge lists.
+ *
+ * The order is dependencies-first, matching {@link CompiledDependencyGraph}.
+ * Instances are not thread-safe; serialize updates per graph.
+ */
+public final class IncrementalTopologicalOrder {
+
+    private final DependencyGraph graph;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    // Per service: edges to services that must come after it (its dependents)
+    private final List<List<DependencyEdge>> successors = new ArrayList<>();
+    // Per service: edges to services that must come before it (its dependencies)
+    private final List<List<DependencyEdge>> predecessors = new ArrayList<>();
+    private int[] position = new int[16];
+    private int[] visitMark = new int[16];
+    private int visitEpoch;
+    private boolean indexed;
+
+    private IncrementalTopologicalOrder(DependencyGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Bind to a graph whose stored topological order is current, without
+     * sorting it again. The adjacency index is built on the first update, so
+     * binding a graph that is never changed costs nothing.
+     */
+    public static IncrementalTopologicalOrder bind(DependencyGraph graph) {
+        return new IncrementalTopologicalOrder(graph);
+    }
+
+    /**
+     * Record a new node; new services have no dependencies yet and go to the end of the order
+     */
+    public void nodeAdded(DependencyNode node) {
+        index();
+        ensureRegistered(node.getServiceName());
+    }
+
+    /**
+     * Record a new edge, reordering only the affected region.
+     *
+     * @throws CircularDependencyException if the edge would close a cycle; the order is left unchanged
+     */
+    public void edgeAdded(DependencyEdge edge) {
+        if (edge.getFromService().equals(edge.getToService())) {
+            throw new CircularDependencyException(List.of(DependencyCycle.builder()
+                    .services(List.of(edge.getFromService()))
+                    .edges(List.of(edge))
+                    .build()));
+        }
+
+        index();
+        int dependency = ensureRegistered(edge.getToService());
+        int dependent = ensureRegistered(edge.getFromService());
+
+        int lowerBound = position[dependent];
+        int upperBound = position[dependency];
+        if (lowerBound < upperBound) {
+            // The dependent currently precedes its new dependency: repair the region between them
+            visitEpoch++;
+            List<Integer> forward = searchForward(dependent, dependency, upperBound, edge);
+            List<Integer> backward = searchBackward(dependency, lowerBound);
+            reorder(backward, forward);
+        }
+
+        link(edge);
+    }
+
+    /**
+     * Record a removed edge. A valid topological order stays valid, so no reordering is needed.
+     */
+    public void edgeRemoved(DependencyEdge edge) {
+        index();
+        Integer dependency = ids.get(edge.getToService());
+        Integer dependent = ids.get(edge.getFromService());
+        if (dependency != null && dependent != null) {
+            removeByIdentity(successors.get(dependency), edge);
+            removeByIdentity(predecessors.get(dependent), edge);
+        }
+    }
+
+    /**
+     * Current position of a service in the order, or -1 if unknown
+     */
+    public int positionOf(String serviceName) {
+        index();
+        Integer id = ids.get(serviceName);
+        return id != null ? position[id] : -1;
+    }
+
+    /**
+     * The graph's stored topological order, kept up to date by this instance
+     */
+    public List<String> order() {
+        return graph.getTopologicalOrder();
+    }
+
+    private void index() {
+        if (indexed) {
+            return;
+        }
+        indexed = true;
+        for (String serviceName : graph.getTopologicalOrder()) {
+            register(serviceName);
+        }
+        if (graph.getNodes() != null) {
+            for (DependencyNode node : graph.getNodes()) {
+                ensureRegistered(node.getServiceName());
+            }
+        }
+        if (graph.getEdges() != null) {
+            for (DependencyEdge edge : graph.getEdges()) {
+                ensureRegistered(edge.getToService());
+                ensureRegistered(edge.getFromService());
+                link(edge);
+            }
+        }
+    }
+
+    private int ensureRegistered(String serviceName) {
+        Integer id = ids.get(serviceName);
+        if (id != null) {
+            return id;
+        }
+        graph.getTopologicalOrder().add(serviceName);
+        return register(serviceName);
+    }
+
+    private int register(String serviceName) {
+        int id = names.size();
+        ids.put(serviceName, id);
+        names.add(serviceName);
+        successors.add(new ArrayList<>(2));
+        predecessors.add(new ArrayList<>(2));
+        if (id == position.length) {
+            position = Arrays.copyOf(position, id * 2);
+            visitMark = Arrays.copyOf(visitMark, id * 2);
+        }
+        position[id] = id;
+        return id;
+    }
+
+    private void link(DependencyEdge edge) {
+        successors.get(ids.get(edge.getToService())).add(edge);
+        predecessors.get(ids.get(edge.getFromService())).add(edge);
+    }
+
+    /**
+     * Services reachable from the dependent through its dependents, bounded by the
+     * dependency's position. Reaching the dependency itself means the edge closes a cycle.
+     */
+    private List<Integer> searchForward(int start, int target, int upperBound, DependencyEdge newEdge) {
+        List<Integer> visited = new ArrayList<>();
+        Map<Integer, DependencyEdge> reachedVia = new HashMap<>();
+        int[] stack = new int[8];
+        int depth = 0;
+        stack[depth++] = start;
+        visitMark[start] = visitEpoch;
+
+        while (depth > 0) {
+            int current = stack[--depth];
+            visited.add(current);
+            for (DependencyEdge edge : successors.get(current)) {
+                int next = ids.get(edge.getFromService());
+                if (next == target) {
+                    reachedVia.put(next, edge);
+                    throw cycleThrough(start, target, reachedVia, newEdge);
+                }
+                if (visitMark[next] != visitEpoch && position[next] < upperBound) {
+                    visitMark[next] = visitEpoch;
+                    reachedVia.put(next, edge);
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = next;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Services the dependency transitively depends on, bounded by the dependent's position
+     */
+    private List<Integer> searchBackward(int start, int lowerBound) {
+        List<Integer> visited = new ArrayList<>();
+        int[] stack = new int[8];
+        int depth = 0;
+        stack[depth++] = start;
+        visitMark[start] = visitEpoch;
+
+        while (depth > 0) {
+            int current = stack[--depth];
+            visited.add(current);
+            for (DependencyEdge edge : predecessors.get(current)) {
+                int next = ids.get(edge.getToService());
+                if (visitMark[next] != visitEpoch && position[next] > lowerBound) {
+                    visitMark[next] = visitEpoch;
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = next;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Place the backward set before the forward set, reusing the positions both sets occupied
+     */
+    private void reorder(List<Integer> backward, List<Integer> forward) {
+        backward.sort((a, b) -> Integer.compare(position[a], position[b]));
+        forward.sort((a, b) -> Integer.compare(position[a], position[b]));
+
+        int[] slots = new int[backward.size() + forward.size()];
+        int slot = 0;
+        for (int service : backward) {
+            slots[slot++] = position[service];
+        }
+        for (int service : forward) {
+            slots[slot++] = position[service];
+        }
+        Arrays.sort(slots);
+
+        List<String> stored = graph.getTopologicalOrder();
+        slot = 0;
+        for (int service : backward) {
+            position[service] = slots[slot];
+            stored.set(slots[slot++], names.get(service));
+        }
+        for (int service : forward) {
+            position[service] = slots[slot];
+            stored.set(slots[slot++], names.get(service));
+        }
+    }
+
+    private CircularDependencyException cycleThrough(int start, int target,
+                                                     Map<Integer, DependencyEdge> reachedVia,
+                                                     DependencyEdge newEdge) {
+        List<String> services = new ArrayList<>();
+        List<DependencyEdge> edges = new ArrayList<>();
+        edges.add(newEdge);
+        int current = target;
+        while (current != start) {
+            DependencyEdge edge = reachedVia.get(current);
+            services.add(names.get(current));
+            edges.add(edge);
+            current = ids.get(edge.getToService());
+        }
+        services.add(names.get(start));
+        return new CircularDependencyException(List.of(DependencyCycle.builder()
+                .services(services)
+                .edges(edges)
+                .build()));
+    }
+
+    private static void removeByIdentity(List<DependencyEdge> edges, DependencyEdge edge) {
+        for (int i = 0; i < edges.size(); i++) {
+            if (edges.get(i) == edge) {
+                edges.remove(i);
+                return;
+            }
+        }
+    }
+}
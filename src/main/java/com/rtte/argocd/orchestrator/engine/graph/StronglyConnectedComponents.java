@@ -0,0 +1,186 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Strongly connected components of a {@link CompiledDependencyGraph}, computed
+ * with an iterative version of Tarjan's algorithm so that deep dependency
+ * chains cannot overflow the call stack.
+ *
+ * Tarjan emits a component only after every component it can reach, and edges
+ * point from a service to its dependencies, so component ids are already in
+ * dependencies-first order. That order doubles as the schedule of the
+ * condensed graph, where each component is deployed as a single unit.
+ */
+public final class StronglyConnectedComponents {
+
+    private final CompiledDependencyGraph graph;
+    private final int[] componentOf;
+    private final int[] componentOffsets;
+    private final int[] componentMembers;
+
+    private StronglyConnectedComponents(CompiledDependencyGraph graph, int[] componentOf,
+                                        int[] componentOffsets, int[] componentMembers) {
+        this.graph = graph;
+        this.componentOf = componentOf;
+        this.componentOffsets = componentOffsets;
+        this.componentMembers = componentMembers;
+    }
+
+    /**
+     * Run Tarjan's algorithm over the forward (dependency) adjacency in a single O(V+E) sweep
+     */
+    public static StronglyConnectedComponents analyze(CompiledDependencyGraph graph) {
+        int nodeCount = graph.size();
+        int[] index = new int[nodeCount];
+        int[] lowLink = new int[nodeCount];
+        int[] cursor = new int[nodeCount];
+        boolean[] onStack = new boolean[nodeCount];
+        int[] stack = new int[nodeCount];
+        int[] callStack = new int[nodeCount];
+        int[] componentOf = new int[nodeCount];
+        int[] componentOffsets = new int[nodeCount + 1];
+        int[] componentMembers = new int[nodeCount];
+        Arrays.fill(index, -1);
+
+        int nextIndex = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+        int emitted = 0;
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            cursor[root] = graph.dependenciesStart(root);
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+
+                if (cursor[node] < graph.dependenciesEnd(node)) {
+                    int dependency = graph.edgeTo(graph.dependencyEdge(cursor[node]++));
+                    if (index[dependency] == -1) {
+                        index[dependency] = lowLink[dependency] = nextIndex++;
+                        cursor[dependency] = graph.dependenciesStart(dependency);
+                        stack[stackSize++] = dependency;
+                        onStack[dependency] = true;
+                        callStack[depth++] = dependency;
+                    } else if (onStack[dependency]) {
+                        lowLink[node] = Math.min(lowLink[node], index[dependency]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        componentOf[member] = componentCount;
+                        componentMembers[emitted++] = member;
+                    } while (member != node);
+                    componentOffsets[++componentCount] = emitted;
+                }
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+
+        return new StronglyConnectedComponents(graph, componentOf,
+                Arrays.copyOf(componentOffsets, componentCount + 1), componentMembers);
+    }
+
+    /**
+     * Number of components, including trivial single-service ones
+     */
+    public int componentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    /**
+     * Component id of a service
+     */
+    public int componentOf(int serviceId) {
+        return componentOf[serviceId];
+    }
+
+    /**
+     * Whether a component forms a cycle (more than one member, or a self dependency)
+     */
+    public boolean isCyclic(int component) {
+        int start = componentOffsets[component];
+        if (componentOffsets[component + 1] - start > 1) {
+            return true;
+        }
+        int service = componentMembers[start];
+        for (int i = graph.dependenciesStart(service); i < graph.dependenciesEnd(service); i++) {
+            if (graph.edgeTo(graph.dependencyEdge(i)) == service) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Service names of a component
+     */
+    public List<String> members(int component) {
+        List<String> members = new ArrayList<>(componentOffsets[component + 1] - componentOffsets[component]);
+        for (int i = componentOffsets[component]; i < componentOffsets[component + 1]; i++) {
+            members.add(graph.serviceName(componentMembers[i]));
+        }
+        return members;
+    }
+
+    /**
+     * Every cycle in the graph with its member services and the edges between them
+     */
+    public List<DependencyCycle> cycles() {
+        List<DependencyCycle> cycles = new ArrayList<>();
+        for (int component = 0; component < componentCount(); component++) {
+            if (!isCyclic(component)) {
+                continue;
+            }
+            List<DependencyEdge> edges = new ArrayList<>();
+            for (int i = componentOffsets[component]; i < componentOffsets[component + 1]; i++) {
+                int service = componentMembers[i];
+                for (int position = graph.dependenciesStart(service); position < graph.dependenciesEnd(service); position++) {
+                    int edge = graph.dependencyEdge(position);
+                    if (componentOf[graph.edgeTo(edge)] == component) {
+                        edges.add(graph.toEdge(edge));
+                    }
+                }
+            }
+            cycles.add(DependencyCycle.builder()
+                    .services(members(component))
+                    .edges(edges)
+                    .build());
+        }
+        return cycles;
+    }
+
+    /**
+     * Schedulable units of the condensed graph in dependencies-first order.
+     * Each unit is a single service, or all members of a cycle deployed together.
+     */
+    public List<List<String>> condensedOrder() {
+        List<List<String>> units = new ArrayList<>(componentCount());
+        for (int component = 0; component < componentCount(); component++) {
+            units.add(members(component));
+        }
+        return units;
+    }
+}
@@ -0,0 +1,87 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of comparing configured sync waves with the waves implied by dependencies
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncWaveAnalysis {
+
+    private static final YAMLMapper YAML_MAPPER = new YAMLMapper();
+
+    /** Minimal wave per service, in topological order */
+    private Map<String, Integer> minimalWaves;
+
+    /** Services grouped by their minimal wave */
+    private Map<Integer, List<String>> suggestedLayout;
+
+    private List<WaveIssue> issues;
+
+    private int configuredWaveCount;
+
+    private int minimalWaveCount;
+
+    /**
+     * Whether any manual wave breaks a dependency
+     */
+    public boolean hasViolations() {
+        return issues.stream().anyMatch(issue -> issue.getType() == IssueType.DEPENDENCY_VIOLATION);
+    }
+
+    /**
+     * Render the suggested layout as a CAC {@code sync-waves} block
+     */
+    public String toSyncWavesYaml() {
+        List<Map<String, Object>> waves = new ArrayList<>();
+        suggestedLayout.forEach((wave, services) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("wave", wave);
+            entry.put("name", SyncWaveAnalyzer.waveName(wave));
+            entry.put("services", services);
+            waves.add(entry);
+        });
+        try {
+            return YAML_MAPPER.writeValueAsString(Map.of("sync-waves", waves));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render sync wave layout", e);
+        }
+    }
+
+    /**
+     * A manual wave number that disagrees with the dependencies
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WaveIssue {
+        private String serviceName;
+        private IssueType type;
+        private int configuredWave;
+        private int minimalWave;
+        private String dependency;
+        private Integer dependencyWave;
+    }
+
+    /**
+     * Kinds of wave issues
+     */
+    public enum IssueType {
+        DEPENDENCY_VIOLATION,   // Service is not in a later wave than one of its dependencies
+        LOST_PARALLELISM        // Service is in a later wave than its dependencies require
+    }
+}
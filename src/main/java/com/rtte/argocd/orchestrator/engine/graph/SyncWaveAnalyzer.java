@@ -0,0 +1,104 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Derives the minimal sync wave of every service from its longest dependency
+ * path and compares it with the hand-maintained wave numbers.
+ *
+ * A service with no dependencies belongs in wave 0; any other service belongs
+ * one wave after its latest dependency. Manual waves that put a service in the
+ * same or an earlier wave than one of its dependencies are reported as
+ * violations; manual waves later than the minimal wave are reported as lost
+ * parallelism.
+ */
+public final class SyncWaveAnalyzer {
+
+    private SyncWaveAnalyzer() {
+    }
+
+    /**
+     * Analyze the configured waves of a compiled graph
+     *
+     * @throws CircularDependencyException if the graph has a cycle
+     */
+    public static SyncWaveAnalysis analyze(CompiledDependencyGraph graph) {
+        int[] order = graph.topologicalOrderIds();
+        int[] minimalWave = new int[graph.size()];
+
+        for (int id : order) {
+            for (int i = graph.dependenciesStart(id); i < graph.dependenciesEnd(id); i++) {
+                int dependency = graph.edgeTo(graph.dependencyEdge(i));
+                minimalWave[id] = Math.max(minimalWave[id], minimalWave[dependency] + 1);
+            }
+        }
+
+        Map<String, Integer> minimalWaves = new LinkedHashMap<>();
+        Map<Integer, List<String>> suggestedLayout = new TreeMap<>();
+        List<SyncWaveAnalysis.WaveIssue> issues = new ArrayList<>();
+        int configuredWaveCount = 0;
+
+        for (int id : order) {
+            String serviceName = graph.serviceName(id);
+            int configured = graph.syncWave(id);
+            configuredWaveCount = Math.max(configuredWaveCount, configured + 1);
+            minimalWaves.put(serviceName, minimalWave[id]);
+            suggestedLayout.computeIfAbsent(minimalWave[id], k -> new ArrayList<>()).add(serviceName);
+
+            int conflicting = latestDependencyNotBefore(graph, id, configured);
+            if (conflicting >= 0) {
+                issues.add(SyncWaveAnalysis.WaveIssue.builder()
+                        .serviceName(serviceName)
+                        .type(SyncWaveAnalysis.IssueType.DEPENDENCY_VIOLATION)
+                        .configuredWave(configured)
+                        .minimalWave(minimalWave[id])
+                        .dependency(graph.serviceName(conflicting))
+                        .dependencyWave(graph.syncWave(conflicting))
+                        .build());
+            } else if (configured > minimalWave[id]) {
+                issues.add(SyncWaveAnalysis.WaveIssue.builder()
+                        .serviceName(serviceName)
+                        .type(SyncWaveAnalysis.IssueType.LOST_PARALLELISM)
+                        .configuredWave(configured)
+                        .minimalWave(minimalWave[id])
+                        .build());
+            }
+        }
+
+        return SyncWaveAnalysis.builder()
+                .minimalWaves(minimalWaves)
+                .suggestedLayout(suggestedLayout)
+                .issues(issues)
+                .configuredWaveCount(graph.size() == 0 ? 0 : configuredWaveCount)
+                .minimalWaveCount(suggestedLayout.size())
+                .build();
+    }
+
+    /**
+     * The dependency with the highest configured wave that is not strictly before the service, or -1
+     */
+    private static int latestDependencyNotBefore(CompiledDependencyGraph graph, int id, int configured) {
+        int conflicting = -1;
+        for (int i = graph.dependenciesStart(id); i < graph.dependenciesEnd(id); i++) {
+            int dependency = graph.edgeTo(graph.dependencyEdge(i));
+            if (graph.syncWave(dependency) >= configured
+                    && (conflicting < 0 || graph.syncWave(dependency) > graph.syncWave(conflicting))) {
+                conflicting = dependency;
+            }
+        }
+        return conflicting;
+    }
+
+    /**
+     * Name used for a wave in a rewritten layout, e.g. {@code core-apis} for wave 2
+     */
+    static String waveName(int waveNumber) {
+        return SyncWave.SyncWaveType.fromWaveNumber(waveNumber).name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,166 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Precomputed transitive closure of a {@link CompiledDependencyGraph} for
+ * blast-radius questions ("what breaks if postgres-primary is rolled back?").
+ *
+ * The closure is computed over strongly connected components, so cyclic graphs
+ * are supported: services in one cycle reach each other and share a set. For
+ * every component the index keeps the components it transitively depends on
+ * (upstream) and the components that transitively depend on it (downstream)
+ * as {@link CompressedBitSet}s. Tarjan numbers components dependencies-first,
+ * so each set is the union of already finished sets and the whole index is
+ * built in one pass per direction.
+ */
+public final class TransitiveClosureIndex {
+
+    private final CompiledDependencyGraph graph;
+    private final StronglyConnectedComponents components;
+    private final CompressedBitSet[] upstream;
+    private final CompressedBitSet[] downstream;
+    private final boolean[] cyclic;
+
+    private TransitiveClosureIndex(CompiledDependencyGraph graph, StronglyConnectedComponents components,
+                                   CompressedBitSet[] upstream, CompressedBitSet[] downstream, boolean[] cyclic) {
+        this.graph = graph;
+        this.components = components;
+        this.upstream = upstream;
+        this.downstream = downstream;
+        this.cyclic = cyclic;
+    }
+
+    /**
+     * Build the index for a compiled graph
+     */
+    public static TransitiveClosureIndex build(CompiledDependencyGraph graph) {
+        StronglyConnectedComponents components = graph.stronglyConnectedComponents();
+        int componentCount = components.componentCount();
+        int words = (componentCount + 63) >>> 6;
+
+        List<List<Integer>> members = new ArrayList<>(componentCount);
+        boolean[] cyclic = new boolean[componentCount];
+        for (int component = 0; component < componentCount; component++) {
+            members.add(new ArrayList<>(1));
+            cyclic[component] = components.isCyclic(component);
+        }
+        for (int id = 0; id < graph.size(); id++) {
+            members.get(components.componentOf(id)).add(id);
+        }
+
+        // Dependencies always have a lower component id than their dependents
+        CompressedBitSet[] upstream = new CompressedBitSet[componentCount];
+        for (int component = 0; component < componentCount; component++) {
+            long[] raw = new long[words];
+            for (int id : members.get(component)) {
+                for (int i = graph.dependenciesStart(id); i < graph.dependenciesEnd(id); i++) {
+                    int target = components.componentOf(graph.edgeTo(graph.dependencyEdge(i)));
+                    if (target != component) {
+                        raw[target >>> 6] |= 1L << target;
+                        upstream[target].orInto(raw);
+                    }
+                }
+            }
+            upstream[component] = CompressedBitSet.of(raw);
+        }
+
+        CompressedBitSet[] downstream = new CompressedBitSet[componentCount];
+        for (int component = componentCount - 1; component >= 0; component--) {
+            long[] raw = new long[words];
+            for (int id : members.get(component)) {
+                for (int i = graph.dependentsStart(id); i < graph.dependentsEnd(id); i++) {
+                    int source = components.componentOf(graph.edgeFrom(graph.dependentEdge(i)));
+                    if (source != component) {
+                        raw[source >>> 6] |= 1L << source;
+                        downstream[source].orInto(raw);
+                    }
+                }
+            }
+            downstream[component] = CompressedBitSet.of(raw);
+        }
+
+        return new TransitiveClosureIndex(graph, components, upstream, downstream, cyclic);
+    }
+
+    /**
+     * Whether {@code service} transitively depends on {@code dependency}
+     */
+    public boolean dependsOn(String service, String dependency) {
+        int from = graph.idOf(service);
+        int to = graph.idOf(dependency);
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        int fromComponent = components.componentOf(from);
+        int toComponent = components.componentOf(to);
+        if (fromComponent == toComponent) {
+            return cyclic[fromComponent];
+        }
+        return upstream[fromComponent].contains(toComponent);
+    }
+
+    /**
+     * Every service the given service transitively depends on
+     */
+    public Set<String> upstreamOf(String serviceName) {
+        return expand(serviceName, upstream);
+    }
+
+    /**
+     * Every service that transitively depends on the given service
+     */
+    public Set<String> downstreamOf(String serviceName) {
+        return expand(serviceName, downstream);
+    }
+
+    /**
+     * Minimal set of services to redeploy when the given services change or are
+     * rolled back: the services themselves plus everything downstream of them,
+     * in dependencies-first order. Unknown service names are ignored.
+     */
+    public List<String> redeploySet(Collection<String> changedServices) {
+        long[] affected = new long[(components.componentCount() + 63) >>> 6];
+        for (String serviceName : changedServices) {
+            int id = graph.idOf(serviceName);
+            if (id >= 0) {
+                int component = components.componentOf(id);
+                affected[component >>> 6] |= 1L << component;
+                downstream[component].orInto(affected);
+            }
+        }
+
+        List<String> result = new ArrayList<>();
+        for (int component = 0; component < components.componentCount(); component++) {
+            if ((affected[component >>> 6] & (1L << component)) != 0) {
+                result.addAll(components.members(component));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of services in the indexed graph
+     */
+    public int size() {
+        return graph.size();
+    }
+
+    private Set<String> expand(String serviceName, CompressedBitSet[] closure) {
+        int id = graph.idOf(serviceName);
+        if (id < 0) {
+            return Set.of();
+        }
+        int component = components.componentOf(id);
+        Set<String> result = new HashSet<>(closure[component].cardinality() * 2);
+        closure[component].forEach(other -> result.addAll(components.members(other)));
+        if (cyclic[component]) {
+            result.addAll(components.members(component));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+package com.rtte.argocd.orchestrator.engine.limit;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limiter for outbound Argo CD and Kubernetes mutations.
+ *
+ * A request runs only while both the global {@link AimdLimit} and the
+ * sub-limit of its destination server have room, so one slow cluster cannot
+ * take every slot. Both limits adapt to observed latency and overload errors.
+ *
+ * Requests that cannot start wait in one FIFO queue per customer, and queues
+ * are served round-robin: a customer pushing hundreds of changes at once only
+ * gets every n-th free slot when n customers are waiting. A customer whose
+ * head request targets a saturated destination is passed over until that
+ * destination frees up. Requests beyond {@code maxQueued} fail fast with
+ * {@link ConcurrencyLimitExceededException}.
+ *
+ * All bookkeeping is O(1) per request under the instance lock; operations are
+ * subscribed outside of it.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final AimdLimit globalLimit;
+    private final Supplier<AimdLimit> destinationLimits;
+    private final int maxQueued;
+    private final Predicate<Throwable> isOverload;
+
+    private final Map<String, Destination> destinations = new HashMap<>();
+    private final Map<String, Deque<Request<?>>> queues = new HashMap<>();
+    // Customers with queued requests, in round-robin order
+    private final Deque<String> rotation = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+
+    private static final class Destination {
+        final AimdLimit limit;
+        int inFlight;
+
+        Destination(AimdLimit limit) {
+            this.limit = limit;
+        }
+    }
+
+    private final class Request<T> {
+        final String destination;
+        final String customer;
+        final Supplier<? extends Mono<T>> operation;
+        final MonoSink<T> sink;
+        long startedAt;
+        int inFlightAtStart;
+        int destinationInFlightAtStart;
+        boolean queued;
+        boolean released;
+        boolean cancelled;
+        Disposable running;
+
+        Request(String destination, String customer, Supplier<? extends Mono<T>> operation, MonoSink<T> sink) {
+            this.destination = destination;
+            this.customer = customer;
+            this.operation = operation;
+            this.sink = sink;
+        }
+
+        void run() {
+            Disposable subscription = Mono.defer(operation).subscribe(
+                    value -> {
+                        release(this, false);
+                        sink.success(value);
+                    },
+                    error -> {
+                        release(this, isOverload.test(error));
+                        sink.error(error);
+                    },
+                    () -> {
+                        release(this, false);
+                        sink.success();
+                    });
+            boolean dispose;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                running = subscription;
+                dispose = cancelled;
+            }
+            if (dispose) {
+                subscription.dispose();
+            }
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter(AimdLimit globalLimit, Supplier<AimdLimit> destinationLimits,
+                                      int maxQueued, Predicate<Throwable> isOverload) {
+        this.globalLimit = globalLimit;
+        this.destinationLimits = destinationLimits;
+        this.maxQueued = maxQueued;
+        this.isOverload = isOverload;
+    }
+
+    /**
+     * Run an operation once a slot for its destination is free
+     *
+     * @param destination server the operation mutates, e.g. an API server URL
+     * @param customer    customer the operation is made for, used for fair queueing
+     */
+    public <T> Mono<T> execute(String destination, String customer, Supplier<? extends Mono<T>> operation) {
+        return Mono.create(sink -> {
+            Request<T> request = new Request<>(destination, customer, operation, sink);
+            sink.onCancel(() -> cancel(request));
+            List<Request<?>> toStart;
+            synchronized (this) {
+                if (rotation.isEmpty() && tryStart(request)) {
+                    toStart = List.of(request);
+                } else if (queued >= maxQueued) {
+                    sink.error(new ConcurrencyLimitExceededException(
+                            "Outbound queue full (" + maxQueued + "), shedding request for " + destination));
+                    return;
+                } else {
+                    // Others are waiting: take a turn in the rotation
+                    enqueue(request);
+                    toStart = drain();
+                }
+            }
+            toStart.forEach(Request::run);
+        });
+    }
+
+    /**
+     * Current global limit
+     */
+    public synchronized int limit() {
+        return globalLimit.get();
+    }
+
+    /**
+     * Current limit of a destination, or -1 if it has not been used yet
+     */
+    public synchronized int limit(String destination) {
+        Destination state = destinations.get(destination);
+        return state != null ? state.limit.get() : -1;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued() {
+        return queued;
+    }
+
+    private boolean tryStart(Request<?> request) {
+        Destination destination = destinations.computeIfAbsent(request.destination,
+                key -> new Destination(destinationLimits.get()));
+        if (inFlight >= globalLimit.get() || destination.inFlight >= destination.limit.get()) {
+            return false;
+        }
+        inFlight++;
+        destination.inFlight++;
+        request.startedAt = System.nanoTime();
+        request.inFlightAtStart = inFlight;
+        request.destinationInFlightAtStart = destination.inFlight;
+        return true;
+    }
+
+    private void enqueue(Request<?> request) {
+        Deque<Request<?>> queue = queues.computeIfAbsent(request.customer, customer -> new ArrayDeque<>());
+        if (queue.isEmpty()) {
+            rotation.addLast(request.customer);
+        }
+        queue.addLast(request);
+        request.queued = true;
+        queued++;
+    }
+
+    private void release(Request<?> request, boolean overloaded) {
+        List<Request<?>> toStart;
+        synchronized (this) {
+            if (request.released) {
+                return;
+            }
+            request.released = true;
+            long latency = System.nanoTime() - request.startedAt;
+            Destination destination = destinations.get(request.destination);
+            inFlight--;
+            destination.inFlight--;
+            globalLimit.onSample(latency, overloaded, request.inFlightAtStart);
+            destination.limit.onSample(latency, overloaded, request.destinationInFlightAtStart);
+            toStart = drain();
+        }
+        toStart.forEach(Request::run);
+    }
+
+    private void cancel(Request<?> request) {
+        Disposable running;
+        List<Request<?>> toStart = List.of();
+        synchronized (this) {
+            request.cancelled = true;
+            if (request.queued) {
+                Deque<Request<?>> queue = queues.get(request.customer);
+                queue.remove(request);
+                request.queued = false;
+                queued--;
+                if (queue.isEmpty()) {
+                    queues.remove(request.customer);
+                    rotation.remove(request.customer);
+                }
+                return;
+            }
+            running = request.running;
+            if (!request.released) {
+                // Cancelled requests say nothing about the destination's capacity
+                request.released = true;
+                inFlight--;
+                destinations.get(request.destination).inFlight--;
+                toStart = drain();
+            }
+        }
+        if (running != null) {
+            running.dispose();
+        }
+        toStart.forEach(Request::run);
+    }
+
+    /**
+     * Start queued requests round-robin across customers while slots are free
+     */
+    private List<Request<?>> drain() {
+        List<Request<?>> toStart = new ArrayList<>();
+        int misses = 0;
+        while (misses < rotation.size() && inFlight < globalLimit.get()) {
+            String customer = rotation.pollFirst();
+            Deque<Request<?>> queue = queues.get(customer);
+            Request<?> head = queue.peekFirst();
+            if (tryStart(head)) {
+                queue.pollFirst();
+                head.queued = false;
+                queued--;
+                toStart.add(head);
+                misses = 0;
+            } else {
+                // Head targets a saturated destination: pass the customer over for now
+                misses++;
+            }
+            if (queue.isEmpty()) {
+                queues.remove(customer);
+            } else {
+                rotation.addLast(customer);
+            }
+        }
+        return toStart;
+    }
+}
@@ -0,0 +1,53 @@
+package com.rtte.argocd.orchestrator.engine.limit;
+
+import java.time.Duration;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit.
+ *
+ * A sample that failed with an overload error or took longer than the latency
+ * threshold multiplies the limit by the backoff ratio. A fast, successful
+ * sample taken while at least half the limit was in use raises it by one, so
+ * the limit only grows while it is actually the bottleneck.
+ *
+ * Not thread-safe; {@link AdaptiveConcurrencyLimiter} guards it with its lock.
+ */
+public final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private double limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration latencyThreshold) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid AIMD limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Current limit
+     */
+    public int get() {
+        return (int) limit;
+    }
+
+    /**
+     * Feed one completed request
+     *
+     * @param inFlight requests in flight when this one started, including itself
+     */
+    void onSample(long latencyNanos, boolean overloaded, int inFlight) {
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.rtte.argocd.orchestrator.engine.limit;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown when a request is shed because the limiter's queue is full
+ */
+public class ConcurrencyLimitExceededException extends RejectedExecutionException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
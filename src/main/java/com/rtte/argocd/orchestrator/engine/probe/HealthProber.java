@@ -0,0 +1,143 @@
+package com.rtte.argocd.orchestrator.engine.probe;
+
+import com.rtte.argocd.orchestrator.engine.timer.HierarchicalTimingWheel;
+import com.rtte.argocd.orchestrator.model.domain.Microservice.MicroserviceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Non-blocking executor for {@link ProbeTarget}s.
+ *
+ * Probes are scheduled on a {@link HierarchicalTimingWheel} owned by the
+ * caller, which starts and closes it. Scheduling costs O(1) per probe,
+ * whatever the number of targets, and the wheel's driver thread serves all of
+ * them. Each probe is a WebClient request on the shared Netty event loop, so
+ * no thread waits on a slow service. The first probe of a target is spread
+ * uniformly over its interval, and every later one is jittered by
+ * {@code jitter} × interval, which keeps thousands of targets from firing in
+ * lockstep. A target's next probe is only armed when the current one has
+ * finished, so one target never has overlapping probes.
+ */
+@Slf4j
+public class HealthProber implements AutoCloseable {
+
+    /**
+     * Receives probe results; called on Netty or timing wheel threads and must not block
+     */
+    public interface ProbeListener {
+
+        void onTransition(ProbeTarget target, MicroserviceStatus status);
+
+        default void onResult(ProbeTarget target, boolean success, long latencyNanos) {
+        }
+    }
+
+    private final WebClient webClient;
+    private final HierarchicalTimingWheel wheel;
+    private final double jitter;
+    private final ProbeListener listener;
+    private final Map<Long, ProbeTarget> targets = new ConcurrentHashMap<>();
+
+    public HealthProber(WebClient webClient, HierarchicalTimingWheel wheel, double jitter, ProbeListener listener) {
+        this.webClient = webClient;
+        this.wheel = wheel;
+        this.jitter = jitter;
+        this.listener = listener;
+    }
+
+    /**
+     * Start probing a target, replacing any target with the same microservice id
+     */
+    public void schedule(ProbeTarget target) {
+        ProbeTarget previous = targets.put(target.getMicroserviceId(), target);
+        if (previous != null) {
+            previous.cancel();
+        }
+        long intervalMillis = Math.max(1, target.getInterval().toMillis());
+        arm(target, ThreadLocalRandom.current().nextLong(intervalMillis));
+    }
+
+    /**
+     * Stop probing a target; an in-flight probe completes but is not rescheduled
+     */
+    public void cancel(Long microserviceId) {
+        ProbeTarget target = targets.remove(microserviceId);
+        if (target != null) {
+            target.cancel();
+        }
+    }
+
+    /**
+     * Scheduled target of a microservice
+     */
+    public Optional<ProbeTarget> target(Long microserviceId) {
+        return Optional.ofNullable(targets.get(microserviceId));
+    }
+
+    /**
+     * Ids of all scheduled targets
+     */
+    public Set<Long> scheduledIds() {
+        return targets.keySet();
+    }
+
+    /**
+     * Run a single probe: true if the target answered with its expected status within its timeout
+     */
+    public Mono<Boolean> probe(ProbeTarget target) {
+        return webClient.method(HttpMethod.valueOf(target.getMethod()))
+                .uri(target.getUri())
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().value() == target.getExpectedStatus()))
+                .timeout(target.getTimeout())
+                .onErrorResume(error -> {
+                    log.trace("Probe of {} failed: {}", target.getUri(), error.toString());
+                    return Mono.just(false);
+                });
+    }
+
+    private void arm(ProbeTarget target, long delayMillis) {
+        if (!target.isCancelled()) {
+            wheel.schedule(Duration.ofMillis(delayMillis), () -> run(target));
+        }
+    }
+
+    private void run(ProbeTarget target) {
+        if (target.isCancelled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        probe(target).subscribe(success -> {
+            listener.onResult(target, success, System.nanoTime() - started);
+            target.record(success).ifPresent(status -> listener.onTransition(target, status));
+            arm(target, nextDelay(target));
+        });
+    }
+
+    private long nextDelay(ProbeTarget target) {
+        long intervalMillis = target.getInterval().toMillis();
+        long spread = (long) (intervalMillis * jitter);
+        if (spread <= 0) {
+            return intervalMillis;
+        }
+        return intervalMillis + ThreadLocalRandom.current().nextLong(-spread, spread + 1);
+    }
+
+    /**
+     * Stop probing every target; pending timers fire as no-ops until the wheel is closed
+     */
+    @Override
+    public void close() {
+        targets.values().forEach(ProbeTarget::cancel);
+        targets.clear();
+    }
+}
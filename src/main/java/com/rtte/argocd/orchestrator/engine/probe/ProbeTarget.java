@@ -0,0 +1,148 @@
+package com.rtte.argocd.orchestrator.engine.probe;
+
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import com.rtte.argocd.orchestrator.model.domain.Microservice.MicroserviceStatus;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * One health check target and its consecutive success/failure state.
+ *
+ * A target is probed by one probe at a time (the next probe is only scheduled
+ * when the previous one finished), so its counters need no synchronization.
+ * The status is volatile because it is also resynced from the database by
+ * {@link #syncStatus(MicroserviceStatus)}.
+ */
+public final class ProbeTarget {
+
+    private final Long microserviceId;
+    private final String customerId;
+    private final String serviceName;
+    private final URI uri;
+    private final String method;
+    private final int expectedStatus;
+    private final Duration timeout;
+    private final Duration interval;
+    private final int failureThreshold;
+    private final int successThreshold;
+
+    private int consecutiveSuccesses;
+    private int consecutiveFailures;
+    private volatile MicroserviceStatus status;
+    private volatile boolean cancelled;
+
+    public ProbeTarget(Long microserviceId, String customerId, String serviceName, URI uri, String method,
+                       int expectedStatus, Duration timeout, Duration interval,
+                       int failureThreshold, int successThreshold, MicroserviceStatus status) {
+        this.microserviceId = microserviceId;
+        this.customerId = customerId;
+        this.serviceName = serviceName;
+        this.uri = uri;
+        this.method = method;
+        this.expectedStatus = expectedStatus;
+        this.timeout = timeout;
+        this.interval = interval;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.successThreshold = Math.max(1, successThreshold);
+        this.status = status;
+    }
+
+    /**
+     * Build a target from a microservice's health check, using defaults for unset fields
+     */
+    public static ProbeTarget of(Microservice microservice, URI uri) {
+        Microservice.HealthCheck check = microservice.getHealthCheck() != null
+                ? microservice.getHealthCheck() : new Microservice.HealthCheck();
+        return new ProbeTarget(
+                microservice.getId(),
+                microservice.getCustomerId(),
+                microservice.getName(),
+                uri,
+                check.getMethod() != null ? check.getMethod() : "GET",
+                check.getExpectedStatus() != null ? check.getExpectedStatus() : 200,
+                Duration.ofSeconds(check.getTimeoutSeconds() != null ? check.getTimeoutSeconds() : 10),
+                Duration.ofSeconds(check.getIntervalSeconds() != null ? check.getIntervalSeconds() : 30),
+                check.getFailureThreshold() != null ? check.getFailureThreshold() : 3,
+                check.getSuccessThreshold() != null ? check.getSuccessThreshold() : 1,
+                microservice.getStatus());
+    }
+
+    /**
+     * Record a probe result
+     *
+     * @return the new status if this result crossed a threshold and changed it
+     */
+    public Optional<MicroserviceStatus> record(boolean success) {
+        MicroserviceStatus next = status;
+        if (success) {
+            consecutiveFailures = 0;
+            if (++consecutiveSuccesses >= successThreshold) {
+                next = MicroserviceStatus.HEALTHY;
+            }
+        } else {
+            consecutiveSuccesses = 0;
+            if (++consecutiveFailures >= failureThreshold) {
+                next = MicroserviceStatus.UNHEALTHY;
+            }
+        }
+        if (next == status) {
+            return Optional.empty();
+        }
+        status = next;
+        return Optional.of(next);
+    }
+
+    /**
+     * Adopt the status stored in the database, which may have been changed by a
+     * rollback or another writer since this target last saw a transition
+     */
+    public void syncStatus(MicroserviceStatus stored) {
+        status = stored;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    public Long getMicroserviceId() {
+        return microserviceId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public int getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public MicroserviceStatus getStatus() {
+        return status;
+    }
+}
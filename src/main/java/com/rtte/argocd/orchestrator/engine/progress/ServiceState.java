@@ -0,0 +1,32 @@
+package com.rtte.argocd.orchestrator.engine.progress;
+
+/**
+ * Rollout state of one service within a sync wave, derived from its Argo CD
+ * Application's sync and health status
+ */
+public enum ServiceState {
+    PENDING,    // Not synced yet, or the Application is missing
+    DEPLOYED,   // Synced, health not yet Healthy
+    HEALTHY,    // Synced and Healthy
+    FAILED;     // Health is Degraded
+
+    /**
+     * Map Argo CD {@code status.sync.status} and {@code status.health.status} values
+     */
+    public static ServiceState of(String syncStatus, String healthStatus) {
+        if ("Degraded".equals(healthStatus)) {
+            return FAILED;
+        }
+        if (!"Synced".equals(syncStatus)) {
+            return PENDING;
+        }
+        return "Healthy".equals(healthStatus) ? HEALTHY : DEPLOYED;
+    }
+
+    /**
+     * Whether the service has been applied to the cluster
+     */
+    public boolean isDeployed() {
+        return this != PENDING;
+    }
+}
@@ -0,0 +1,40 @@
+package com.rtte.argocd.orchestrator.engine.progress;
+
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point-in-time counts of a tracked sync wave
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveProgress {
+
+    private Long waveId;
+    private String customerId;
+    private int waveNumber;
+    private int totalServices;
+    private int deployedServices;
+    private int healthyServices;
+    private int failedServices;
+    private SyncWave.SyncWaveStatus status;
+
+    /**
+     * Whether the wave has completed or failed
+     */
+    public boolean isTerminal() {
+        return status == SyncWave.SyncWaveStatus.COMPLETED || status == SyncWave.SyncWaveStatus.FAILED;
+    }
+
+    /**
+     * Apply these counts to the wave entity
+     */
+    public void applyTo(SyncWave wave) {
+        wave.updateProgress(deployedServices, healthyServices, failedServices);
+    }
+}
@@ -0,0 +1,176 @@
+package com.rtte.argocd.orchestrator.engine.progress;
+
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrent, event-driven progress of one sync wave.
+ *
+ * Each service state change adjusts the wave's counts by the difference
+ * between the old and new state, so no event ever recounts the wave. Service
+ * states live in a {@link ConcurrentHashMap}, so only events for the same
+ * service serialize, on that key's bin. The deployed, healthy and failed
+ * counts share one {@link AtomicLong} (21 bits each), so every update moves
+ * all three at once and each update sees a consistent triple. Concurrent
+ * reports from any number of services are therefore never lost, and a reader
+ * never observes counts from two different updates.
+ *
+ * The completion rule matches {@link SyncWave#updateProgress}: the wave
+ * completes when every service is healthy and fails once every service has
+ * settled with at least one failure. The first update whose counts meet the
+ * rule claims the terminal transition with a compare-and-set, so completion
+ * fires exactly once. That update also freezes the wave's final counts.
+ */
+public final class WaveProgressTracker {
+
+    private static final int BITS = 21;
+    private static final long MASK = (1L << BITS) - 1;
+    private static final long DEPLOYED = 1L;
+    private static final long HEALTHY = 1L << BITS;
+    private static final long FAILED = 1L << (2 * BITS);
+
+    private final Long waveId;
+    private final String customerId;
+    private final int waveNumber;
+    private final int total;
+    private final ConcurrentMap<String, ServiceState> states;
+    private final AtomicLong counts = new AtomicLong();
+    private final AtomicReference<WaveProgress> terminal = new AtomicReference<>();
+    private final Sinks.One<WaveProgress> completion = Sinks.one();
+
+    public WaveProgressTracker(Long waveId, String customerId, int waveNumber, Collection<String> services) {
+        this.waveId = waveId;
+        this.customerId = customerId;
+        this.waveNumber = waveNumber;
+        this.states = new ConcurrentHashMap<>(services.size() * 2);
+        for (String service : services) {
+            states.put(service, ServiceState.PENDING);
+        }
+        this.total = states.size();
+        if (total > MASK) {
+            throw new IllegalArgumentException("Sync wave has too many services: " + total);
+        }
+        if (total == 0) {
+            finish(toProgress(0L, SyncWave.SyncWaveStatus.COMPLETED));
+        }
+    }
+
+    public Long getWaveId() {
+        return waveId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Services tracked by this wave
+     */
+    public Collection<String> services() {
+        return List.copyOf(states.keySet());
+    }
+
+    /**
+     * Record a service state change
+     *
+     * @return the new progress, or empty if the service is unknown, the state is
+     *         unchanged or the wave has already finished
+     */
+    public Optional<WaveProgress> update(String serviceName, ServiceState state) {
+        if (terminal.get() != null) {
+            return Optional.empty();
+        }
+        // The count delta is applied inside compute so that transitions of one
+        // service reach the counter in the order they replaced each other
+        long[] updated = new long[1];
+        ServiceState[] previous = new ServiceState[1];
+        states.computeIfPresent(serviceName, (name, current) -> {
+            previous[0] = current;
+            if (current != state) {
+                updated[0] = counts.addAndGet(weight(state) - weight(current));
+            }
+            return state;
+        });
+        if (previous[0] == null || previous[0] == state) {
+            return Optional.empty();
+        }
+
+        SyncWave.SyncWaveStatus status = statusOf(updated[0]);
+        WaveProgress progress = toProgress(updated[0], status);
+        if (status != SyncWave.SyncWaveStatus.DEPLOYING && !finish(progress)) {
+            // Another update already finished the wave
+            return Optional.empty();
+        }
+        return Optional.of(progress);
+    }
+
+    /**
+     * Current counts; the final counts once the wave has finished
+     */
+    public WaveProgress snapshot() {
+        WaveProgress finished = terminal.get();
+        if (finished != null) {
+            return finished;
+        }
+        long current = counts.get();
+        return toProgress(current, SyncWave.SyncWaveStatus.DEPLOYING);
+    }
+
+    /**
+     * Emits the terminal progress once the wave completes or fails
+     */
+    public Mono<WaveProgress> completion() {
+        return completion.asMono();
+    }
+
+    private boolean finish(WaveProgress progress) {
+        if (!terminal.compareAndSet(null, progress)) {
+            return false;
+        }
+        completion.tryEmitValue(progress);
+        return true;
+    }
+
+    private SyncWave.SyncWaveStatus statusOf(long packed) {
+        int healthy = (int) ((packed >>> BITS) & MASK);
+        int failed = (int) ((packed >>> (2 * BITS)) & MASK);
+        if (healthy == total) {
+            return SyncWave.SyncWaveStatus.COMPLETED;
+        }
+        if (failed > 0 && failed + healthy == total) {
+            return SyncWave.SyncWaveStatus.FAILED;
+        }
+        return SyncWave.SyncWaveStatus.DEPLOYING;
+    }
+
+    private WaveProgress toProgress(long packed, SyncWave.SyncWaveStatus status) {
+        return WaveProgress.builder()
+                .waveId(waveId)
+                .customerId(customerId)
+                .waveNumber(waveNumber)
+                .totalServices(total)
+                .deployedServices((int) (packed & MASK))
+                .healthyServices((int) ((packed >>> BITS) & MASK))
+                .failedServices((int) ((packed >>> (2 * BITS)) & MASK))
+                .status(status)
+                .build();
+    }
+
+    private static long weight(ServiceState state) {
+        return switch (state) {
+            case PENDING -> 0L;
+            case DEPLOYED -> DEPLOYED;
+            case HEALTHY -> DEPLOYED + HEALTHY;
+            case FAILED -> DEPLOYED + FAILED;
+        };
+    }
+}
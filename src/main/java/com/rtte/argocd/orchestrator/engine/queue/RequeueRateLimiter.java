@@ -0,0 +1,83 @@
+package com.rtte.argocd.orchestrator.engine.queue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Delay before a failed key is processed again.
+ *
+ * The delay is the larger of two limits:
+ * <ul>
+ *   <li>per key: {@code baseDelay * 2^failures}, capped at {@code maxDelay};</li>
+ *   <li>overall: a token bucket of {@code burst} requeues refilled at
+ *       {@code requeuesPerSecond}. A requeue that finds it empty reserves the
+ *       next token and waits for it instead of being dropped.</li>
+ * </ul>
+ * The overall limit keeps a fleet-wide outage from turning into a burst of
+ * retries once the first backoff expires.
+ */
+public final class RequeueRateLimiter<K> {
+
+    private final long baseNanos;
+    private final long maxNanos;
+    private final double nanosPerToken;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final Map<K, Integer> failures = new HashMap<>();
+    private double tokens;
+    private long refilledAt;
+
+    public RequeueRateLimiter(Duration baseDelay, Duration maxDelay, double requeuesPerSecond, int burst,
+                              LongSupplier nanoClock) {
+        if (baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0 || requeuesPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException(
+                    "Requeue limiter requires 0 <= baseDelay <= maxDelay, a positive rate and burst >= 1");
+        }
+        this.baseNanos = baseDelay.toNanos();
+        this.maxNanos = maxDelay.toNanos();
+        this.nanosPerToken = 1_000_000_000d / requeuesPerSecond;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Record a failure of a key and return how long it should wait
+     */
+    public synchronized Duration when(K key) {
+        int attempts = failures.merge(key, 1, Integer::sum);
+        long keyDelay = maxNanos;
+        if (attempts < 63 && baseNanos <= maxNanos >> (attempts - 1)) {
+            keyDelay = baseNanos << (attempts - 1);
+        }
+        return Duration.ofNanos(Math.max(keyDelay, reserve()));
+    }
+
+    /**
+     * Failures recorded for a key since it was last forgotten
+     */
+    public synchronized int failures(K key) {
+        return failures.getOrDefault(key, 0);
+    }
+
+    /**
+     * Reset the backoff of a key after it succeeded
+     */
+    public synchronized void forget(K key) {
+        failures.remove(key);
+    }
+
+    /**
+     * Take the next token, possibly one not yet refilled, and return the wait until it is
+     */
+    private long reserve() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        tokens--;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerToken);
+    }
+}
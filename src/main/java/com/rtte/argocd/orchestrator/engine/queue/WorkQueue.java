@@ -0,0 +1,239 @@
+package com.rtte.argocd.orchestrator.engine.queue;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Controller-style work queue of keys with per-key serialization.
+ *
+ * <ul>
+ *   <li>A key added while already queued is not queued twice.</li>
+ *   <li>A key handed out by {@link #take} is not handed out again until
+ *       {@link #done} is called for it. Adds that arrive meanwhile mark it
+ *       dirty and it is queued once more when it is done, so the latest
+ *       change is always processed after the one in progress.</li>
+ *   <li>{@link #requeueRateLimited} re-adds a failed key after the delay
+ *       chosen by the {@link RequeueRateLimiter}; {@link #forget} resets it.</li>
+ * </ul>
+ * Delayed adds go through the supplied scheduler, e.g. a timing wheel.
+ */
+public final class WorkQueue<K> {
+
+    private final RequeueRateLimiter<K> rateLimiter;
+    private final BiConsumer<Duration, Runnable> scheduler;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<K> queue = new ArrayDeque<>();
+    // Keys waiting to be processed, queued or held back while processing
+    private final Map<K, Long> dirty = new HashMap<>();
+    private final Set<K> processing = new HashSet<>();
+    private int delayed;
+    private long retries;
+    private boolean shutDown;
+
+    /**
+     * Key handed to a worker and how long it waited in the queue
+     */
+    public record Item<K>(K key, Duration queued) {
+    }
+
+    public WorkQueue(RequeueRateLimiter<K> rateLimiter, BiConsumer<Duration, Runnable> scheduler,
+                     LongSupplier nanoClock) {
+        this.rateLimiter = rateLimiter;
+        this.scheduler = scheduler;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Queue a key unless it is already waiting
+     *
+     * @return true if the key was not already waiting
+     */
+    public boolean add(K key) {
+        lock.lock();
+        try {
+            if (shutDown || dirty.containsKey(key)) {
+                return false;
+            }
+            dirty.put(key, nanoClock.getAsLong());
+            if (!processing.contains(key)) {
+                queue.addLast(key);
+                available.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue a key after a delay
+     */
+    public void addAfter(K key, Duration delay) {
+        if (delay.isZero() || delay.isNegative()) {
+            add(key);
+            return;
+        }
+        lock.lock();
+        try {
+            if (shutDown) {
+                return;
+            }
+            delayed++;
+        } finally {
+            lock.unlock();
+        }
+        scheduler.accept(delay, () -> {
+            lock.lock();
+            try {
+                delayed--;
+            } finally {
+                lock.unlock();
+            }
+            add(key);
+        });
+    }
+
+    /**
+     * Queue a failed key again after its rate-limited backoff
+     *
+     * @return the backoff applied
+     */
+    public Duration requeueRateLimited(K key) {
+        Duration delay = rateLimiter.when(key);
+        lock.lock();
+        try {
+            retries++;
+        } finally {
+            lock.unlock();
+        }
+        addAfter(key, delay);
+        return delay;
+    }
+
+    /**
+     * Clear the backoff of a key that was processed successfully
+     */
+    public void forget(K key) {
+        rateLimiter.forget(key);
+    }
+
+    /**
+     * Failures of a key since it was last forgotten
+     */
+    public int failures(K key) {
+        return rateLimiter.failures(key);
+    }
+
+    /**
+     * Wait up to {@code timeout} for a key; the caller must call {@link #done} for it
+     *
+     * @return empty on timeout or once the queue is shut down and drained
+     */
+    public Optional<Item<K>> take(Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (shutDown || remaining <= 0) {
+                    return Optional.empty();
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            K key = queue.pollFirst();
+            Long addedAt = dirty.remove(key);
+            processing.add(key);
+            long waited = addedAt != null ? nanoClock.getAsLong() - addedAt : 0;
+            return Optional.of(new Item<>(key, Duration.ofNanos(Math.max(0, waited))));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a key taken by a worker; it is queued again if it was added meanwhile
+     */
+    public void done(K key) {
+        lock.lock();
+        try {
+            processing.remove(key);
+            if (dirty.containsKey(key)) {
+                queue.addLast(key);
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop accepting keys and wake waiting workers
+     */
+    public void shutDown() {
+        lock.lock();
+        try {
+            shutDown = true;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keys ready to be taken
+     */
+    public int depth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keys being processed
+     */
+    public int processing() {
+        lock.lock();
+        try {
+            return processing.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keys waiting out a delay before they are added
+     */
+    public int delayed() {
+        lock.lock();
+        try {
+            return delayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rate-limited requeues since creation
+     */
+    public long retries() {
+        lock.lock();
+        try {
+            return retries;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
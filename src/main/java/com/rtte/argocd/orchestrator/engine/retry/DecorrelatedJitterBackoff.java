@@ -0,0 +1,42 @@
+package com.rtte.argocd.orchestrator.engine.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with decorrelated jitter.
+ *
+ * Each delay is drawn uniformly from {@code [base, previous * 3]} and capped,
+ * so retries of waves that failed together spread out after the first attempt
+ * instead of hitting Argo CD in lockstep, while the expected delay still grows
+ * exponentially.
+ */
+public final class DecorrelatedJitterBackoff {
+
+    private final long baseMillis;
+    private final long capMillis;
+
+    public DecorrelatedJitterBackoff(Duration base, Duration cap) {
+        if (base.toMillis() <= 0 || cap.compareTo(base) < 0) {
+            throw new IllegalArgumentException("Backoff requires 0 < base <= cap");
+        }
+        this.baseMillis = base.toMillis();
+        this.capMillis = cap.toMillis();
+    }
+
+    /**
+     * Delay of the first retry
+     */
+    public Duration initial() {
+        return next(Duration.ZERO);
+    }
+
+    /**
+     * Delay following the given previous delay; a zero previous delay starts from the base
+     */
+    public Duration next(Duration previous) {
+        long upper = Math.min(capMillis, Math.max(baseMillis, previous.toMillis()) * 3);
+        long delay = upper > baseMillis ? ThreadLocalRandom.current().nextLong(baseMillis, upper + 1) : baseMillis;
+        return Duration.ofMillis(Math.min(capMillis, delay));
+    }
+}
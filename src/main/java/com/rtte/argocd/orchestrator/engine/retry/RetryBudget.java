@@ -0,0 +1,76 @@
+package com.rtte.argocd.orchestrator.engine.retry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry admission against a per-destination-cluster and a global token bucket.
+ *
+ * A retry needs a token from both buckets. When a shared dependency flaps,
+ * the cluster bucket stops one destination from taking the whole global
+ * budget, and the global bucket caps the total retry rate against Argo CD.
+ * Retries beyond the budget are shed rather than queued.
+ */
+public final class RetryBudget {
+
+    private final double clusterCapacity;
+    private final double clusterTokensPerSecond;
+    private final LongSupplier nanoClock;
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> clusters = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of a retry admission
+     */
+    public enum Decision {
+        GRANTED,
+        CLUSTER_EXHAUSTED,
+        GLOBAL_EXHAUSTED
+    }
+
+    public RetryBudget(double globalCapacity, double globalTokensPerSecond,
+                       double clusterCapacity, double clusterTokensPerSecond) {
+        this(globalCapacity, globalTokensPerSecond, clusterCapacity, clusterTokensPerSecond, System::nanoTime);
+    }
+
+    RetryBudget(double globalCapacity, double globalTokensPerSecond,
+                double clusterCapacity, double clusterTokensPerSecond, LongSupplier nanoClock) {
+        this.clusterCapacity = clusterCapacity;
+        this.clusterTokensPerSecond = clusterTokensPerSecond;
+        this.nanoClock = nanoClock;
+        this.global = new TokenBucket(globalCapacity, globalTokensPerSecond, nanoClock);
+    }
+
+    /**
+     * Try to admit one retry against a destination cluster
+     */
+    public Decision tryAcquire(String cluster) {
+        TokenBucket bucket = clusters.computeIfAbsent(cluster,
+                key -> new TokenBucket(clusterCapacity, clusterTokensPerSecond, nanoClock));
+        if (!bucket.tryAcquire()) {
+            return Decision.CLUSTER_EXHAUSTED;
+        }
+        if (!global.tryAcquire()) {
+            // Do not charge the cluster for a retry that was never made
+            bucket.release();
+            return Decision.GLOBAL_EXHAUSTED;
+        }
+        return Decision.GRANTED;
+    }
+
+    /**
+     * Tokens left in the global bucket
+     */
+    public double globalAvailable() {
+        return global.available();
+    }
+
+    /**
+     * Tokens left for a destination cluster
+     */
+    public double clusterAvailable(String cluster) {
+        TokenBucket bucket = clusters.get(cluster);
+        return bucket != null ? bucket.available() : clusterCapacity;
+    }
+}
@@ -0,0 +1,59 @@
+package com.rtte.argocd.orchestrator.engine.retry;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its capacity
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double capacity, double tokensPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerSecond < 0) {
+            throw new IllegalArgumentException("Token bucket requires capacity >= 1 and a non-negative rate");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take one token if available
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Return a token taken by {@link #tryAcquire()} that was not used
+     */
+    public synchronized void release() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * Tokens currently available
+     */
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,203 @@
+package com.rtte.argocd.orchestrator.engine.scheduling;
+
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Weighted critical-path scheduler for a compiled dependency graph.
+ *
+ * Every service takes its historical rollout duration when one is known and
+ * the configured default otherwise. An edge's {@code weight} is the settle
+ * time, in units of {@code edgeWeightUnit}, a dependent waits after its
+ * dependency finished. From these the scheduler derives earliest/latest start
+ * times, slack and the critical path, and then builds a list schedule that
+ * respects a concurrency cap: whenever a slot frees up, the ready service with
+ * the longest remaining path to the end of the rollout starts first (ties go to
+ * the higher {@code DependencyNode.priority}). Configured sync waves are not
+ * barriers here; a service starts as soon as its own dependencies allow.
+ */
+public class CriticalPathScheduler {
+
+    private final long defaultDurationSeconds;
+    private final long edgeWeightUnitSeconds;
+
+    public CriticalPathScheduler(Duration defaultDuration, Duration edgeWeightUnit) {
+        this.defaultDurationSeconds = Math.max(0, defaultDuration.toSeconds());
+        this.edgeWeightUnitSeconds = Math.max(0, edgeWeightUnit.toSeconds());
+    }
+
+    /**
+     * Schedule a rollout of every service in the graph.
+     *
+     * @param historicalDurations known rollout durations in seconds, by service name
+     * @param maxConcurrency      maximum services rolling out at once; zero or less means unbounded
+     * @throws com.rtte.argocd.orchestrator.engine.graph.CircularDependencyException if the graph has a cycle
+     */
+    public RolloutSchedule schedule(CompiledDependencyGraph graph, Map<String, Long> historicalDurations,
+                                    int maxConcurrency) {
+        int[] order = graph.topologicalOrderIds();
+        int nodeCount = graph.size();
+        int slots = maxConcurrency > 0 ? maxConcurrency : Math.max(1, nodeCount);
+
+        long[] duration = new long[nodeCount];
+        for (int id = 0; id < nodeCount; id++) {
+            Long historical = historicalDurations.get(graph.serviceName(id));
+            duration[id] = historical != null && historical >= 0 ? historical : defaultDurationSeconds;
+        }
+
+        // Forward pass: earliest start, remembering which dependency bounds it
+        long[] earliestStart = new long[nodeCount];
+        int[] criticalPredecessor = new int[nodeCount];
+        long makespanLowerBound = 0;
+        int lastOnCriticalPath = -1;
+        for (int id : order) {
+            long bound = 0;
+            int boundBy = -1;
+            for (int i = graph.dependenciesStart(id); i < graph.dependenciesEnd(id); i++) {
+                int edge = graph.dependencyEdge(i);
+                int dependency = graph.edgeTo(edge);
+                long candidate = earliestStart[dependency] + duration[dependency] + lag(graph, edge);
+                if (boundBy == -1 || candidate > bound) {
+                    bound = candidate;
+                    boundBy = dependency;
+                }
+            }
+            earliestStart[id] = bound;
+            criticalPredecessor[id] = boundBy;
+            long finish = earliestStart[id] + duration[id];
+            if (lastOnCriticalPath == -1 || finish > makespanLowerBound) {
+                makespanLowerBound = finish;
+                lastOnCriticalPath = id;
+            }
+        }
+
+        // Backward pass: latest start without delaying the rollout, and the
+        // longest remaining path used as list-scheduling priority
+        long[] latestStart = new long[nodeCount];
+        long[] remainingPath = new long[nodeCount];
+        for (int k = order.length - 1; k >= 0; k--) {
+            int id = order[k];
+            long latestFinish = makespanLowerBound;
+            long tail = 0;
+            for (int i = graph.dependentsStart(id); i < graph.dependentsEnd(id); i++) {
+                int edge = graph.dependentEdge(i);
+                int dependent = graph.edgeFrom(edge);
+                latestFinish = Math.min(latestFinish, latestStart[dependent] - lag(graph, edge));
+                tail = Math.max(tail, lag(graph, edge) + remainingPath[dependent]);
+            }
+            latestStart[id] = latestFinish - duration[id];
+            remainingPath[id] = duration[id] + tail;
+        }
+
+        List<String> criticalPath = new ArrayList<>();
+        boolean[] critical = new boolean[nodeCount];
+        for (int id = lastOnCriticalPath; id != -1; id = criticalPredecessor[id]) {
+            criticalPath.add(0, graph.serviceName(id));
+            critical[id] = true;
+        }
+
+        long[] start = listSchedule(graph, order, duration, remainingPath, slots);
+
+        long makespan = 0;
+        List<ScheduledService> services = new ArrayList<>(nodeCount);
+        for (int id = 0; id < nodeCount; id++) {
+            makespan = Math.max(makespan, start[id] + duration[id]);
+            services.add(ScheduledService.builder()
+                    .serviceName(graph.serviceName(id))
+                    .syncWave(graph.syncWave(id))
+                    .durationSeconds(duration[id])
+                    .startSeconds(start[id])
+                    .finishSeconds(start[id] + duration[id])
+                    .earliestStartSeconds(earliestStart[id])
+                    .slackSeconds(latestStart[id] - earliestStart[id])
+                    .critical(critical[id])
+                    .build());
+        }
+        services.sort(Comparator.comparingLong(ScheduledService::getStartSeconds)
+                .thenComparing(ScheduledService::getServiceName));
+
+        return RolloutSchedule.builder()
+                .maxConcurrency(maxConcurrency > 0 ? maxConcurrency : null)
+                .makespanSeconds(makespan)
+                .criticalPathSeconds(makespanLowerBound)
+                .criticalPath(criticalPath)
+                .services(services)
+                .build();
+    }
+
+    /**
+     * Event-driven list scheduling under a concurrency cap
+     */
+    private long[] listSchedule(CompiledDependencyGraph graph, int[] order, long[] duration,
+                                long[] remainingPath, int slots) {
+        int nodeCount = graph.size();
+        long[] start = new long[nodeCount];
+        long[] finish = new long[nodeCount];
+        long[] readyAt = new long[nodeCount];
+        int[] pendingDependencies = new int[nodeCount];
+
+        PriorityQueue<Integer> waiting = new PriorityQueue<>(Comparator.comparingLong(id -> readyAt[id]));
+        PriorityQueue<Integer> ready = new PriorityQueue<>(Comparator
+                .comparingLong((Integer id) -> -remainingPath[id])
+                .thenComparingInt(id -> -graph.priority(id))
+                .thenComparingInt(id -> id));
+        PriorityQueue<Integer> running = new PriorityQueue<>(Comparator.comparingLong(id -> finish[id]));
+
+        for (int id : order) {
+            pendingDependencies[id] = graph.dependenciesEnd(id) - graph.dependenciesStart(id);
+            if (pendingDependencies[id] == 0) {
+                waiting.add(id);
+            }
+        }
+
+        long now = 0;
+        int started = 0;
+        while (started < nodeCount) {
+            while (!waiting.isEmpty() && readyAt[waiting.peek()] <= now) {
+                ready.add(waiting.poll());
+            }
+            while (running.size() < slots && !ready.isEmpty()) {
+                int id = ready.poll();
+                start[id] = now;
+                finish[id] = now + duration[id];
+                running.add(id);
+                started++;
+            }
+            if (started == nodeCount) {
+                break;
+            }
+
+            long nextEvent = Long.MAX_VALUE;
+            if (!running.isEmpty()) {
+                nextEvent = finish[running.peek()];
+            }
+            if (running.size() < slots && !waiting.isEmpty()) {
+                nextEvent = Math.min(nextEvent, readyAt[waiting.peek()]);
+            }
+            now = nextEvent;
+
+            while (!running.isEmpty() && finish[running.peek()] <= now) {
+                int done = running.poll();
+                for (int i = graph.dependentsStart(done); i < graph.dependentsEnd(done); i++) {
+                    int edge = graph.dependentEdge(i);
+                    int dependent = graph.edgeFrom(edge);
+                    readyAt[dependent] = Math.max(readyAt[dependent], finish[done] + lag(graph, edge));
+                    if (--pendingDependencies[dependent] == 0) {
+                        waiting.add(dependent);
+                    }
+                }
+            }
+        }
+        return start;
+    }
+
+    private long lag(CompiledDependencyGraph graph, int edge) {
+        return (long) graph.edgeWeight(edge) * edgeWeightUnitSeconds;
+    }
+}
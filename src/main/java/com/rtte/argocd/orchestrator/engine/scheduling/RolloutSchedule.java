@@ -0,0 +1,35 @@
+package com.rtte.argocd.orchestrator.engine.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Rollout schedule produced by the critical-path scheduler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloutSchedule {
+
+    private String customerId;
+
+    /** Concurrency cap the schedule honours, or null when unbounded */
+    private Integer maxConcurrency;
+
+    /** Total rollout time of this schedule */
+    private long makespanSeconds;
+
+    /** Length of the critical path, the lower bound for any schedule */
+    private long criticalPathSeconds;
+
+    /** Services on the critical path, dependencies first */
+    private List<String> criticalPath;
+
+    /** Every service ordered by start time */
+    private List<ScheduledService> services;
+}
@@ -0,0 +1,31 @@
+package com.rtte.argocd.orchestrator.engine.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Placement of a single service in a rollout schedule. All times are seconds
+ * relative to the start of the rollout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledService {
+
+    private String serviceName;
+    private int syncWave;
+    private long durationSeconds;
+    private long startSeconds;
+    private long finishSeconds;
+
+    /** Earliest possible start with unlimited concurrency */
+    private long earliestStartSeconds;
+
+    /** How long the service can slip without extending the critical path */
+    private long slackSeconds;
+
+    private boolean critical;
+}
@@ -0,0 +1,92 @@
+package com.rtte.argocd.orchestrator.engine.shard;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring assigning keys to members.
+ *
+ * Each member is placed at {@code virtualNodes} points on a 64-bit murmur3
+ * ring and a key belongs to the first point at or after its own hash. When a
+ * member joins or leaves only the keys between its points and their
+ * predecessors move, about 1/N of all keys, and the rest keep their owner.
+ */
+public final class ConsistentHashRing {
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final SortedSet<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    private ConsistentHashRing(SortedSet<String> members, long[] points, String[] owners) {
+        this.members = members;
+        this.points = points;
+        this.owners = owners;
+    }
+
+    /**
+     * Build a ring of the given members
+     */
+    public static ConsistentHashRing of(Collection<String> members, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Consistent-hash ring requires at least one virtual node per member");
+        }
+        SortedSet<String> sorted = Collections.unmodifiableSortedSet(new TreeSet<>(members));
+        int size = sorted.size() * virtualNodes;
+        long[][] entries = new long[size][];
+        String[] names = sorted.toArray(new String[0]);
+        int next = 0;
+        for (int m = 0; m < names.length; m++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[next++] = new long[]{hash(names[m] + "#" + v), m};
+            }
+        }
+        // Ties are broken by member name so every replica builds the same ring
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] points = new long[size];
+        String[] owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = names[(int) entries[i][1]];
+        }
+        return new ConsistentHashRing(sorted, points, owners);
+    }
+
+    /**
+     * Member owning a key, or empty if the ring has no members
+     */
+    public Optional<String> ownerOf(String key) {
+        if (points.length == 0) {
+            return Optional.empty();
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Optional.of(owners[index == points.length ? 0 : index]);
+    }
+
+    /**
+     * Members of the ring, sorted
+     */
+    public SortedSet<String> members() {
+        return members;
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    private static long hash(String value) {
+        return HASH.hashString(value, StandardCharsets.UTF_8).asLong();
+    }
+}
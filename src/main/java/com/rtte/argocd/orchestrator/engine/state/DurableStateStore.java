@@ -0,0 +1,258 @@
+package com.rtte.argocd.orchestrator.engine.state;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Embedded key-value store made of a {@link SegmentedLog} of puts and
+ * deletes plus compacted snapshots.
+ *
+ * {@link #snapshot()} writes the live entries to
+ * {@code snapshot-<seq>.snap}, covering every record before {@code seq}, via
+ * a temporary file and an atomic rename. The two newest snapshots are kept,
+ * together with the segments needed to replay from the older one, so a
+ * corrupt newest snapshot still recovers. Opening the store loads the newest
+ * valid snapshot and replays the log from its sequence on.
+ */
+@Slf4j
+public final class DurableStateStore implements AutoCloseable {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int SNAPSHOT_MAGIC = 0x4f535331;
+    private static final int SNAPSHOT_END = 0x4f53533f;
+    private static final int RETAINED_SNAPSHOTS = 2;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.snap");
+
+    private final Path directory;
+    private final SegmentedLog segments;
+    private final Map<String, byte[]> entries;
+    private final boolean fresh;
+    private long snapshotSequence;
+
+    private DurableStateStore(Path directory, SegmentedLog segments, Map<String, byte[]> entries, boolean fresh,
+                              long snapshotSequence) {
+        this.directory = directory;
+        this.segments = segments;
+        this.entries = entries;
+        this.fresh = fresh;
+        this.snapshotSequence = snapshotSequence;
+    }
+
+    /**
+     * Open or create a store in a directory and recover its entries
+     */
+    public static DurableStateStore open(Path directory, int segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, byte[]> entries = new HashMap<>();
+        long snapshotSequence = -1;
+        List<Long> snapshots = snapshotSequences(directory);
+        for (int i = snapshots.size() - 1; i >= 0 && snapshotSequence < 0; i--) {
+            Map<String, byte[]> loaded = readSnapshot(snapshotPath(directory, snapshots.get(i)), snapshots.get(i));
+            if (loaded != null) {
+                entries = loaded;
+                snapshotSequence = snapshots.get(i);
+            }
+        }
+        long from = Math.max(0, snapshotSequence);
+        SegmentedLog segments = SegmentedLog.open(directory, segmentBytes, from);
+        boolean fresh = snapshotSequence < 0 && segments.nextSequence() == 0;
+        Map<String, byte[]> state = entries;
+        segments.replay(from, (sequence, payload) -> apply(state, payload));
+        return new DurableStateStore(directory, segments, state, fresh, from);
+    }
+
+    /**
+     * Store a value under a key
+     */
+    public synchronized void put(String key, byte[] value) {
+        segments.append(encode(PUT, key, value));
+        entries.put(key, value.clone());
+    }
+
+    /**
+     * Remove a key; a no-op if it is absent
+     */
+    public synchronized void delete(String key) {
+        if (entries.remove(key) != null) {
+            segments.append(encode(DELETE, key, new byte[0]));
+        }
+    }
+
+    /**
+     * Copy of all live entries
+     */
+    public synchronized Map<String, byte[]> entries() {
+        Map<String, byte[]> copy = new HashMap<>();
+        entries.forEach((key, value) -> copy.put(key, value.clone()));
+        return copy;
+    }
+
+    /**
+     * Whether the store was created empty, i.e. nothing was ever written to its directory
+     */
+    public boolean isFresh() {
+        return fresh;
+    }
+
+    /**
+     * Records appended since the last snapshot
+     */
+    public synchronized long pendingRecords() {
+        return segments.nextSequence() - snapshotSequence;
+    }
+
+    /**
+     * Number of log segment files
+     */
+    public synchronized int segmentCount() {
+        return segments.segmentCount();
+    }
+
+    /**
+     * Write a compacted snapshot of the live entries and drop log segments no longer needed
+     */
+    public synchronized void snapshot() throws IOException {
+        long sequence = segments.nextSequence();
+        if (sequence == snapshotSequence && Files.exists(snapshotPath(directory, sequence))) {
+            return;
+        }
+        segments.force();
+        Path target = snapshotPath(directory, sequence);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(16).putInt(SNAPSHOT_MAGIC).putLong(sequence).putInt(entries.size());
+            write(channel, header.flip());
+            CRC32C crc = new CRC32C();
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                byte[] payload = encode(PUT, entry.getKey(), entry.getValue());
+                crc.reset();
+                crc.update(payload);
+                ByteBuffer record = ByteBuffer.allocate(SegmentedLog.HEADER_BYTES + payload.length)
+                        .putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+                write(channel, record.flip());
+            }
+            write(channel, ByteBuffer.allocate(4).putInt(SNAPSHOT_END).flip());
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        snapshotSequence = sequence;
+
+        List<Long> snapshots = snapshotSequences(directory);
+        for (int i = 0; i < snapshots.size() - RETAINED_SNAPSHOTS; i++) {
+            Files.deleteIfExists(snapshotPath(directory, snapshots.get(i)));
+        }
+        long oldestRetained = snapshots.get(Math.max(0, snapshots.size() - RETAINED_SNAPSHOTS));
+        segments.deleteBefore(oldestRetained);
+    }
+
+    /**
+     * Flush the log to disk
+     */
+    public synchronized void force() {
+        segments.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        segments.close();
+    }
+
+    private static void apply(Map<String, byte[]> state, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte op = buffer.get();
+        byte[] key = new byte[buffer.getInt()];
+        buffer.get(key);
+        byte[] value = new byte[buffer.remaining()];
+        buffer.get(value);
+        String name = new String(key, StandardCharsets.UTF_8);
+        if (op == PUT) {
+            state.put(name, value);
+        } else if (op == DELETE) {
+            state.remove(name);
+        }
+    }
+
+    private static byte[] encode(byte op, String key, byte[] value) {
+        byte[] name = key.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(1 + 4 + name.length + value.length)
+                .put(op).putInt(name.length).put(name).put(value)
+                .array();
+    }
+
+    /**
+     * Entries of a snapshot, or null if it is incomplete or corrupt
+     */
+    private static Map<String, byte[]> readSnapshot(Path path, long expectedSequence) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.remaining() < 20 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getLong() != expectedSequence) {
+                throw new IOException("bad header");
+            }
+            int count = buffer.getInt();
+            Map<String, byte[]> state = new HashMap<>();
+            CRC32C crc = new CRC32C();
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                int expected = buffer.getInt();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != expected) {
+                    throw new IOException("CRC mismatch in record " + i);
+                }
+                apply(state, payload);
+            }
+            if (buffer.getInt() != SNAPSHOT_END) {
+                throw new IOException("missing end marker");
+            }
+            return state;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring state snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Long> snapshotSequences(Path directory) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher name = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    sequences.add(Long.parseLong(name.group(1)));
+                }
+            });
+        }
+        sequences.sort(Comparator.naturalOrder());
+        return sequences;
+    }
+
+    private static Path snapshotPath(Path directory, long sequence) {
+        return directory.resolve(String.format("snapshot-%020d.snap", sequence));
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
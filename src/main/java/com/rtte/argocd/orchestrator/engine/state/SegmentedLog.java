@@ -0,0 +1,230 @@
+package com.rtte.argocd.orchestrator.engine.state;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records in memory-mapped, fixed-size segment files.
+ *
+ * A segment is named after the sequence number of its first record,
+ * {@code segment-<seq>.log}, and holds records framed as
+ * {@code [int length][int crc32c][payload]}; unused space is zero, so a
+ * length of 0 marks the end. Appends are plain writes into the mapping and
+ * survive a process crash through the page cache; {@link #force()} flushes
+ * them to disk.
+ *
+ * On open, records are validated up to the first bad length or CRC in the
+ * last segment, which is where a torn write stopped, and the rest of that
+ * segment is zeroed so new appends continue from the last good record.
+ */
+@Slf4j
+public final class SegmentedLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = 8;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private long nextSequence;
+
+    private static final class Segment {
+        final long baseSequence;
+        final Path path;
+        final MappedByteBuffer buffer;
+        int records;
+
+        Segment(long baseSequence, Path path, MappedByteBuffer buffer) {
+            this.baseSequence = baseSequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    private SegmentedLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Open the log in a directory, recovering existing segments
+     *
+     * @param firstSequence sequence of the first record if the directory holds no segments
+     */
+    public static SegmentedLog open(Path directory, int segmentBytes, long firstSequence) throws IOException {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Log segments must be at least 1 KiB");
+        }
+        Files.createDirectories(directory);
+        SegmentedLog log = new SegmentedLog(directory, segmentBytes);
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher name = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    bases.add(Long.parseLong(name.group(1)));
+                }
+            });
+        }
+        bases.sort(null);
+        for (long base : bases) {
+            Segment segment = log.map(base);
+            log.scan(segment);
+            log.segments.add(segment);
+            log.nextSequence = segment.baseSequence + segment.records;
+        }
+        if (log.segments.isEmpty()) {
+            log.nextSequence = firstSequence;
+            log.segments.add(log.map(firstSequence));
+        }
+        return log;
+    }
+
+    /**
+     * Append a record
+     *
+     * @return its sequence number
+     */
+    public synchronized long append(byte[] payload) {
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes - 4) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit a log segment");
+        }
+        Segment active = segments.get(segments.size() - 1);
+        // Keep 4 zero bytes after the last record as the end marker
+        if (active.buffer.remaining() < size + 4) {
+            active.buffer.force();
+            try {
+                active = map(nextSequence);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segments.add(active);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        active.buffer.putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload);
+        active.records++;
+        return nextSequence++;
+    }
+
+    /**
+     * Replay every record from {@code fromSequence} on, in order
+     */
+    public synchronized void replay(long fromSequence, BiConsumer<Long, byte[]> consumer) {
+        for (Segment segment : segments) {
+            if (segment.baseSequence + segment.records <= fromSequence) {
+                continue;
+            }
+            ByteBuffer view = segment.buffer.duplicate();
+            view.position(0);
+            for (int i = 0; i < segment.records; i++) {
+                int length = view.getInt();
+                view.getInt();
+                byte[] payload = new byte[length];
+                view.get(payload);
+                long sequence = segment.baseSequence + i;
+                if (sequence >= fromSequence) {
+                    consumer.accept(sequence, payload);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete segments holding only records before {@code sequence}
+     */
+    public synchronized void deleteBefore(long sequence) throws IOException {
+        while (segments.size() > 1 && segments.get(1).baseSequence <= sequence) {
+            Segment dropped = segments.remove(0);
+            Files.deleteIfExists(dropped.path);
+        }
+    }
+
+    /**
+     * Flush appended records to disk
+     */
+    public synchronized void force() {
+        segments.get(segments.size() - 1).buffer.force();
+    }
+
+    /**
+     * Sequence number the next record will get
+     */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Number of segment files
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+    }
+
+    private Segment map(long baseSequence) throws IOException {
+        Path path = directory.resolve(String.format("segment-%020d.log", baseSequence));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping outlives the channel
+            return new Segment(baseSequence, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        }
+    }
+
+    /**
+     * Count the valid records of a segment and zero anything after them
+     */
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(buffer.position(), length));
+            if ((int) crc.getValue() != expected) {
+                log.warn("Discarding log records from offset {} of {}: CRC mismatch", start, segment.path);
+                buffer.position(start);
+                break;
+            }
+            buffer.position(buffer.position() + length);
+            segment.records++;
+        }
+        // Clear a torn tail so it cannot be read back as records later
+        int end = buffer.position();
+        for (int i = end; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(end);
+    }
+}
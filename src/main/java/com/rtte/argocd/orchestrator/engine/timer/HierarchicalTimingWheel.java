@@ -0,0 +1,245 @@
+package com.rtte.argocd.orchestrator.engine.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Hierarchical timing wheel for long-lived timers such as wave timeouts,
+ * health-check deadlines and retry firings.
+ *
+ * Level 0 has one bucket per tick; each higher level has buckets that span a
+ * whole rotation of the level below. A timer goes into the lowest level whose
+ * range covers its delay, so insert and cancel are O(1) regardless of how
+ * many timers are pending. Timers in higher levels are moved down (cascaded)
+ * when their bucket comes due. With 64 buckets per level and 4 levels, a
+ * 100ms tick covers about 19 days; longer delays park in the top level and
+ * are re-placed each time their bucket comes round.
+ *
+ * Time only moves in {@link #advanceTo(Instant)}, which a daemon driver
+ * thread calls every tick after {@link #start()}. Expired tasks run on the
+ * supplied executor, never under the wheel's lock.
+ */
+@Slf4j
+public final class HierarchicalTimingWheel implements AutoCloseable {
+
+    private final long tickMillis;
+    private final int bucketBits;
+    private final int levels;
+    private final long bucketMask;
+    private final Bucket[][] wheels;
+    private final Clock clock;
+    private final Executor executor;
+    private final long startMillis;
+
+    private long currentTick;
+    private int pending;
+    private volatile Thread driver;
+
+    /**
+     * Bucket of timers; a doubly linked list through the timer nodes
+     */
+    static final class Bucket {
+        TimerHandle head;
+    }
+
+    public HierarchicalTimingWheel(Duration tick, int bucketBits, int levels, Clock clock, Executor executor) {
+        if (tick.toMillis() <= 0 || bucketBits <= 0 || levels <= 0 || bucketBits * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tick.toMillis();
+        this.bucketBits = bucketBits;
+        this.levels = levels;
+        this.bucketMask = (1L << bucketBits) - 1;
+        this.clock = clock;
+        this.executor = executor;
+        this.startMillis = clock.millis();
+        this.wheels = new Bucket[levels][1 << bucketBits];
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < wheel.length; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Schedule a task at an absolute deadline. Deadlines in the past fire on the next tick.
+     */
+    public TimerHandle schedule(Instant deadline, Runnable task) {
+        long deadlineTick = Math.floorDiv(deadline.toEpochMilli() - startMillis + tickMillis - 1, tickMillis);
+        TimerHandle timer = new TimerHandle(this, deadline, deadlineTick, task);
+        synchronized (this) {
+            place(timer);
+            pending++;
+        }
+        return timer;
+    }
+
+    /**
+     * Schedule a task after a delay
+     */
+    public TimerHandle schedule(Duration delay, Runnable task) {
+        return schedule(clock.instant().plus(delay), task);
+    }
+
+    /**
+     * Number of pending timers
+     */
+    public synchronized int size() {
+        return pending;
+    }
+
+    synchronized boolean cancel(TimerHandle timer) {
+        if (timer.state != TimerHandle.State.PENDING) {
+            return false;
+        }
+        unlink(timer);
+        timer.state = TimerHandle.State.CANCELLED;
+        pending--;
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the given time and run every timer that expired on the way
+     */
+    public void advanceTo(Instant now) {
+        long targetTick = Math.floorDiv(now.toEpochMilli() - startMillis, tickMillis);
+        List<TimerHandle> due = new ArrayList<>();
+        synchronized (this) {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = levels - 1; level > 0; level--) {
+                    if ((currentTick & ((1L << (bucketBits * level)) - 1)) == 0) {
+                        cascade(wheels[level][(int) ((currentTick >>> (bucketBits * level)) & bucketMask)], due);
+                    }
+                }
+                drain(wheels[0][(int) (currentTick & bucketMask)], due);
+            }
+        }
+        for (TimerHandle timer : due) {
+            try {
+                executor.execute(timer.task);
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch timer due at {}", timer.getDeadline(), e);
+            }
+        }
+    }
+
+    /**
+     * Start the driver thread that advances the wheel every tick
+     */
+    public synchronized void start() {
+        if (driver != null) {
+            return;
+        }
+        driver = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    advanceTo(clock.instant());
+                    Thread.sleep(tickMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    log.error("Timing wheel tick failed", e);
+                }
+            }
+        }, "timing-wheel");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    @Override
+    public void close() {
+        Thread thread = driver;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void place(TimerHandle timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            // Already due: fire on the next tick
+            link(wheels[0][(int) ((currentTick + 1) & bucketMask)], timer);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (bucketBits * (level + 1))) {
+                link(wheels[level][(int) ((timer.deadlineTick >>> (bucketBits * level)) & bucketMask)], timer);
+                return;
+            }
+        }
+        // Beyond the top level's range: park and re-place when the bucket comes round
+        int top = levels - 1;
+        link(wheels[top][(int) ((timer.deadlineTick >>> (bucketBits * top)) & bucketMask)], timer);
+    }
+
+    private void cascade(Bucket bucket, List<TimerHandle> due) {
+        TimerHandle timer = detachAll(bucket);
+        while (timer != null) {
+            TimerHandle next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            timer.bucket = null;
+            if (timer.deadlineTick <= currentTick) {
+                expire(timer, due);
+            } else {
+                place(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void drain(Bucket bucket, List<TimerHandle> due) {
+        TimerHandle timer = detachAll(bucket);
+        while (timer != null) {
+            TimerHandle next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            timer.bucket = null;
+            expire(timer, due);
+            timer = next;
+        }
+    }
+
+    private void expire(TimerHandle timer, List<TimerHandle> due) {
+        timer.state = TimerHandle.State.EXPIRED;
+        pending--;
+        due.add(timer);
+    }
+
+    private static TimerHandle detachAll(Bucket bucket) {
+        TimerHandle head = bucket.head;
+        bucket.head = null;
+        return head;
+    }
+
+    private static void link(Bucket bucket, TimerHandle timer) {
+        timer.bucket = bucket;
+        timer.previous = null;
+        timer.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.previous = timer;
+        }
+        bucket.head = timer;
+    }
+
+    private static void unlink(TimerHandle timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else if (timer.bucket != null) {
+            timer.bucket.head = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.bucket = null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.rtte.argocd.orchestrator.engine.timer;
+
+import java.time.Instant;
+
+/**
+ * A timer scheduled on a {@link HierarchicalTimingWheel}.
+ * Nodes link into their wheel bucket directly, so cancel is an O(1) unlink.
+ */
+public final class TimerHandle {
+
+    final long deadlineTick;
+    final Runnable task;
+    private final HierarchicalTimingWheel wheel;
+    private final Instant deadline;
+
+    // Guarded by the wheel's lock
+    TimerHandle previous;
+    TimerHandle next;
+    HierarchicalTimingWheel.Bucket bucket;
+    State state = State.PENDING;
+
+    enum State {
+        PENDING,
+        EXPIRED,
+        CANCELLED
+    }
+
+    TimerHandle(HierarchicalTimingWheel wheel, Instant deadline, long deadlineTick, Runnable task) {
+        this.wheel = wheel;
+        this.deadline = deadline;
+        this.deadlineTick = deadlineTick;
+        this.task = task;
+    }
+
+    /**
+     * Cancel the timer
+     *
+     * @return true if the timer was pending and will not fire
+     */
+    public boolean cancel() {
+        return wheel.cancel(this);
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public boolean isCancelled() {
+        synchronized (wheel) {
+            return state == State.CANCELLED;
+        }
+    }
+
+    public boolean isExpired() {
+        synchronized (wheel) {
+            return state == State.EXPIRED;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.rtte.argocd.orchestrator.integration.argocd;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.execution.ServiceDeployer;
+import com.rtte.argocd.orchestrator.engine.progress.ServiceState;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ServiceDeployer} backed by Argo CD.
+ *
+ * A service is deployed by syncing its Application, named
+ * {@code <customer>-<service>} by the ApplicationSet template, through
+ * {@link ArgoCDApiClient}. It settles on the first Application state whose
+ * sync operation started after the request: a Succeeded operation with
+ * Healthy health means healthy, a Failed or Errored operation or Degraded
+ * health means failed. States arrive as informer events; the Application is
+ * also re-read every {@code orchestrator.scheduling.health-recheck-interval}
+ * in case an event was missed. A service that has not settled within
+ * {@code orchestrator.scheduling.service-timeout} fails with a timeout.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ArgoApplicationDeployer implements ResourceEventHandler<GenericKubernetesResource> {
+
+    private final ArgoCDApiClient argoCDApiClient;
+    private final ArgoResourceCache argoResourceCache;
+    private final BlockingSchedulers blockingSchedulers;
+    private final OrchestratorProperties orchestratorProperties;
+
+    // Application name -> the deployment waiting for it to settle
+    private final Map<String, Waiter> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * One outstanding sync of an Application
+     */
+    private static final class Waiter {
+        final Instant requestedAt;
+        final Sinks.One<Boolean> result = Sinks.one();
+
+        Waiter(Instant requestedAt) {
+            // Argo CD timestamps have second precision
+            this.requestedAt = requestedAt.truncatedTo(ChronoUnit.SECONDS);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        argoResourceCache.addApplicationHandler(this);
+    }
+
+    /**
+     * Deployer for the services of one customer
+     */
+    public ServiceDeployer forCustomer(String customerId) {
+        return serviceName -> deploy(customerId, serviceName);
+    }
+
+    /**
+     * Sync a service's Application and wait until it is healthy or has failed
+     *
+     * @return true if the Application became Healthy
+     */
+    public Mono<Boolean> deploy(String customerId, String serviceName) {
+        String name = customerId + "-" + serviceName;
+        OrchestratorProperties.SchedulingConfig config = orchestratorProperties.getScheduling();
+        return Mono.defer(() -> {
+            Waiter waiter = new Waiter(Instant.now());
+            Waiter previous = waiters.put(name, waiter);
+            if (previous != null) {
+                previous.result.tryEmitError(new IllegalStateException("Superseded by a newer sync of " + name));
+            }
+            Mono<Boolean> recheck = Flux.interval(config.getHealthRecheckInterval())
+                    .concatMap(tick -> Mono.fromCallable(() -> argoResourceCache.getApplication(name))
+                            .subscribeOn(blockingSchedulers.argocd())
+                            .onErrorResume(error -> {
+                                log.debug("Re-reading Application {} failed: {}", name, error.getMessage());
+                                return Mono.just(Optional.<GenericKubernetesResource>empty());
+                            }))
+                    .concatMap(application -> Mono.justOrEmpty(
+                            application.flatMap(app -> settle(app, waiter.requestedAt))))
+                    .next();
+            return argoCDApiClient.syncApplication(customerId, name)
+                    .doOnNext(response -> log.debug("Requested sync of Application {}", name))
+                    .then(Mono.firstWithSignal(waiter.result.asMono(), recheck))
+                    .timeout(config.getServiceTimeout())
+                    .doFinally(signal -> waiters.remove(name, waiter));
+        });
+    }
+
+    @Override
+    public void onAdd(GenericKubernetesResource application) {
+        onChange(application);
+    }
+
+    @Override
+    public void onUpdate(GenericKubernetesResource previous, GenericKubernetesResource application) {
+        onChange(application);
+    }
+
+    @Override
+    public void onDelete(GenericKubernetesResource application, boolean deletedFinalStateUnknown) {
+    }
+
+    private void onChange(GenericKubernetesResource application) {
+        Waiter waiter = waiters.get(application.getMetadata().getName());
+        if (waiter != null) {
+            settle(application, waiter.requestedAt).ifPresent(waiter.result::tryEmitValue);
+        }
+    }
+
+    /**
+     * Outcome of a waiting sync, or empty while the Application still shows an
+     * older operation or the new one is in progress
+     */
+    static Optional<Boolean> settle(GenericKubernetesResource application, Instant requestedAt) {
+        Map<?, ?> operation = application.getAdditionalProperties().get("status") instanceof Map<?, ?> status
+                && status.get("operationState") instanceof Map<?, ?> state ? state : Map.of();
+        Instant startedAt = operation.get("startedAt") instanceof String value ? parse(value) : null;
+        if (startedAt == null || startedAt.isBefore(requestedAt)) {
+            return Optional.empty();
+        }
+        Object phase = operation.get("phase");
+        if ("Failed".equals(phase) || "Error".equals(phase)) {
+            return Optional.of(false);
+        }
+        ServiceState state = ArgoResourceCache.statusOf(application).getState();
+        if (state == ServiceState.FAILED) {
+            return Optional.of(false);
+        }
+        if ("Succeeded".equals(phase) && state == ServiceState.HEALTHY) {
+            return Optional.of(true);
+        }
+        return Optional.empty();
+    }
+
+    private static Instant parse(String timestamp) {
+        try {
+            return Instant.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
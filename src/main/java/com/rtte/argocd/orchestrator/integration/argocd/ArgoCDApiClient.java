@@ -0,0 +1,249 @@
+package com.rtte.argocd.orchestrator.integration.argocd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import com.rtte.argocd.orchestrator.integration.kubernetes.OutboundMutationLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Access layer for the Argo CD REST API.
+ *
+ * <ul>
+ *   <li>One pooled keep-alive connection pool; HTTP/2 is negotiated over TLS
+ *       (ALPN) and HTTP/1.1 is used otherwise.</li>
+ *   <li>The session token is reused until {@code argocd.client.token-refresh-before}
+ *       ahead of its JWT expiry. Concurrent refreshes collapse into one login,
+ *       and a 401 drops the token and retries once.</li>
+ *   <li>Reads go through {@link SingleFlight}, so N concurrent identical
+ *       reads cost one in-flight call.</li>
+ *   <li>Mutations pass the {@link OutboundMutationLimiter}.</li>
+ *   <li>Every call is timed in {@code orchestrator.argocd.requests}, tagged
+ *       with the endpoint template, with a percentile histogram.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class ArgoCDApiClient {
+
+    private static final String SESSION_ENDPOINT = "/api/v1/session";
+    private static final String APPLICATIONS_ENDPOINT = "/api/v1/applications";
+    private static final String APPLICATION_ENDPOINT = "/api/v1/applications/{name}";
+    private static final String SYNC_ENDPOINT = "/api/v1/applications/{name}/sync";
+
+    private final ArgoCDProperties argoCDProperties;
+    private final OutboundMutationLimiter outboundMutationLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionProvider connections;
+    private final WebClient webClient;
+    private final SingleFlight<String, JsonNode> reads = new SingleFlight<>();
+    private final SingleFlight<String, Session> logins = new SingleFlight<>();
+    private volatile Session session;
+
+    /**
+     * Session token and the instant it expires
+     */
+    private static final class Session {
+        final String token;
+        final Instant expiresAt;
+
+        Session(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public ArgoCDApiClient(ArgoCDProperties argoCDProperties, OutboundMutationLimiter outboundMutationLimiter,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           WebClient.Builder webClientBuilder) {
+        this.argoCDProperties = argoCDProperties;
+        this.outboundMutationLimiter = outboundMutationLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        ArgoCDProperties.ClientConfig config = argoCDProperties.getClient();
+        this.connections = ConnectionProvider.builder("argocd-api")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(config.getMaxIdleTime())
+                .evictInBackground(config.getMaxIdleTime())
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .keepAlive(true)
+                .responseTimeout(argoCDProperties.getTimeout());
+        if (argoCDProperties.getServerUrl().startsWith("https")) {
+            httpClient = config.isHttp2()
+                    ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    : httpClient.protocol(HttpProtocol.HTTP11);
+            if (argoCDProperties.isInsecure()) {
+                httpClient = httpClient.secure(ssl -> ssl.sslContext(config.isHttp2()
+                        ? Http2SslContextSpec.forClient().configure(this::trustAll)
+                        : Http11SslContextSpec.forClient().configure(this::trustAll)));
+            } else {
+                httpClient = httpClient.secure();
+            }
+        }
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(argoCDProperties.getServerUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        meterRegistry.gauge("orchestrator.argocd.singleflight.in_flight", reads, SingleFlight::inFlight);
+        FunctionCounter.builder("orchestrator.argocd.singleflight.joined", reads, SingleFlight::joined)
+                .register(meterRegistry);
+    }
+
+    private SslContextBuilder trustAll(SslContextBuilder builder) {
+        return builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+    }
+
+    @PreDestroy
+    void close() {
+        connections.dispose();
+    }
+
+    /**
+     * Get one Application by name
+     */
+    public Mono<JsonNode> getApplication(String name) {
+        return reads.execute(APPLICATION_ENDPOINT + "#" + name,
+                () -> call(HttpMethod.GET, APPLICATION_ENDPOINT, Map.of(), null, name));
+    }
+
+    /**
+     * List Applications matching a label selector, e.g. {@code customer=acme}
+     */
+    public Mono<JsonNode> listApplications(String labelSelector) {
+        return reads.execute(APPLICATIONS_ENDPOINT + "?" + labelSelector,
+                () -> call(HttpMethod.GET, APPLICATIONS_ENDPOINT, Map.of("selector", labelSelector), null));
+    }
+
+    /**
+     * Trigger a sync of an Application on behalf of a customer
+     */
+    public Mono<JsonNode> syncApplication(String customerId, String name) {
+        return outboundMutationLimiter.execute(argoCDProperties.getServerUrl(), customerId,
+                () -> call(HttpMethod.POST, SYNC_ENDPOINT, Map.of(), Map.of("prune", true), name));
+    }
+
+    private Mono<JsonNode> call(HttpMethod method, String endpoint, Map<String, String> query,
+                                Object body, Object... uriVariables) {
+        return token()
+                .flatMap(token -> exchange(method, endpoint, query, body, token, uriVariables))
+                .onErrorResume(WebClientResponseException.Unauthorized.class, unauthorized -> {
+                    log.debug("Argo CD rejected the session token, logging in again");
+                    session = null;
+                    return token().flatMap(token -> exchange(method, endpoint, query, body, token, uriVariables));
+                });
+    }
+
+    private Mono<JsonNode> exchange(HttpMethod method, String endpoint, Map<String, String> query,
+                                    Object body, String token, Object... uriVariables) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(builder -> {
+                    builder.path(endpoint);
+                    query.forEach(builder::queryParam);
+                    return builder.build(uriVariables);
+                })
+                .headers(headers -> headers.setBearerAuth(token));
+        WebClient.RequestHeadersSpec<?> withBody = body != null ? request.bodyValue(body) : request;
+        return timed(method, endpoint, withBody.retrieve().bodyToMono(JsonNode.class));
+    }
+
+    private <T> Mono<T> timed(HttpMethod method, String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.doOnEach(signal -> {
+                if (signal.isOnComplete() || signal.isOnError()) {
+                    sample.stop(Timer.builder("orchestrator.argocd.requests")
+                            .tag("endpoint", endpoint)
+                            .tag("method", method.name())
+                            .tag("outcome", outcomeOf(signal.getThrowable()))
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+                }
+            });
+        });
+    }
+
+    private Mono<String> token() {
+        Session current = session;
+        Duration refreshBefore = argoCDProperties.getClient().getTokenRefreshBefore();
+        if (current != null && Instant.now().plus(refreshBefore).isBefore(current.expiresAt)) {
+            return Mono.just(current.token);
+        }
+        return logins.execute("session", this::login).map(fresh -> fresh.token);
+    }
+
+    private Mono<Session> login() {
+        Map<String, String> credentials = Map.of(
+                "username", argoCDProperties.getUsername(),
+                "password", argoCDProperties.getPassword());
+        return timed(HttpMethod.POST, SESSION_ENDPOINT, webClient.post()
+                .uri(SESSION_ENDPOINT)
+                .bodyValue(credentials)
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .map(response -> {
+                    String token = response.path("token").asText();
+                    Session fresh = new Session(token, expiryOf(token));
+                    session = fresh;
+                    log.debug("Obtained Argo CD session token valid until {}", fresh.expiresAt);
+                    return fresh;
+                });
+    }
+
+    /**
+     * Expiry from the JWT {@code exp} claim, or the configured session TTL if it has none
+     */
+    private Instant expiryOf(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length == 3) {
+            try {
+                byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+                JsonNode claims = objectMapper.readTree(new String(payload, StandardCharsets.UTF_8));
+                if (claims.hasNonNull("exp")) {
+                    return Instant.ofEpochSecond(claims.get("exp").asLong());
+                }
+            } catch (Exception e) {
+                log.debug("Could not read expiry of Argo CD session token: {}", e.getMessage());
+            }
+        }
+        return Instant.now().plus(argoCDProperties.getClient().getSessionTtl());
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) {
+            return "SUCCESS";
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            HttpStatus status = HttpStatus.resolve(responseError.getStatusCode().value());
+            return status != null && status.is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+        }
+        return "UNKNOWN";
+    }
+}
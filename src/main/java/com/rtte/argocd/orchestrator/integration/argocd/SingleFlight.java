@@ -0,0 +1,54 @@
+package com.rtte.argocd.orchestrator.integration.argocd;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight,
+ * later callers for the same key subscribe to it instead of starting their
+ * own. The entry is dropped as soon as the call terminates, so results are
+ * never served after the fact; this deduplicates, it does not cache.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong joined = new AtomicLong();
+
+    /**
+     * Run the call for a key, or join the one already in flight
+     */
+    public Mono<V> execute(K key, Supplier<? extends Mono<V>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> candidate = Mono.<V>defer(call)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(candidate);
+            Mono<V> existing = inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                joined.incrementAndGet();
+                return existing;
+            }
+            return candidate;
+        });
+    }
+
+    /**
+     * Calls currently in flight
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Callers that joined an in-flight call instead of making their own
+     */
+    public long joined() {
+        return joined.get();
+    }
+}
@@ -0,0 +1,127 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.model.domain.ApplicationSetSpec;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Writes desired ApplicationSets to the cluster.
+ *
+ * The desired spec is stamped with its {@link ApplicationSetFingerprint};
+ * when the live object, read from {@link ArgoResourceCache}, already carries
+ * the same fingerprint nothing is written. Otherwise the ApplicationSet is
+ * created, or JSON-merge-patched since strategic merge is not available for
+ * custom resources, through {@link OutboundMutationLimiter} keyed on the
+ * customer's destination cluster. Outcomes are counted in
+ * {@code orchestrator.applicationset.apply{result}}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ApplicationSetApplier {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final KubernetesClient kubernetesClient;
+    private final ArgoCDProperties argoCDProperties;
+    private final ArgoResourceCache argoResourceCache;
+    private final OutboundMutationLimiter outboundMutationLimiter;
+    private final BlockingSchedulers blockingSchedulers;
+    private final MeterRegistry meterRegistry;
+
+    public enum Result {
+        CREATED,
+        PATCHED,
+        SKIPPED
+    }
+
+    /**
+     * Apply a customer's ApplicationSet, skipping the write when the live
+     * object already carries the desired spec fingerprint
+     */
+    public Mono<Result> apply(String customerId, ApplicationSetSpec spec) {
+        String name = spec.getMetadata().getName();
+        String fingerprint = ApplicationSetFingerprint.stamp(spec);
+        return Mono.fromCallable(() -> argoResourceCache.getApplicationSet(name))
+                .subscribeOn(blockingSchedulers.argocd())
+                .flatMap(existing -> {
+                    if (existing.isPresent()
+                            && ApplicationSetFingerprint.matches(existing.get().getMetadata().getAnnotations(), fingerprint)) {
+                        recordApply(Result.SKIPPED);
+                        log.debug("ApplicationSet {} unchanged, skipping patch", name);
+                        return Mono.just(Result.SKIPPED);
+                    }
+                    return outboundMutationLimiter.execute(destinationOf(spec, customerId), customerId,
+                            () -> Mono.fromCallable(() -> write(spec, existing))
+                                    .subscribeOn(blockingSchedulers.argocd()))
+                            .doOnSuccess(result -> {
+                                recordApply(result);
+                                log.info("Applied ApplicationSet: {}", name);
+                            });
+                })
+                .doOnError(error -> log.error("Failed to apply ApplicationSet for customer {}: {}", customerId,
+                        error.getMessage()));
+    }
+
+    private Result write(ApplicationSetSpec spec, Optional<GenericKubernetesResource> existing) {
+        GenericKubernetesResource desired = MAPPER.convertValue(spec, GenericKubernetesResource.class);
+        desired.setApiVersion(ArgoResourceCache.APPLICATION_SETS.getGroup() + "/"
+                + ArgoResourceCache.APPLICATION_SETS.getVersion());
+        desired.setKind(ArgoResourceCache.APPLICATION_SETS.getKind());
+        if (existing.isEmpty()) {
+            applicationSets().resource(desired).create();
+            return Result.CREATED;
+        }
+        applicationSets().withName(desired.getMetadata().getName())
+                .patch(PatchContext.of(PatchType.JSON_MERGE), desired);
+        return Result.PATCHED;
+    }
+
+    /**
+     * Destination cluster of the customer's live Applications, or the one the
+     * template will generate them for when none exist yet
+     */
+    private String destinationOf(ApplicationSetSpec spec, String customerId) {
+        return argoResourceCache.applicationsForCustomer(customerId).stream()
+                .findFirst()
+                .map(ArgoResourceCache::destinationOf)
+                .orElseGet(() -> {
+                    ApplicationSetSpec.Destination destination = spec.getSpec().getTemplate().getSpec().getDestination();
+                    if (destination != null && destination.getServer() != null && !destination.getServer().isBlank()) {
+                        return destination.getServer();
+                    }
+                    if (destination != null && destination.getName() != null && !destination.getName().isBlank()) {
+                        return destination.getName();
+                    }
+                    return ArgoResourceCache.IN_CLUSTER_SERVER;
+                });
+    }
+
+    private NonNamespaceOperation<GenericKubernetesResource, GenericKubernetesResourceList,
+            Resource<GenericKubernetesResource>> applicationSets() {
+        return kubernetesClient.genericKubernetesResources(ArgoResourceCache.APPLICATION_SETS)
+                .inNamespace(argoCDProperties.getApplicationSet().getNamespace());
+    }
+
+    private void recordApply(Result result) {
+        meterRegistry.counter("orchestrator.applicationset.apply", "result", result.name().toLowerCase())
+                .increment();
+    }
+}
@@ -0,0 +1,99 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rtte.argocd.orchestrator.model.domain.ApplicationSetSpec;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content hash of a desired {@link ApplicationSetSpec}, stored as an
+ * annotation on the live object so unchanged specs need no patch.
+ *
+ * The spec is canonicalized before hashing: object keys are sorted, null and
+ * empty values are dropped, and the fingerprint annotation itself is excluded.
+ * Two specs that would produce the same live object therefore hash the same
+ * regardless of builder or map iteration order.
+ */
+public final class ApplicationSetFingerprint {
+
+    public static final String ANNOTATION = "orchestrator.rtte.com/spec-hash";
+
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+    private ApplicationSetFingerprint() {
+    }
+
+    /**
+     * SHA-256 of the canonical JSON form of a spec, hex encoded
+     */
+    public static String of(ApplicationSetSpec spec) {
+        JsonNode tree = CANONICAL_MAPPER.valueToTree(spec);
+        JsonNode annotations = tree.path("metadata").path("annotations");
+        if (annotations instanceof ObjectNode annotationNode) {
+            annotationNode.remove(ANNOTATION);
+            if (annotationNode.isEmpty()) {
+                ((ObjectNode) tree.get("metadata")).remove("annotations");
+            }
+        }
+        try {
+            byte[] canonical = CANONICAL_MAPPER.writeValueAsBytes(canonicalize(tree));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint ApplicationSet " + spec.getMetadata().getName(), e);
+        }
+    }
+
+    /**
+     * Compute the fingerprint and record it in the spec's annotations
+     *
+     * @return the fingerprint
+     */
+    public static String stamp(ApplicationSetSpec spec) {
+        String fingerprint = of(spec);
+        Map<String, String> annotations = spec.getMetadata().getAnnotations() != null
+                ? new HashMap<>(spec.getMetadata().getAnnotations()) : new HashMap<>();
+        annotations.put(ANNOTATION, fingerprint);
+        spec.getMetadata().setAnnotations(annotations);
+        return fingerprint;
+    }
+
+    /**
+     * Whether live annotations carry the given fingerprint
+     */
+    public static boolean matches(Map<String, String> liveAnnotations, String fingerprint) {
+        return liveAnnotations != null && fingerprint.equals(liveAnnotations.get(ANNOTATION));
+    }
+
+    private static JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                sorted.put(field.getKey(), canonicalize(field.getValue()));
+            }
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            sorted.forEach(result::set);
+            return result;
+        }
+        if (node.isArray()) {
+            ArrayNode result = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(element -> result.add(canonicalize(element)));
+            return result;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,189 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import com.rtte.argocd.orchestrator.config.CACProperties;
+import com.rtte.argocd.orchestrator.model.domain.ApplicationSetSpec;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the desired ApplicationSet of a customer from its CAC configuration.
+ *
+ * Pure function of the customer configuration and the {@code argocd} and
+ * {@code cac} properties, so the desired spec and its
+ * {@link ApplicationSetFingerprint} can be computed on every reconcile
+ * without a cluster.
+ */
+@Component
+public class ApplicationSetSpecFactory {
+
+    private final ArgoCDProperties argoCDProperties;
+    private final CACProperties cacProperties;
+
+    public ApplicationSetSpecFactory(ArgoCDProperties argoCDProperties, CACProperties cacProperties) {
+        this.argoCDProperties = argoCDProperties;
+        this.cacProperties = cacProperties;
+    }
+
+    /**
+     * Build ApplicationSet specification from customer configuration
+     */
+    public ApplicationSetSpec build(CustomerConfig config) {
+        return ApplicationSetSpec.builder()
+                .metadata(ApplicationSetSpec.ObjectMeta.builder()
+                        .name(config.getCustomer() + "-apps")
+                        .namespace(argoCDProperties.getApplicationSet().getNamespace())
+                        .labels(Map.of(
+                                "customer", config.getCustomer(),
+                                "managed-by", "orchestrator"
+                        ))
+                        .build())
+                .spec(ApplicationSetSpec.ApplicationSetSpecDetails.builder()
+                        .generators(buildGenerators(config))
+                        .template(buildApplicationTemplate(config))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Build generators for ApplicationSet
+     */
+    private List<ApplicationSetSpec.Generator> buildGenerators(CustomerConfig config) {
+        return List.of(
+                ApplicationSetSpec.Generator.builder()
+                        .git(ApplicationSetSpec.GitGenerator.builder()
+                                .repoURL(cacProperties.getRepositoryUrl())
+                                .revision(cacProperties.getBranch())
+                                .files(List.of(
+                                        ApplicationSetSpec.FileGenerator.builder()
+                                                .path("customers/" + config.getCustomer() + "/*/values.yaml")
+                                                .build()
+                                ))
+                                .build())
+                        .build(),
+                ApplicationSetSpec.Generator.builder()
+                        .matrix(ApplicationSetSpec.MatrixGenerator.builder()
+                                .generators(buildMatrixGenerators(config))
+                                .build())
+                        .build()
+        );
+    }
+
+    /**
+     * Build matrix generators for applications
+     */
+    private List<ApplicationSetSpec.Generator> buildMatrixGenerators(CustomerConfig config) {
+        return config.getApplications().stream()
+                .filter(CustomerConfig.ApplicationConfig::isEnabled)
+                .map(app -> ApplicationSetSpec.Generator.builder()
+                        .list(ApplicationSetSpec.ListGenerator.builder()
+                                .elements(List.of(Map.of(
+                                        "customer", config.getCustomer(),
+                                        "application", app.getName(),
+                                        "version", app.getVersion(),
+                                        "strategy", app.getDeploymentStrategy(),
+                                        "replicas", app.getReplicas()
+                                )))
+                                .build())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Build application template
+     */
+    private ApplicationSetSpec.ApplicationTemplate buildApplicationTemplate(CustomerConfig config) {
+        return ApplicationSetSpec.ApplicationTemplate.builder()
+                .metadata(ApplicationSetSpec.ApplicationMetadata.builder()
+                        .name("{{customer}}-{{application}}")
+                        .namespace(argoCDProperties.getApplicationSet().getNamespace())
+                        .finalizers(List.of("resources-finalizer.argocd.argoproj.io"))
+                        .labels(Map.of(
+                                ArgoResourceCache.CUSTOMER_LABEL, config.getCustomer(),
+                                "managed-by", "orchestrator"
+                        ))
+                        .annotations(Map.of(
+                                "deployment.strategy", "{{strategy}}",
+                                "customer.id", config.getCustomer()
+                        ))
+                        .build())
+                .spec(ApplicationSetSpec.ApplicationSpec.builder()
+                        .project("{{customer}}-project")
+                        .source(buildSource(config))
+                        .destination(buildDestination(config))
+                        .syncPolicy(buildSyncPolicy(config))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Build source configuration
+     */
+    private ApplicationSetSpec.Source buildSource(CustomerConfig config) {
+        return ApplicationSetSpec.Source.builder()
+                .repoURL("https://github.com/rtte/helm-charts")
+                .targetRevision("{{revision}}")
+                .path("charts/{{application}}")
+                .helm(ApplicationSetSpec.HelmSource.builder()
+                        .valueFiles(List.of(
+                                "values.yaml",
+                                "../../cac-configs/customers/{{customer}}/{{application}}/values.yaml"
+                        ))
+                        .parameters(buildHelmParameters(config))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Build destination configuration
+     */
+    private ApplicationSetSpec.Destination buildDestination(CustomerConfig config) {
+        return ApplicationSetSpec.Destination.builder()
+                .server("https://kubernetes.default.svc")
+                .namespace(config.getCustomer())
+                .build();
+    }
+
+    /**
+     * Build sync policy
+     */
+    private ApplicationSetSpec.SyncPolicy buildSyncPolicy(CustomerConfig config) {
+        ArgoCDProperties.SyncRetryConfig retry = argoCDProperties.getApplicationSet().getSyncRetry();
+        return ApplicationSetSpec.SyncPolicy.builder()
+                .automated(true)
+                .prune(true)
+                .selfHeal(true)
+                .syncOptions(ApplicationSetSpec.SyncOptions.builder()
+                        .createNamespace(true)
+                        .prunePropagationPolicy(true)
+                        .pruneLast(true)
+                        .build())
+                .retry(ApplicationSetSpec.RetryStrategy.builder()
+                        .limit(retry.getLimit())
+                        .backoff(retry.getBackoff())
+                        .duration((int) retry.getDuration().toSeconds())
+                        .factor(retry.getFactor())
+                        .maxDuration((int) retry.getMaxDuration().toSeconds())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Build Helm parameters
+     */
+    private List<ApplicationSetSpec.HelmParameter> buildHelmParameters(CustomerConfig config) {
+        return List.of(
+                ApplicationSetSpec.HelmParameter.builder()
+                        .name("customer")
+                        .value(config.getCustomer())
+                        .build(),
+                ApplicationSetSpec.HelmParameter.builder()
+                        .name("environment")
+                        .value(config.getEnvironment())
+                        .build()
+        );
+    }
+}
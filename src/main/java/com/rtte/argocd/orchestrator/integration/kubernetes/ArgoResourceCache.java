@@ -0,0 +1,302 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import com.rtte.argocd.orchestrator.model.dto.ApplicationStatus;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Informer-backed local view of Argo CD ApplicationSets and Applications.
+ *
+ * One shared informer per resource type keeps an in-memory store that is
+ * indexed by customer and by customer plus sync wave, so applies and status
+ * checks read locally instead of issuing GETs against the API server. The
+ * informers resync on {@code argocd.informers.resync-period} and re-list on
+ * watch errors. Until the initial list completes the cache reports
+ * OUT_OF_SERVICE through the health endpoint, which gates pod readiness, and
+ * point reads fall through to the API server.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ArgoResourceCache implements HealthIndicator {
+
+    public static final String BY_CUSTOMER = "customer";
+    public static final String BY_CUSTOMER_WAVE = "customer-sync-wave";
+
+    public static final String CUSTOMER_LABEL = "customer";
+    public static final String CUSTOMER_ANNOTATION = "customer.id";
+    public static final String SYNC_WAVE_ANNOTATION = "argocd.argoproj.io/sync-wave";
+    public static final String IN_CLUSTER_SERVER = "https://kubernetes.default.svc";
+
+    public static final ResourceDefinitionContext APPLICATION_SETS = new ResourceDefinitionContext.Builder()
+            .withGroup("argoproj.io")
+            .withVersion("v1alpha1")
+            .withKind("ApplicationSet")
+            .withPlural("applicationsets")
+            .withNamespaced(true)
+            .build();
+
+    public static final ResourceDefinitionContext APPLICATIONS = new ResourceDefinitionContext.Builder()
+            .withGroup("argoproj.io")
+            .withVersion("v1alpha1")
+            .withKind("Application")
+            .withPlural("applications")
+            .withNamespaced(true)
+            .build();
+
+    private final KubernetesClient kubernetesClient;
+    private final ArgoCDProperties argoCDProperties;
+
+    private SharedIndexInformer<GenericKubernetesResource> applicationSetInformer;
+    private SharedIndexInformer<GenericKubernetesResource> applicationInformer;
+
+    @PostConstruct
+    void start() {
+        if (!argoCDProperties.getInformers().isEnabled()) {
+            log.info("Argo CD informers disabled, reads go to the API server");
+            return;
+        }
+        applicationSetInformer = startInformer(APPLICATION_SETS);
+        applicationInformer = startInformer(APPLICATIONS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (applicationSetInformer != null) {
+            applicationSetInformer.stop();
+        }
+        if (applicationInformer != null) {
+            applicationInformer.stop();
+        }
+    }
+
+    private SharedIndexInformer<GenericKubernetesResource> startInformer(ResourceDefinitionContext context) {
+        SharedIndexInformer<GenericKubernetesResource> informer = kubernetesClient
+                .genericKubernetesResources(context)
+                .inNamespace(namespace())
+                .runnableInformer(argoCDProperties.getInformers().getResyncPeriod().toMillis());
+        informer.addIndexers(Map.of(
+                BY_CUSTOMER, resource -> customerOf(resource).map(List::of).orElse(List.of()),
+                BY_CUSTOMER_WAVE, resource -> customerOf(resource)
+                        .map(customer -> List.of(waveKey(customer, syncWaveOf(resource))))
+                        .orElse(List.of())));
+        // Keep retrying list/watch failures; the store stays readable while it reconnects
+        informer.exceptionHandler((started, error) -> {
+            log.warn("{} informer list/watch failed, retrying: {}", context.getKind(), error.getMessage());
+            return true;
+        });
+        informer.start().whenComplete((ignored, error) -> {
+            if (error == null) {
+                log.info("{} informer synced with {} resources", context.getKind(), informer.getStore().list().size());
+            }
+        });
+        return informer;
+    }
+
+    /**
+     * Whether the initial list of both resource types has completed
+     */
+    public boolean hasSynced() {
+        return applicationSetInformer != null && applicationSetInformer.hasSynced()
+                && applicationInformer != null && applicationInformer.hasSynced();
+    }
+
+    /**
+     * An ApplicationSet by name, from the local store once it has synced
+     */
+    public Optional<GenericKubernetesResource> getApplicationSet(String name) {
+        return get(applicationSetInformer, APPLICATION_SETS, name);
+    }
+
+    /**
+     * An Application by name, from the local store once it has synced
+     */
+    public Optional<GenericKubernetesResource> getApplication(String name) {
+        return get(applicationInformer, APPLICATIONS, name);
+    }
+
+    /**
+     * ApplicationSets belonging to a customer
+     */
+    public List<GenericKubernetesResource> applicationSetsForCustomer(String customerId) {
+        return byCustomer(applicationSetInformer, APPLICATION_SETS, customerId);
+    }
+
+    /**
+     * Applications belonging to a customer
+     */
+    public List<GenericKubernetesResource> applicationsForCustomer(String customerId) {
+        return byCustomer(applicationInformer, APPLICATIONS, customerId);
+    }
+
+    /**
+     * Destination cluster of a customer's Applications (see {@link #destinationOf}),
+     * or the in-cluster server if none exist yet
+     */
+    public String destinationForCustomer(String customerId) {
+        return applicationsForCustomer(customerId).stream()
+                .findFirst()
+                .map(ArgoResourceCache::destinationOf)
+                .orElse(IN_CLUSTER_SERVER);
+    }
+
+    /**
+     * A customer's Applications in one sync wave; Applications without the annotation are in wave 0
+     */
+    public List<GenericKubernetesResource> applicationsInWave(String customerId, int syncWave) {
+        if (applicationInformer != null && applicationInformer.hasSynced()) {
+            return applicationInformer.getIndexer().byIndex(BY_CUSTOMER_WAVE, waveKey(customerId, String.valueOf(syncWave)));
+        }
+        return applicationsForCustomer(customerId).stream()
+                .filter(resource -> syncWaveOf(resource).equals(String.valueOf(syncWave)))
+                .toList();
+    }
+
+    /**
+     * Register a handler for Application add/update/delete events. Periodic
+     * resyncs are delivered as updates whose old and new resource versions match.
+     */
+    public void addApplicationHandler(ResourceEventHandler<GenericKubernetesResource> handler) {
+        if (applicationInformer != null) {
+            applicationInformer.addEventHandler(handler);
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!argoCDProperties.getInformers().isEnabled()) {
+            return Health.up().withDetail("informers", "disabled").build();
+        }
+        Health.Builder builder = hasSynced() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("applicationSets", describe(applicationSetInformer))
+                .withDetail("applications", describe(applicationInformer))
+                .build();
+    }
+
+    private Optional<GenericKubernetesResource> get(SharedIndexInformer<GenericKubernetesResource> informer,
+                                                    ResourceDefinitionContext context, String name) {
+        if (informer != null && informer.hasSynced()) {
+            return Optional.ofNullable(informer.getStore().getByKey(namespace() + "/" + name));
+        }
+        return Optional.ofNullable(kubernetesClient.genericKubernetesResources(context)
+                .inNamespace(namespace())
+                .withName(name)
+                .get());
+    }
+
+    private List<GenericKubernetesResource> byCustomer(SharedIndexInformer<GenericKubernetesResource> informer,
+                                                       ResourceDefinitionContext context, String customerId) {
+        if (informer != null && informer.hasSynced()) {
+            return informer.getIndexer().byIndex(BY_CUSTOMER, customerId);
+        }
+        return kubernetesClient.genericKubernetesResources(context)
+                .inNamespace(namespace())
+                .withLabel(CUSTOMER_LABEL, customerId)
+                .list()
+                .getItems();
+    }
+
+    private String namespace() {
+        return argoCDProperties.getApplicationSet().getNamespace();
+    }
+
+    private static Map<String, Object> describe(SharedIndexInformer<GenericKubernetesResource> informer) {
+        if (informer == null) {
+            return Map.of("synced", false);
+        }
+        return Map.of(
+                "synced", informer.hasSynced(),
+                "resources", informer.getStore().list().size(),
+                "resourceVersion", String.valueOf(informer.lastSyncResourceVersion()));
+    }
+
+    /**
+     * Customer of a resource: the {@code customer} label, or the {@code customer.id}
+     * annotation that ApplicationSet templates put on generated Applications
+     */
+    public static Optional<String> customerOf(HasMetadata resource) {
+        Map<String, String> labels = resource.getMetadata().getLabels();
+        if (labels != null && labels.containsKey(CUSTOMER_LABEL)) {
+            return Optional.of(labels.get(CUSTOMER_LABEL));
+        }
+        Map<String, String> annotations = resource.getMetadata().getAnnotations();
+        return Optional.ofNullable(annotations != null ? annotations.get(CUSTOMER_ANNOTATION) : null);
+    }
+
+    /**
+     * Destination cluster of an Application: {@code spec.destination.server}, else
+     * {@code spec.destination.name}, else the in-cluster server
+     */
+    public static String destinationOf(GenericKubernetesResource application) {
+        if (application.getAdditionalProperties().get("spec") instanceof Map<?, ?> spec
+                && spec.get("destination") instanceof Map<?, ?> destination) {
+            if (destination.get("server") instanceof String server && !server.isBlank()) {
+                return server;
+            }
+            if (destination.get("name") instanceof String name && !name.isBlank()) {
+                return name;
+            }
+        }
+        return IN_CLUSTER_SERVER;
+    }
+
+    /**
+     * Sync and health status of an Application
+     */
+    public static ApplicationStatus statusOf(GenericKubernetesResource application) {
+        Map<?, ?> status = application.getAdditionalProperties().get("status") instanceof Map<?, ?> map ? map : Map.of();
+        return ApplicationStatus.builder()
+                .applicationName(application.getMetadata().getName())
+                .customerId(customerOf(application).orElse(null))
+                .serviceName(serviceNameOf(application))
+                .syncStatus(nestedStatus(status, "sync"))
+                .healthStatus(nestedStatus(status, "health"))
+                .syncWave(syncWaveOf(application))
+                .destination(destinationOf(application))
+                .build();
+    }
+
+    /**
+     * Service name of an Application; ApplicationSet templates name them {@code <customer>-<service>}
+     */
+    public static String serviceNameOf(HasMetadata application) {
+        String name = application.getMetadata().getName();
+        return customerOf(application)
+                .map(customer -> customer + "-")
+                .filter(name::startsWith)
+                .map(prefix -> name.substring(prefix.length()))
+                .orElse(name);
+    }
+
+    private static String nestedStatus(Map<?, ?> status, String section) {
+        return status.get(section) instanceof Map<?, ?> sectionMap && sectionMap.get("status") instanceof String value
+                ? value : null;
+    }
+
+    static String syncWaveOf(HasMetadata resource) {
+        Map<String, String> annotations = resource.getMetadata().getAnnotations();
+        String wave = annotations != null ? annotations.get(SYNC_WAVE_ANNOTATION) : null;
+        return wave != null && !wave.isBlank() ? wave.trim() : "0";
+    }
+
+    private static String waveKey(String customerId, String syncWave) {
+        return customerId + "/" + syncWave;
+    }
+}
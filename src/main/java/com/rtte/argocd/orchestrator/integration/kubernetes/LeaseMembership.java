@@ -0,0 +1,120 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseSpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Group membership through one Kubernetes Lease per member.
+ *
+ * Each member keeps a Lease named {@code <prefix>-<identity>} renewed, and
+ * the live members are those whose Lease was renewed within its
+ * {@code leaseDurationSeconds}. A member that stops renewing, e.g. a crashed
+ * pod, drops out once its Lease expires; a clean shutdown deletes the Lease
+ * so the others see the change on their next read.
+ */
+@Slf4j
+public class LeaseMembership {
+
+    public static final String GROUP_LABEL = "orchestrator.rtte.com/shard-group";
+
+    private final KubernetesClient kubernetesClient;
+    private final String namespace;
+    private final String group;
+    private final String identity;
+    private final Duration leaseDuration;
+    private final Clock clock;
+
+    public LeaseMembership(KubernetesClient kubernetesClient, String namespace, String group, String identity,
+                           Duration leaseDuration, Clock clock) {
+        this.kubernetesClient = kubernetesClient;
+        this.namespace = namespace;
+        this.group = group;
+        this.identity = identity;
+        this.leaseDuration = leaseDuration;
+        this.clock = clock;
+    }
+
+    public String identity() {
+        return identity;
+    }
+
+    /**
+     * Create or renew this member's Lease
+     */
+    public void renew() {
+        ZonedDateTime now = ZonedDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+        var leases = kubernetesClient.resources(Lease.class).inNamespace(namespace);
+        Lease existing = leases.withName(leaseName()).get();
+        if (existing == null) {
+            leases.resource(new LeaseBuilder()
+                            .withNewMetadata()
+                            .withName(leaseName())
+                            .withNamespace(namespace)
+                            .addToLabels(GROUP_LABEL, group)
+                            .endMetadata()
+                            .withNewSpec()
+                            .withHolderIdentity(identity)
+                            .withLeaseDurationSeconds((int) leaseDuration.toSeconds())
+                            .withAcquireTime(now)
+                            .withRenewTime(now)
+                            .endSpec()
+                            .build())
+                    .create();
+            log.info("Joined shard group {} as {}", group, identity);
+            return;
+        }
+        existing.getSpec().setHolderIdentity(identity);
+        existing.getSpec().setLeaseDurationSeconds((int) leaseDuration.toSeconds());
+        existing.getSpec().setRenewTime(now);
+        leases.resource(existing).update();
+    }
+
+    /**
+     * Identities of members whose Lease has not expired
+     */
+    public SortedSet<String> members() {
+        Instant now = clock.instant();
+        SortedSet<String> members = new TreeSet<>();
+        for (Lease lease : kubernetesClient.resources(Lease.class).inNamespace(namespace)
+                .withLabel(GROUP_LABEL, group).list().getItems()) {
+            LeaseSpec spec = lease.getSpec();
+            if (spec == null || spec.getHolderIdentity() == null || spec.getRenewTime() == null) {
+                continue;
+            }
+            int seconds = spec.getLeaseDurationSeconds() != null ? spec.getLeaseDurationSeconds() : 0;
+            Instant renewed = spec.getRenewTime().toInstant();
+            if (renewed.plusSeconds(seconds).isAfter(now)) {
+                members.add(spec.getHolderIdentity());
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Leave the group by deleting this member's Lease
+     */
+    public void release() {
+        try {
+            kubernetesClient.resources(Lease.class).inNamespace(namespace).withName(leaseName()).delete();
+            log.info("Left shard group {} as {}", group, identity);
+        } catch (KubernetesClientException e) {
+            log.warn("Could not delete shard lease {}: {}", leaseName(), e.getMessage());
+        }
+    }
+
+    private String leaseName() {
+        return group + "-" + identity;
+    }
+}
@@ -0,0 +1,84 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.limit.AdaptiveConcurrencyLimiter;
+import com.rtte.argocd.orchestrator.engine.limit.AimdLimit;
+import com.rtte.argocd.orchestrator.engine.limit.ConcurrencyLimitExceededException;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit in front of every outbound Argo CD and Kubernetes
+ * mutation (ApplicationSet applies, Application syncs).
+ *
+ * Limits shrink on 429/5xx responses, connection errors, timeouts and on
+ * latency above {@code orchestrator.outbound-limiter.latency-threshold}, which
+ * is kept well below {@code argocd.timeout} so the limiter backs off before
+ * requests start timing out. Waiting requests are queued fairly per customer.
+ */
+@Component
+@Slf4j
+public class OutboundMutationLimiter {
+
+    private final OrchestratorProperties.LimiterConfig config;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public OutboundMutationLimiter(OrchestratorProperties orchestratorProperties, MeterRegistry meterRegistry) {
+        this.config = orchestratorProperties.getOutboundLimiter();
+        this.meterRegistry = meterRegistry;
+        this.limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                        config.getBackoffRatio(), config.getLatencyThreshold()),
+                () -> new AimdLimit(config.getDestinationInitialLimit(), config.getMinLimit(),
+                        config.getDestinationMaxLimit(), config.getBackoffRatio(), config.getLatencyThreshold()),
+                config.getMaxQueued(),
+                OutboundMutationLimiter::isOverload);
+        meterRegistry.gauge("orchestrator.outbound.limit", limiter, AdaptiveConcurrencyLimiter::limit);
+        meterRegistry.gauge("orchestrator.outbound.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight);
+        meterRegistry.gauge("orchestrator.outbound.queued", limiter, AdaptiveConcurrencyLimiter::queued);
+    }
+
+    /**
+     * Run a mutation against a destination server on behalf of a customer
+     */
+    public <T> Mono<T> execute(String destination, String customerId, Supplier<? extends Mono<T>> mutation) {
+        if (!config.isEnabled()) {
+            return Mono.defer(mutation);
+        }
+        return limiter.execute(destination, customerId, mutation)
+                .doOnError(ConcurrencyLimitExceededException.class, error -> {
+                    meterRegistry.counter("orchestrator.outbound.shed").increment();
+                    log.warn("Shedding mutation for customer {} against {}: {}", customerId, destination,
+                            error.getMessage());
+                });
+    }
+
+    /**
+     * Current limit of a destination server, or -1 if it has not been used yet
+     */
+    public int limit(String destination) {
+        return limiter.limit(destination);
+    }
+
+    static boolean isOverload(Throwable error) {
+        if (error instanceof KubernetesClientException kubernetesError) {
+            int code = kubernetesError.getCode();
+            return code == 0 || code == 429 || code >= 500 || kubernetesError.getCause() instanceof IOException;
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            int code = responseError.getStatusCode().value();
+            return code == 429 || code >= 500;
+        }
+        return error instanceof TimeoutException || error instanceof IOException
+                || error.getCause() instanceof TimeoutException || error.getCause() instanceof IOException;
+    }
+}
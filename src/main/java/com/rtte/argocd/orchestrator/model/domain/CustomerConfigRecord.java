@@ -0,0 +1,44 @@
+package com.rtte.argocd.orchestrator.model.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Stored copy of a customer's CAC configuration and its content hash
+ */
+@Entity
+@Table(name = "customer_configs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerConfigRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", unique = true, nullable = false)
+    private String customerId;
+
+    @Column(name = "config_data", nullable = false, columnDefinition = "TEXT")
+    private String configData;
+
+    @Column(name = "config_hash", nullable = false, length = 64)
+    private String configHash;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -1,9 +1,17 @@
 package com.rtte.argocd.orchestrator.model.domain;
 
+import com.rtte.argocd.orchestrator.engine.graph.CircularDependencyException;
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.graph.DependencyCycle;
+import com.rtte.argocd.orchestrator.engine.graph.IncrementalTopologicalOrder;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import jakarta.persistence.*;
 import java.util.*;
@@ -30,10 +38,11 @@ public class DependencyGraph {
     @Column(name = "graph_name")
     private String graphName;
     
-    @OneToMany(mappedBy = "dependencyGraph", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Loaded lazily: read paths use the compiled graph from DependencyGraphSnapshot
+    @OneToMany(mappedBy = "dependencyGraph", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<DependencyNode> nodes = new ArrayList<>();
     
-    @OneToMany(mappedBy = "dependencyGraph", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "dependencyGraph", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<DependencyEdge> edges = new ArrayList<>();
     
     @Column(name = "is_valid")
@@ -49,6 +58,12 @@ public class DependencyGraph {
     @OrderColumn(name = "order_index")
     private List<String> topologicalOrder = new ArrayList<>();
     
+    // Bound while topologicalOrder is current for the nodes and edges, and kept in step with them
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient IncrementalTopologicalOrder incrementalOrder;
+    
     @Column(name = "created_at")
     private java.time.LocalDateTime createdAt;
     
@@ -70,18 +85,54 @@ public class DependencyGraph {
      * Add a node to the dependency graph
      */
     public void addNode(DependencyNode node) {
+        if (incrementalOrder != null) {
+            incrementalOrder.nodeAdded(node);
+        }
         node.setDependencyGraph(this);
         nodes.add(node);
     }
     
     /**
-     * Add an edge to the dependency graph
+     * Add an edge to the dependency graph. Once a topological order has been
+     * generated it is kept current incrementally, and an edge that would close
+     * a cycle is rejected with a {@link CircularDependencyException} before it
+     * is added.
      */
     public void addEdge(DependencyEdge edge) {
+        if (incrementalOrder != null) {
+            incrementalOrder.edgeAdded(edge);
+        }
         edge.setDependencyGraph(this);
         edges.add(edge);
     }
     
+    /**
+     * Remove an edge from the dependency graph
+     */
+    public void removeEdge(DependencyEdge edge) {
+        if (edges.removeIf(existing -> existing == edge)) {
+            edge.setDependencyGraph(null);
+            if (incrementalOrder != null) {
+                incrementalOrder.edgeRemoved(edge);
+            }
+        }
+    }
+    
+    public void setNodes(List<DependencyNode> nodes) {
+        this.nodes = nodes;
+        invalidateTopologicalOrder();
+    }
+    
+    public void setEdges(List<DependencyEdge> edges) {
+        this.edges = edges;
+        invalidateTopologicalOrder();
+    }
+    
+    public void setTopologicalOrder(List<String> topologicalOrder) {
+        this.topologicalOrder = topologicalOrder;
+        invalidateTopologicalOrder();
+    }
+    
     /**
      * Get all dependencies for a specific service
      */
@@ -102,116 +153,73 @@ public class DependencyGraph {
                 .toList();
     }
     
+    /**
+     * Compile the graph into its immutable, index-backed form for scheduling
+     */
+    public CompiledDependencyGraph compile() {
+        return CompiledDependencyGraph.compile(this);
+    }
+    
     /**
      * Check if there are circular dependencies
      */
     public boolean hasCircularDependencies() {
-        Set<String> visited = new HashSet<>();
-        Set<String> recursionStack = new HashSet<>();
-        
-        for (DependencyNode node : nodes) {
-            if (!visited.contains(node.getServiceName())) {
-                if (hasCircularDependenciesUtil(node.getServiceName(), visited, recursionStack)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return compile().hasCycle();
     }
     
-    private boolean hasCircularDependenciesUtil(String serviceName, Set<String> visited, Set<String> recursionStack) {
-        visited.add(serviceName);
-        recursionStack.add(serviceName);
-        
-        List<String> dependencies = getDependenciesForService(serviceName);
-        for (String dependency : dependencies) {
-            if (!visited.contains(dependency)) {
-                if (hasCircularDependenciesUtil(dependency, visited, recursionStack)) {
-                    return true;
-                }
-            } else if (recursionStack.contains(dependency)) {
-                return true;
-            }
-        }
-        
-        recursionStack.remove(serviceName);
-        return false;
+    /**
+     * Generate topological order for the dependency graph.
+     * Dependencies are ordered before the services that depend on them.
+     */
+    public List<String> generateTopologicalOrder() {
+        List<String> result = compile().topologicalOrder();
+        storeTopologicalOrder(result, true);
+        return result;
     }
     
     /**
-     * Generate topological order for the dependency graph
+     * Generate topological order, optionally in condensed mode where every cycle
+     * of SOFT/OPTIONAL dependencies is scheduled as one unit. Cycles containing a
+     * HARD dependency are still rejected with a {@link CircularDependencyException}.
      */
-    public List<String> generateTopologicalOrder() {
-        if (hasCircularDependencies()) {
-            throw new IllegalStateException("Cannot generate topological order for graph with circular dependencies");
-        }
-        
-        Map<String, Integer> inDegree = new HashMap<>();
-        Map<String, List<String>> adjacencyList = new HashMap<>();
-        
-        // Initialize in-degree and adjacency list
-        for (DependencyNode node : nodes) {
-            inDegree.put(node.getServiceName(), 0);
-            adjacencyList.put(node.getServiceName(), new ArrayList<>());
-        }
-        
-        // Build adjacency list and calculate in-degrees
-        for (DependencyEdge edge : edges) {
-            String from = edge.getFromService();
-            String to = edge.getToService();
-            adjacencyList.get(from).add(to);
-            inDegree.put(to, inDegree.get(to) + 1);
-        }
-        
-        // Kahn's algorithm for topological sorting
-        Queue<String> queue = new LinkedList<>();
-        List<String> result = new ArrayList<>();
-        
-        // Add all nodes with in-degree 0 to queue
-        for (Map.Entry<String, Integer> entry : inDegree.entrySet()) {
-            if (entry.getValue() == 0) {
-                queue.offer(entry.getKey());
-            }
-        }
-        
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            result.add(current);
-            
-            for (String neighbor : adjacencyList.get(current)) {
-                inDegree.put(neighbor, inDegree.get(neighbor) - 1);
-                if (inDegree.get(neighbor) == 0) {
-                    queue.offer(neighbor);
-                }
-            }
+    public List<String> generateTopologicalOrder(boolean condensed) {
+        if (!condensed) {
+            return generateTopologicalOrder();
         }
-        
-        this.topologicalOrder = result;
+        List<String> result = compile().condensedOrder().stream()
+                .flatMap(List::stream)
+                .toList();
+        // Members of a condensed cycle are not ordered among themselves
+        storeTopologicalOrder(result, false);
         return result;
     }
     
+    /**
+     * Find every circular dependency, with the member services and edges involved
+     */
+    public List<DependencyCycle> findCircularDependencies() {
+        return compile().findCycles();
+    }
+    
     /**
      * Get sync wave order based on dependencies
      */
     public Map<Integer, List<String>> getSyncWaveOrder() {
-        List<String> topologicalOrder = generateTopologicalOrder();
-        Map<Integer, List<String>> syncWaves = new TreeMap<>();
-        
-        for (String serviceName : topologicalOrder) {
-            DependencyNode node = nodes.stream()
-                    .filter(n -> n.getServiceName().equals(serviceName))
-                    .findFirst()
-                    .orElse(null);
-            
-            if (node != null) {
-                int wave = node.getSyncWave();
-                syncWaves.computeIfAbsent(wave, k -> new ArrayList<>()).add(serviceName);
-            }
-        }
-        
+        CompiledDependencyGraph compiled = compile();
+        Map<Integer, List<String>> syncWaves = compiled.syncWaveOrder();
+        storeTopologicalOrder(compiled.topologicalOrder(), true);
         return syncWaves;
     }
     
+    private void storeTopologicalOrder(List<String> order, boolean current) {
+        this.topologicalOrder = new ArrayList<>(order);
+        this.incrementalOrder = current ? IncrementalTopologicalOrder.bind(this) : null;
+    }
+    
+    private void invalidateTopologicalOrder() {
+        this.incrementalOrder = null;
+    }
+    
     /**
      * Dependency node representing a microservice in the graph
      */
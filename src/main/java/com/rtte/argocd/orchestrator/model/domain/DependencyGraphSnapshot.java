@@ -0,0 +1,57 @@
+package com.rtte.argocd.orchestrator.model.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Encoded compiled dependency graph for one customer configuration.
+ * Written alongside the normalized graph tables and read instead of them.
+ */
+@Entity
+@Table(name = "dependency_graph_snapshots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"customer_id", "config_hash"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyGraphSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private String customerId;
+
+    @Column(name = "config_hash", nullable = false, length = 64)
+    private String configHash;
+
+    @Column(name = "format_version", nullable = false)
+    private Integer formatVersion;
+
+    @Column(name = "node_count", nullable = false)
+    private Integer nodeCount;
+
+    @Column(name = "edge_count", nullable = false)
+    private Integer edgeCount;
+
+    @Column(name = "payload", nullable = false)
+    @ToString.Exclude
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.rtte.argocd.orchestrator.model.dto;
+
+import com.rtte.argocd.orchestrator.engine.progress.ServiceState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the sync and health status of one Argo CD Application
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatus {
+
+    private String applicationName;
+    private String customerId;
+    private String serviceName;
+    private String syncStatus;
+    private String healthStatus;
+    private String syncWave;
+    private String destination;
+
+    /**
+     * Rollout state derived from sync and health status
+     */
+    public ServiceState getState() {
+        return ServiceState.of(syncStatus, healthStatus);
+    }
+}
@@ -0,0 +1,99 @@
+package com.rtte.argocd.orchestrator.model.dto;
+
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgress;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the locally checkpointed state of one in-flight sync wave: enough
+ * to re-arm its deadline and track it again without reading {@code sync_waves}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveCheckpoint {
+
+    private Long waveId;
+    private String customerId;
+    private Integer waveNumber;
+    private String waveName;
+    private List<String> services;
+    private SyncWaveStatus status;
+    private LocalDateTime startTime;
+    private Integer timeoutSeconds;
+    private Integer healthCheckTimeoutSeconds;
+    private Integer retryCount;
+    private Integer maxRetries;
+    private Integer retryDelaySeconds;
+    private Integer totalServices;
+    private Integer deployedServices;
+    private Integer healthyServices;
+    private Integer failedServices;
+
+    public static WaveCheckpoint of(SyncWave wave) {
+        return WaveCheckpoint.builder()
+                .waveId(wave.getId())
+                .customerId(wave.getCustomerId())
+                .waveNumber(wave.getWaveNumber())
+                .waveName(wave.getWaveName())
+                .services(wave.getServices() != null ? new ArrayList<>(wave.getServices()) : List.of())
+                .status(wave.getStatus())
+                .startTime(wave.getStartTime())
+                .timeoutSeconds(wave.getTimeoutSeconds())
+                .healthCheckTimeoutSeconds(wave.getHealthCheckTimeoutSeconds())
+                .retryCount(wave.getRetryCount())
+                .maxRetries(wave.getMaxRetries())
+                .retryDelaySeconds(wave.getRetryDelaySeconds())
+                .totalServices(wave.getTotalServices())
+                .deployedServices(wave.getDeployedServices())
+                .healthyServices(wave.getHealthyServices())
+                .failedServices(wave.getFailedServices())
+                .build();
+    }
+
+    /**
+     * Apply live progress counts
+     */
+    public void apply(WaveProgress progress) {
+        totalServices = progress.getTotalServices();
+        deployedServices = progress.getDeployedServices();
+        healthyServices = progress.getHealthyServices();
+        failedServices = progress.getFailedServices();
+        if (progress.getStatus() != null) {
+            status = progress.getStatus();
+        }
+    }
+
+    /**
+     * Detached wave entity carrying the checkpointed fields
+     */
+    public SyncWave toSyncWave() {
+        return SyncWave.builder()
+                .id(waveId)
+                .customerId(customerId)
+                .waveNumber(waveNumber)
+                .waveName(waveName)
+                .services(new ArrayList<>(services))
+                .status(status)
+                .startTime(startTime)
+                .timeoutSeconds(timeoutSeconds)
+                .healthCheckTimeoutSeconds(healthCheckTimeoutSeconds)
+                .retryCount(retryCount)
+                .maxRetries(maxRetries)
+                .retryDelaySeconds(retryDelaySeconds)
+                .totalServices(totalServices)
+                .deployedServices(deployedServices)
+                .healthyServices(healthyServices)
+                .failedServices(failedServices)
+                .build();
+    }
+}
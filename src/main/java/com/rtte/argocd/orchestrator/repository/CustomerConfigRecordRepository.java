@@ -0,0 +1,28 @@
+package com.rtte.argocd.orchestrator.repository;
+
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfigRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for stored customer configurations
+ */
+@Repository
+public interface CustomerConfigRecordRepository extends JpaRepository<CustomerConfigRecord, Long> {
+
+    Optional<CustomerConfigRecord> findByCustomerId(String customerId);
+
+    @Query("SELECT c.customerId FROM CustomerConfigRecord c ORDER BY c.customerId")
+    List<String> findAllCustomerIds();
+
+    /**
+     * Only the content hash, so cache validation does not load the config body
+     */
+    @Query("SELECT c.configHash FROM CustomerConfigRecord c WHERE c.customerId = :customerId")
+    Optional<String> findConfigHashByCustomerId(@Param("customerId") String customerId);
+}
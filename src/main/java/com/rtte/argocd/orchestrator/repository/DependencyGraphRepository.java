@@ -0,0 +1,16 @@
+package com.rtte.argocd.orchestrator.repository;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for customer dependency graphs
+ */
+@Repository
+public interface DependencyGraphRepository extends JpaRepository<DependencyGraph, Long> {
+
+    Optional<DependencyGraph> findFirstByCustomerIdOrderByUpdatedAtDesc(String customerId);
+}
@@ -0,0 +1,26 @@
+package com.rtte.argocd.orchestrator.repository;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraphSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for encoded dependency graph snapshots
+ */
+@Repository
+public interface DependencyGraphSnapshotRepository extends JpaRepository<DependencyGraphSnapshot, Long> {
+
+    Optional<DependencyGraphSnapshot> findByCustomerIdAndConfigHash(String customerId, String configHash);
+
+    /**
+     * Remove snapshots of a customer's superseded configurations
+     */
+    @Modifying
+    @Query("DELETE FROM DependencyGraphSnapshot s WHERE s.customerId = :customerId AND s.configHash <> :configHash")
+    int deleteSuperseded(@Param("customerId") String customerId, @Param("configHash") String configHash);
+}
@@ -0,0 +1,35 @@
+package com.rtte.argocd.orchestrator.repository;
+
+import com.rtte.argocd.orchestrator.model.domain.Deployment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for deployment records
+ */
+@Repository
+public interface DeploymentRepository extends JpaRepository<Deployment, Long> {
+
+    /**
+     * Average duration of successful deployments per application for a customer
+     */
+    @Query("select d.applicationName as applicationName, avg(d.durationSeconds) as averageDurationSeconds " +
+           "from Deployment d " +
+           "where d.customerId = :customerId and d.status = :status and d.durationSeconds is not null " +
+           "group by d.applicationName")
+    List<ApplicationDuration> findAverageDurations(@Param("customerId") String customerId,
+                                                   @Param("status") Deployment.DeploymentStatus status);
+
+    /**
+     * Projection of historical rollout duration per application
+     */
+    interface ApplicationDuration {
+        String getApplicationName();
+
+        Double getAverageDurationSeconds();
+    }
+}
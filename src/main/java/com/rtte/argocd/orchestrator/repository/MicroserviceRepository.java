@@ -0,0 +1,52 @@
+package com.rtte.argocd.orchestrator.repository;
+
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Repository for microservice records
+ */
+@Repository
+public interface MicroserviceRepository extends JpaRepository<Microservice, Long> {
+
+    List<Microservice> findByEnabledTrue();
+
+    List<Microservice> findByCustomerId(String customerId);
+
+    @Query("SELECT DISTINCT m.customerId FROM Microservice m WHERE m.enabled = true")
+    List<String> findEnabledCustomerIds();
+
+    /**
+     * Write a health status change without loading the entity. Microservices
+     * that are rolling back or rolled back keep their status, which belongs to
+     * the rollback.
+     *
+     * @return 1 if the row was updated, 0 if it does not exist or is in a rollback
+     */
+    default int updateHealthStatus(Long id, Microservice.MicroserviceStatus status, LocalDateTime checkedAt) {
+        return updateHealthStatusUnless(id, status, checkedAt, EnumSet.of(
+                Microservice.MicroserviceStatus.ROLLING_BACK, Microservice.MicroserviceStatus.ROLLED_BACK));
+    }
+
+    /**
+     * Write a health status change unless the row's current status is one of {@code retained}
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Microservice m SET m.status = :status, m.lastHealthCheck = :checkedAt, m.updatedAt = :checkedAt " +
+           "WHERE m.id = :id AND (m.status IS NULL OR m.status NOT IN :retained)")
+    int updateHealthStatusUnless(@Param("id") Long id,
+                                 @Param("status") Microservice.MicroserviceStatus status,
+                                 @Param("checkedAt") LocalDateTime checkedAt,
+                                 @Param("retained") Collection<Microservice.MicroserviceStatus> retained);
+}
@@ -0,0 +1,19 @@
+package com.rtte.argocd.orchestrator.repository;
+
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for sync wave records
+ */
+@Repository
+public interface SyncWaveRepository extends JpaRepository<SyncWave, Long> {
+
+    List<SyncWave> findByStatusIn(Collection<SyncWave.SyncWaveStatus> statuses);
+
+    List<SyncWave> findByCustomerIdOrderByWaveNumberAsc(String customerId);
+}
@@ -0,0 +1,70 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetApplier;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetFingerprint;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetSpecFactory;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfig;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfigRecord;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * {@link CustomerReconciler} applying each customer's ApplicationSet.
+ *
+ * The customer's stored configuration ({@code customer_configs.config_data},
+ * YAML or JSON) is turned into the desired spec by
+ * {@link ApplicationSetSpecFactory} and handed to
+ * {@link ApplicationSetApplier}, which skips the write when the live object
+ * already carries the spec's {@link ApplicationSetFingerprint}. A skip is
+ * reported as SKIPPED, a create or patch as APPLIED.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationSetReconciler implements CustomerReconciler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper(new YAMLFactory())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final CustomerConfigRecordRepository customerConfigRecordRepository;
+    private final ApplicationSetSpecFactory applicationSetSpecFactory;
+    private final ApplicationSetApplier applicationSetApplier;
+    private final BlockingSchedulers blockingSchedulers;
+
+    @Override
+    public Mono<ReconcileResult> reconcile(String customerId) {
+        return Mono.fromCallable(() -> customerConfigRecordRepository.findByCustomerId(customerId))
+                .subscribeOn(blockingSchedulers.jpa())
+                .flatMap(record -> Mono.justOrEmpty(record.map(this::parse)))
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException(
+                        "No configuration stored for customer: " + customerId)))
+                .map(config -> {
+                    if (config.getCustomer() == null) {
+                        config.setCustomer(customerId);
+                    }
+                    return applicationSetSpecFactory.build(config);
+                })
+                .flatMap(spec -> applicationSetApplier.apply(customerId, spec))
+                .map(result -> result == ApplicationSetApplier.Result.SKIPPED
+                        ? ReconcileResult.SKIPPED : ReconcileResult.APPLIED);
+    }
+
+    private CustomerConfig parse(CustomerConfigRecord record) {
+        try {
+            return MAPPER.readValue(record.getConfigData(), CustomerConfig.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid configuration of customer " + record.getCustomerId()
+                    + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.integration.argocd.SingleFlight;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import com.rtte.argocd.orchestrator.model.domain.Microservice.MicroserviceStatus;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.model.dto.ApplicationStatus;
+import com.rtte.argocd.orchestrator.repository.MicroserviceRepository;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service reading Application status per customer instead of per service.
+ *
+ * All of a customer's Applications are read with one {@code customer=<id>}
+ * label-selector list (served from the informer store once it has synced),
+ * and per-service lookups are answered from that result. Concurrent readers
+ * for the same customer share one list through {@link SingleFlight}.
+ *
+ * Every {@code orchestrator.status.refresh-interval} each active customer is
+ * read once and the result is fanned out to the sync waves tracking its
+ * services and to microservices without an HTTP health check, so a refresh
+ * costs O(customers) reads instead of O(services). With sharding only the
+ * customers owned by this replica are refreshed.
+ */
+@Service
+@Slf4j
+public class ApplicationStatusService {
+
+    private static final Set<SyncWaveStatus> ACTIVE_WAVES =
+            EnumSet.of(SyncWaveStatus.DEPLOYING, SyncWaveStatus.HEALTH_CHECKING, SyncWaveStatus.RETRYING);
+    private static final Set<MicroserviceStatus> ROLLBACK_STATUSES =
+            EnumSet.of(MicroserviceStatus.ROLLING_BACK, MicroserviceStatus.ROLLED_BACK);
+
+    private final ArgoResourceCache argoResourceCache;
+    private final SyncWaveProgressService syncWaveProgressService;
+    private final SyncWaveRepository syncWaveRepository;
+    private final MicroserviceRepository microserviceRepository;
+    private final ShardingService shardingService;
+    private final OrchestratorProperties orchestratorProperties;
+    private final BlockingSchedulers blockingSchedulers;
+    private final Counter listCalls;
+    private final SingleFlight<String, Map<String, ApplicationStatus>> lists = new SingleFlight<>();
+    private Disposable refreshLoop;
+
+    public ApplicationStatusService(ArgoResourceCache argoResourceCache,
+                                    SyncWaveProgressService syncWaveProgressService,
+                                    SyncWaveRepository syncWaveRepository,
+                                    MicroserviceRepository microserviceRepository,
+                                    ShardingService shardingService,
+                                    OrchestratorProperties orchestratorProperties,
+                                    BlockingSchedulers blockingSchedulers,
+                                    MeterRegistry meterRegistry) {
+        this.argoResourceCache = argoResourceCache;
+        this.syncWaveProgressService = syncWaveProgressService;
+        this.syncWaveRepository = syncWaveRepository;
+        this.microserviceRepository = microserviceRepository;
+        this.shardingService = shardingService;
+        this.orchestratorProperties = orchestratorProperties;
+        this.blockingSchedulers = blockingSchedulers;
+        this.listCalls = meterRegistry.counter("orchestrator.status.list_calls");
+    }
+
+    @PostConstruct
+    void start() {
+        OrchestratorProperties.StatusConfig config = orchestratorProperties.getStatus();
+        if (!config.isEnabled()) {
+            log.info("Application status refresh disabled");
+            return;
+        }
+        refreshLoop = Flux.interval(config.getRefreshInterval(), config.getRefreshInterval(), Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshAll()
+                        .onErrorResume(error -> {
+                            log.warn("Application status refresh failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshLoop != null) {
+            refreshLoop.dispose();
+        }
+    }
+
+    /**
+     * Status of every Application of a customer, keyed by service name, from one list call
+     */
+    public Mono<Map<String, ApplicationStatus>> statusesFor(String customerId) {
+        return lists.execute(customerId, () -> Mono.fromCallable(() -> {
+                    listCalls.increment();
+                    Map<String, ApplicationStatus> statuses = new HashMap<>();
+                    argoResourceCache.applicationsForCustomer(customerId).stream()
+                            .map(ArgoResourceCache::statusOf)
+                            .forEach(status -> statuses.put(status.getServiceName(), status));
+                    return statuses;
+                })
+                .subscribeOn(blockingSchedulers.argocd()));
+    }
+
+    /**
+     * Status of one service's Application, answered from the customer-wide list
+     */
+    public Mono<ApplicationStatus> status(String customerId, String serviceName) {
+        return statusesFor(customerId).mapNotNull(statuses -> statuses.get(serviceName));
+    }
+
+    /**
+     * Read one customer's Applications once and fan the result out to waiting consumers
+     *
+     * @return number of microservice statuses that changed
+     */
+    public Mono<Integer> refreshCustomer(String customerId) {
+        return statusesFor(customerId)
+                .publishOn(blockingSchedulers.jpa())
+                .map(statuses -> {
+                    syncWaveProgressService.reconcile(customerId, statuses.values());
+                    return updateMicroservices(customerId, statuses);
+                });
+    }
+
+    /**
+     * Refresh every customer owned by this replica with enabled microservices
+     * or an active sync wave
+     */
+    public Mono<Integer> refreshAll() {
+        return Mono.fromCallable(() -> {
+                    Set<String> customers = new TreeSet<>(microserviceRepository.findEnabledCustomerIds());
+                    syncWaveRepository.findByStatusIn(ACTIVE_WAVES)
+                            .forEach(wave -> customers.add(wave.getCustomerId()));
+                    return customers;
+                })
+                .subscribeOn(blockingSchedulers.jpa())
+                .flatMapMany(Flux::fromIterable)
+                .filter(shardingService::owns)
+                .flatMap(customerId -> refreshCustomer(customerId)
+                        .onErrorResume(error -> {
+                            log.warn("Status refresh of customer {} failed: {}", customerId, error.getMessage());
+                            return Mono.just(0);
+                        }), orchestratorProperties.getStatus().getConcurrency())
+                .reduce(0, Integer::sum)
+                .doOnNext(changed -> log.debug("Status refresh updated {} microservices", changed));
+    }
+
+    /**
+     * Derive the status of microservices that have no HTTP health check of their
+     * own; probed ones are owned by {@link HealthProbeService}
+     */
+    private int updateMicroservices(String customerId, Map<String, ApplicationStatus> statuses) {
+        int changed = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Microservice microservice : microserviceRepository.findByCustomerId(customerId)) {
+            ApplicationStatus status = statuses.get(microservice.getName());
+            if (status == null || microservice.getHealthCheck() != null
+                    || ROLLBACK_STATUSES.contains(microservice.getStatus())) {
+                continue;
+            }
+            MicroserviceStatus derived = switch (status.getState()) {
+                case HEALTHY -> MicroserviceStatus.HEALTHY;
+                case FAILED -> MicroserviceStatus.UNHEALTHY;
+                case PENDING, DEPLOYED -> MicroserviceStatus.DEPLOYING;
+            };
+            if (derived != microservice.getStatus()) {
+                microserviceRepository.updateHealthStatus(microservice.getId(), derived, now);
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,188 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.rtte.argocd.orchestrator.config.CacheProperties;
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.graph.SyncWaveAnalysis;
+import com.rtte.argocd.orchestrator.engine.graph.SyncWaveAnalyzer;
+import com.rtte.argocd.orchestrator.engine.graph.TransitiveClosureIndex;
+import com.rtte.argocd.orchestrator.engine.scheduling.RolloutSchedule;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of compiled dependency graphs and the structures derived
+ * from them, keyed by customer and config hash.
+ *
+ * Every lookup, hit or miss, costs one database round trip: the query for the
+ * customer's current config hash, which reads only that column. A hit then
+ * skips the snapshot load and compile. A new config hash misses, loads the
+ * graph from its snapshot and drops the entries of the customer's superseded
+ * hashes. Customers without a stored config have no hash to key on and are
+ * always loaded fresh. Size is bounded by
+ * {@code cache.customer-configs.max-size} and entries expire
+ * {@code cache.customer-configs.ttl} after they were loaded; hits, misses and
+ * evictions are exported to Micrometer under the cache name
+ * {@code compiled-graphs}.
+ */
+@Component
+@Slf4j
+public class CompiledGraphCache {
+
+    private final DependencyGraphSnapshotService dependencyGraphSnapshotService;
+    private final CustomerConfigRecordRepository customerConfigRecordRepository;
+    private final Cache<CacheKey, CachedGraph> cache;
+
+    public CompiledGraphCache(DependencyGraphSnapshotService dependencyGraphSnapshotService,
+                              CustomerConfigRecordRepository customerConfigRecordRepository,
+                              CacheProperties cacheProperties,
+                              MeterRegistry meterRegistry) {
+        this.dependencyGraphSnapshotService = dependencyGraphSnapshotService;
+        this.customerConfigRecordRepository = customerConfigRecordRepository;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheProperties.getCustomerConfigs().getMaxSize())
+                .expireAfterWrite(cacheProperties.getCustomerConfigs().getTtl())
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, "compiled-graphs");
+    }
+
+    /**
+     * Compiled graph of a customer's current configuration, with its derived structures
+     */
+    public Optional<CachedGraph> get(String customerId) {
+        Optional<String> configHash = customerConfigRecordRepository.findConfigHashByCustomerId(customerId);
+        if (configHash.isEmpty()) {
+            return dependencyGraphSnapshotService.loadCompiled(customerId)
+                    .map(graph -> new CachedGraph(customerId, null, graph));
+        }
+
+        CacheKey key = new CacheKey(customerId, configHash.get());
+        CachedGraph cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CompiledDependencyGraph> graph = dependencyGraphSnapshotService.loadCompiled(customerId, configHash.get());
+        if (graph.isEmpty()) {
+            return Optional.empty();
+        }
+        cache.asMap().keySet().removeIf(other -> other.customerId.equals(customerId) && !other.equals(key));
+        CachedGraph loaded = new CachedGraph(customerId, configHash.get(), graph.get());
+        CachedGraph raced = cache.asMap().putIfAbsent(key, loaded);
+        log.debug("Cached compiled graph for customer {} at config {}", customerId, configHash.get());
+        return Optional.of(raced != null ? raced : loaded);
+    }
+
+    /**
+     * Drop every cached entry of a customer
+     */
+    public void invalidate(String customerId) {
+        cache.asMap().keySet().removeIf(key -> key.customerId.equals(customerId));
+    }
+
+    /**
+     * A compiled graph plus structures derived from it, each computed at most once
+     */
+    public static final class CachedGraph {
+
+        private final String customerId;
+        private final String configHash;
+        private final CompiledDependencyGraph graph;
+        private final Supplier<TransitiveClosureIndex> closureIndex;
+        private final Supplier<SyncWaveAnalysis> syncWaveAnalysis;
+        // Per concurrency cap: the schedule and the historical durations it was computed from
+        private final Map<Integer, ScheduleEntry> schedules = new ConcurrentHashMap<>();
+
+        private CachedGraph(String customerId, String configHash, CompiledDependencyGraph graph) {
+            this.customerId = customerId;
+            this.configHash = configHash;
+            this.graph = graph;
+            this.closureIndex = Suppliers.memoize(() -> TransitiveClosureIndex.build(graph));
+            this.syncWaveAnalysis = Suppliers.memoize(() -> SyncWaveAnalyzer.analyze(graph));
+        }
+
+        public String getCustomerId() {
+            return customerId;
+        }
+
+        /**
+         * Config hash the graph was compiled from, or null for customers without a stored config
+         */
+        public String getConfigHash() {
+            return configHash;
+        }
+
+        public CompiledDependencyGraph getGraph() {
+            return graph;
+        }
+
+        public TransitiveClosureIndex getClosureIndex() {
+            return closureIndex.get();
+        }
+
+        public SyncWaveAnalysis getSyncWaveAnalysis() {
+            return syncWaveAnalysis.get();
+        }
+
+        /**
+         * Rollout schedule for a concurrency cap, recomputed only when the
+         * historical durations it depends on have changed
+         */
+        public RolloutSchedule schedule(int maxConcurrency, Map<String, Long> historicalDurations,
+                                        Supplier<RolloutSchedule> compute) {
+            ScheduleEntry cached = schedules.get(maxConcurrency);
+            if (cached != null && cached.historicalDurations.equals(historicalDurations)) {
+                return cached.schedule;
+            }
+            RolloutSchedule schedule = compute.get();
+            schedules.put(maxConcurrency, new ScheduleEntry(Map.copyOf(historicalDurations), schedule));
+            return schedule;
+        }
+    }
+
+    private static final class ScheduleEntry {
+
+        private final Map<String, Long> historicalDurations;
+        private final RolloutSchedule schedule;
+
+        private ScheduleEntry(Map<String, Long> historicalDurations, RolloutSchedule schedule) {
+            this.historicalDurations = historicalDurations;
+            this.schedule = schedule;
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final String customerId;
+        private final String configHash;
+
+        private CacheKey(String customerId, String configHash) {
+            this.customerId = customerId;
+            this.configHash = configHash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CacheKey key
+                    && customerId.equals(key.customerId)
+                    && configHash.equals(key.configHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(customerId, configHash);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.engine.graph.BlastRadius;
+import com.rtte.argocd.orchestrator.engine.graph.SyncWaveAnalysis;
+import com.rtte.argocd.orchestrator.engine.graph.TransitiveClosureIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service answering structural questions about customer dependency graphs
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DependencyAnalysisService {
+
+    private final CompiledGraphCache compiledGraphCache;
+
+    /**
+     * Compare a customer's configured sync waves with the waves implied by dependencies
+     */
+    public Optional<SyncWaveAnalysis> analyzeSyncWaves(String customerId) {
+        return compiledGraphCache.get(customerId)
+                .map(cached -> {
+                    SyncWaveAnalysis analysis = cached.getSyncWaveAnalysis();
+                    if (analysis.hasViolations()) {
+                        log.warn("Customer {} has sync waves that violate declared dependencies", customerId);
+                    }
+                    return analysis;
+                });
+    }
+
+    /**
+     * Transitive upstream and downstream sets of one service
+     */
+    public Optional<BlastRadius> blastRadius(String customerId, String serviceName) {
+        return closureIndex(customerId).map(index -> BlastRadius.builder()
+                .serviceName(serviceName)
+                .upstream(index.upstreamOf(serviceName).stream().sorted().toList())
+                .downstream(index.downstreamOf(serviceName).stream().sorted().toList())
+                .redeploySet(index.redeploySet(List.of(serviceName)))
+                .build());
+    }
+
+    /**
+     * Services to redeploy, dependencies first, when the given services change or are rolled back
+     */
+    public Optional<List<String>> redeploySet(String customerId, Collection<String> changedServices) {
+        return closureIndex(customerId).map(index -> index.redeploySet(changedServices));
+    }
+
+    /**
+     * Closure index for a customer's current configuration
+     */
+    public Optional<TransitiveClosureIndex> closureIndex(String customerId) {
+        return compiledGraphCache.get(customerId).map(CompiledGraphCache.CachedGraph::getClosureIndex);
+    }
+}
@@ -0,0 +1,147 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.graph.DependencyGraphCodec;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraphSnapshot;
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import com.rtte.argocd.orchestrator.repository.DependencyGraphRepository;
+import com.rtte.argocd.orchestrator.repository.DependencyGraphSnapshotRepository;
+import com.rtte.argocd.orchestrator.repository.MicroserviceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service loading compiled dependency graphs from their snapshots.
+ *
+ * Reads fetch a single snapshot row keyed by customer and config hash and
+ * decode it straight into a {@link CompiledDependencyGraph}; a hit never
+ * touches the normalized node and edge tables.
+ *
+ * On a miss the graph is built from the customer's enabled microservices and
+ * persisted with {@link #saveGraph} under the configuration hash, so the next
+ * read is a hit. Snapshots are written only by {@link #saveGraph}, the one
+ * place that knows which configuration a graph was built from. The
+ * {@code dependency_graphs} rows carry no config hash, so a graph read back
+ * from them is served as is and never stored under the current hash.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DependencyGraphSnapshotService {
+
+    private final DependencyGraphSnapshotRepository snapshotRepository;
+    private final DependencyGraphRepository dependencyGraphRepository;
+    private final CustomerConfigRecordRepository customerConfigRecordRepository;
+    private final MicroserviceRepository microserviceRepository;
+
+    /**
+     * Compiled graph for a customer's current configuration.
+     * Customers without a stored configuration are compiled from the graph tables.
+     */
+    @Transactional
+    public Optional<CompiledDependencyGraph> loadCompiled(String customerId) {
+        Optional<String> configHash = customerConfigRecordRepository.findConfigHashByCustomerId(customerId);
+        if (configHash.isEmpty()) {
+            return dependencyGraphRepository.findFirstByCustomerIdOrderByUpdatedAtDesc(customerId)
+                    .map(DependencyGraph::compile);
+        }
+        return loadCompiled(customerId, configHash.get());
+    }
+
+    /**
+     * Compiled graph for a specific configuration hash
+     */
+    @Transactional
+    public Optional<CompiledDependencyGraph> loadCompiled(String customerId, String configHash) {
+        Optional<DependencyGraphSnapshot> snapshot = snapshotRepository.findByCustomerIdAndConfigHash(customerId, configHash);
+        if (snapshot.isPresent() && snapshot.get().getFormatVersion() == DependencyGraphCodec.FORMAT_VERSION) {
+            try {
+                return Optional.of(DependencyGraphCodec.decode(snapshot.get().getPayload()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Discarding unreadable graph snapshot for customer {}: {}", customerId, e.getMessage());
+            }
+        }
+
+        Optional<DependencyGraph> built = buildGraph(customerId);
+        if (built.isPresent()) {
+            log.debug("No graph snapshot for customer {} at config {}, building it from the customer's services",
+                    customerId, configHash);
+            return Optional.of(saveGraph(built.get(), configHash).compile());
+        }
+
+        log.debug("No graph snapshot or services for customer {} at config {}, compiling the latest stored graph",
+                customerId, configHash);
+        return dependencyGraphRepository.findFirstByCustomerIdOrderByUpdatedAtDesc(customerId)
+                .map(DependencyGraph::compile);
+    }
+
+    /**
+     * Persist a graph to the normalized tables and refresh its snapshot
+     */
+    @Transactional
+    public DependencyGraph saveGraph(DependencyGraph graph, String configHash) {
+        DependencyGraph saved = dependencyGraphRepository.save(graph);
+        writeSnapshot(saved.getCustomerId(), configHash, saved.compile());
+        return saved;
+    }
+
+    /**
+     * Dependency graph of a customer's enabled microservices, one HARD edge
+     * per declared dependency, or empty when the customer has none
+     */
+    private Optional<DependencyGraph> buildGraph(String customerId) {
+        List<Microservice> microservices = microserviceRepository.findByCustomerId(customerId).stream()
+                .filter(microservice -> !Boolean.FALSE.equals(microservice.getEnabled()))
+                .toList();
+        if (microservices.isEmpty()) {
+            return Optional.empty();
+        }
+
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId(customerId);
+        graph.setGraphName(customerId);
+        for (Microservice microservice : microservices) {
+            graph.addNode(DependencyGraph.DependencyNode.builder()
+                    .serviceName(microservice.getName())
+                    .syncWave(microservice.getSyncWave() != null ? microservice.getSyncWave() : 0)
+                    .priority(0)
+                    .build());
+            if (microservice.getDependencies() != null) {
+                for (String dependency : microservice.getDependencies()) {
+                    graph.addEdge(DependencyGraph.DependencyEdge.builder()
+                            .fromService(microservice.getName())
+                            .toService(dependency)
+                            .dependencyType(DependencyGraph.DependencyEdge.DependencyType.HARD)
+                            .weight(1)
+                            .build());
+                }
+            }
+        }
+        return Optional.of(graph);
+    }
+
+    private void writeSnapshot(String customerId, String configHash, CompiledDependencyGraph graph) {
+        byte[] payload = DependencyGraphCodec.encode(graph);
+        DependencyGraphSnapshot snapshot = snapshotRepository.findByCustomerIdAndConfigHash(customerId, configHash)
+                .orElseGet(() -> DependencyGraphSnapshot.builder()
+                        .customerId(customerId)
+                        .configHash(configHash)
+                        .build());
+        snapshot.setFormatVersion(DependencyGraphCodec.FORMAT_VERSION);
+        snapshot.setNodeCount(graph.size());
+        snapshot.setEdgeCount(graph.edgeCount());
+        snapshot.setPayload(payload);
+        snapshotRepository.save(snapshot);
+
+        int removed = snapshotRepository.deleteSuperseded(customerId, configHash);
+        log.debug("Stored graph snapshot for customer {} ({} services, {} bytes, {} superseded removed)",
+                customerId, graph.size(), payload.length, removed);
+    }
+}
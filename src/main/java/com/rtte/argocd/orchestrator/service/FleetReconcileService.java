@@ -0,0 +1,95 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler;
+import com.rtte.argocd.orchestrator.engine.fleet.FleetReconcileSummary;
+import com.rtte.argocd.orchestrator.engine.fleet.FleetReconciler;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service reconciling every stored customer configuration in one pass.
+ *
+ * Customers from {@code customer_configs} are streamed through the
+ * {@link CustomerReconciler} with {@code orchestrator.sync.parallelism}
+ * customers in flight and a per-customer timeout of
+ * {@code orchestrator.sync.customer-timeout}. This is a one-shot pass with a
+ * summary; the periodic {@code orchestrator.sync.interval} loop goes through
+ * {@link ReconcileQueueService} so it never overlaps webhook-triggered work.
+ */
+@Service
+@Slf4j
+public class FleetReconcileService {
+
+    private final CustomerConfigRecordRepository customerConfigRecordRepository;
+    private final ObjectProvider<CustomerReconciler> customerReconciler;
+    private final OrchestratorProperties orchestratorProperties;
+    private final BlockingSchedulers blockingSchedulers;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<FleetReconcileSummary> lastSummary = new AtomicReference<>();
+
+    public FleetReconcileService(CustomerConfigRecordRepository customerConfigRecordRepository,
+                                 ObjectProvider<CustomerReconciler> customerReconciler,
+                                 OrchestratorProperties orchestratorProperties,
+                                 BlockingSchedulers blockingSchedulers,
+                                 MeterRegistry meterRegistry) {
+        this.customerConfigRecordRepository = customerConfigRecordRepository;
+        this.customerReconciler = customerReconciler;
+        this.orchestratorProperties = orchestratorProperties;
+        this.blockingSchedulers = blockingSchedulers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reconcile all customers
+     */
+    public Mono<FleetReconcileSummary> reconcileAll() {
+        CustomerReconciler reconciler = customerReconciler.getIfAvailable();
+        if (reconciler == null) {
+            log.warn("No CustomerReconciler available, skipping fleet reconcile");
+            return Mono.just(FleetReconcileSummary.builder()
+                    .startedAt(Instant.now())
+                    .duration(Duration.ZERO)
+                    .failures(Map.of())
+                    .p50(Duration.ZERO).p90(Duration.ZERO).p99(Duration.ZERO).max(Duration.ZERO)
+                    .build());
+        }
+        OrchestratorProperties.SyncConfig config = orchestratorProperties.getSync();
+        Flux<String> customers = Mono.fromCallable(customerConfigRecordRepository::findAllCustomerIds)
+                .subscribeOn(blockingSchedulers.jpa())
+                .flatMapIterable(ids -> ids);
+        return new FleetReconciler(reconciler, config.getParallelism(), config.getCustomerTimeout())
+                .reconcile(customers)
+                .doOnNext(this::record);
+    }
+
+    /**
+     * Summary of the most recent completed pass
+     */
+    public Optional<FleetReconcileSummary> lastSummary() {
+        return Optional.ofNullable(lastSummary.get());
+    }
+
+    private void record(FleetReconcileSummary summary) {
+        lastSummary.set(summary);
+        meterRegistry.timer("orchestrator.fleet.reconcile").record(summary.getDuration());
+        meterRegistry.counter("orchestrator.fleet.customers", "result", "applied").increment(summary.getApplied());
+        meterRegistry.counter("orchestrator.fleet.customers", "result", "skipped").increment(summary.getSkipped());
+        meterRegistry.counter("orchestrator.fleet.customers", "result", "failed").increment(summary.getFailed());
+        log.info("Fleet reconcile of {} customers in {}: {} applied, {} skipped, {} failed (p50 {}, p99 {})",
+                summary.getTotal(), summary.getDuration(), summary.getApplied(), summary.getSkipped(),
+                summary.getFailed(), summary.getP50(), summary.getP99());
+    }
+}
@@ -0,0 +1,195 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.probe.HealthProber;
+import com.rtte.argocd.orchestrator.engine.probe.ProbeTarget;
+import com.rtte.argocd.orchestrator.engine.timer.HierarchicalTimingWheel;
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import com.rtte.argocd.orchestrator.model.domain.Microservice.MicroserviceStatus;
+import com.rtte.argocd.orchestrator.repository.MicroserviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service executing the {@link Microservice.HealthCheck}s of all enabled microservices.
+ * Microservices without a health check are not probed; their status is derived
+ * from Argo CD by {@link ApplicationStatusService}. With sharding only
+ * microservices of customers owned by this replica are probed.
+ *
+ * Targets are loaded from the database on the JPA scheduler and refreshed every
+ * {@code orchestrator.probes.refresh-interval}; a target is rescheduled only
+ * when its health check or address changes. Probe results only move the
+ * per-target consecutive counters, and {@code status}/{@code lastHealthCheck}
+ * are written only when a threshold flips the status. Each refresh resyncs the
+ * targets' status with the database, so a status changed elsewhere, such as by
+ * a rollback, is the baseline for the next transition. Rolling-back and
+ * rolled-back microservices are never overwritten.
+ */
+@Service
+@Slf4j
+public class HealthProbeService implements HealthProber.ProbeListener {
+
+    private final MicroserviceRepository microserviceRepository;
+    private final ShardingService shardingService;
+    private final OrchestratorProperties orchestratorProperties;
+    private final BlockingSchedulers blockingSchedulers;
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+    private final Counter successes;
+    private final Counter failures;
+    private final Timer latency;
+
+    // Microservice id -> health check and address the scheduled target was built from
+    private final Map<Long, Object> scheduledDefinitions = new ConcurrentHashMap<>();
+    private HierarchicalTimingWheel wheel;
+    private HealthProber prober;
+    private Disposable refreshLoop;
+
+    public HealthProbeService(MicroserviceRepository microserviceRepository,
+                              ShardingService shardingService,
+                              OrchestratorProperties orchestratorProperties,
+                              BlockingSchedulers blockingSchedulers,
+                              WebClient.Builder webClientBuilder,
+                              MeterRegistry meterRegistry) {
+        this.microserviceRepository = microserviceRepository;
+        this.shardingService = shardingService;
+        this.orchestratorProperties = orchestratorProperties;
+        this.blockingSchedulers = blockingSchedulers;
+        this.webClientBuilder = webClientBuilder;
+        this.meterRegistry = meterRegistry;
+        this.successes = meterRegistry.counter("orchestrator.probes", "result", "success");
+        this.failures = meterRegistry.counter("orchestrator.probes", "result", "failure");
+        this.latency = meterRegistry.timer("orchestrator.probe.latency");
+    }
+
+    @PostConstruct
+    void start() {
+        OrchestratorProperties.ProbeConfig config = orchestratorProperties.getProbes();
+        if (!config.isEnabled()) {
+            log.info("Health probes disabled");
+            return;
+        }
+        ConnectionProvider connections = ConnectionProvider.builder("health-probes")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(config.getMaxIdleTime())
+                .build();
+        WebClient webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        // Firing a probe only subscribes to a WebClient request, so it runs on the wheel's driver thread
+        OrchestratorProperties.TimerConfig timers = orchestratorProperties.getTimers();
+        wheel = new HierarchicalTimingWheel(config.getTickDuration(), timers.getBucketBits(), timers.getLevels(),
+                Clock.systemDefaultZone(), Runnable::run);
+        meterRegistry.gauge("orchestrator.probe.timers", wheel, HierarchicalTimingWheel::size);
+        wheel.start();
+        prober = new HealthProber(webClient, wheel, config.getJitter(), this);
+
+        refreshLoop = Flux.interval(Duration.ZERO, config.getRefreshInterval(), Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::refreshTargets).subscribeOn(blockingSchedulers.jpa()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshLoop != null) {
+            refreshLoop.dispose();
+        }
+        if (prober != null) {
+            prober.close();
+        }
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    /**
+     * Reconcile scheduled probes with the enabled microservices
+     */
+    void refreshTargets() {
+        try {
+            Set<Long> present = new HashSet<>();
+            for (Microservice microservice : microserviceRepository.findByEnabledTrue()) {
+                if (microservice.getHealthCheck() == null || !shardingService.owns(microservice.getCustomerId())) {
+                    continue;
+                }
+                URI uri = targetUri(microservice);
+                Object definition = List.of(String.valueOf(microservice.getHealthCheck()), uri);
+                present.add(microservice.getId());
+                if (!definition.equals(scheduledDefinitions.put(microservice.getId(), definition))) {
+                    prober.schedule(ProbeTarget.of(microservice, uri));
+                } else {
+                    prober.target(microservice.getId())
+                            .ifPresent(target -> target.syncStatus(microservice.getStatus()));
+                }
+            }
+            for (Long id : Set.copyOf(scheduledDefinitions.keySet())) {
+                if (!present.contains(id)) {
+                    scheduledDefinitions.remove(id);
+                    prober.cancel(id);
+                }
+            }
+            log.debug("Health probes scheduled for {} microservices", present.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh health probe targets: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onResult(ProbeTarget target, boolean success, long latencyNanos) {
+        (success ? successes : failures).increment();
+        latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onTransition(ProbeTarget target, MicroserviceStatus status) {
+        log.info("Service {} of customer {} is now {}", target.getServiceName(), target.getCustomerId(), status);
+        meterRegistry.counter("orchestrator.probe.transitions", "status", status.name()).increment();
+        LocalDateTime checkedAt = LocalDateTime.now();
+        Mono.fromCallable(() -> microserviceRepository.updateHealthStatus(target.getMicroserviceId(), status, checkedAt))
+                .subscribeOn(blockingSchedulers.jpa())
+                .subscribe(updated -> {
+                    if (updated == 0) {
+                        log.debug("Health status of {} not stored, it is rolling back or was removed",
+                                target.getServiceName());
+                    }
+                }, error -> log.warn("Failed to store health status of {}: {}",
+                        target.getServiceName(), error.getMessage()));
+    }
+
+    private URI targetUri(Microservice microservice) {
+        String endpoint = microservice.getHealthCheck() != null && microservice.getHealthCheck().getEndpoint() != null
+                ? microservice.getHealthCheck().getEndpoint() : "/health";
+        String namespace = microservice.getNamespace() != null ? microservice.getNamespace() : microservice.getCustomerId();
+        String base = orchestratorProperties.getProbes().getBaseUrlTemplate()
+                .replace("{service}", microservice.getName())
+                .replace("{namespace}", namespace);
+        return URI.create(base + (endpoint.startsWith("/") ? endpoint : "/" + endpoint));
+    }
+}
@@ -0,0 +1,252 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler;
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler.ReconcileResult;
+import com.rtte.argocd.orchestrator.engine.queue.RequeueRateLimiter;
+import com.rtte.argocd.orchestrator.engine.queue.WorkQueue;
+import com.rtte.argocd.orchestrator.engine.timer.HierarchicalTimingWheel;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service driving customer reconciles through a {@link WorkQueue} keyed by customer ID.
+ *
+ * Every {@code orchestrator.sync.interval} all customers in
+ * {@code customer_configs} are enqueued; webhooks and the REST API enqueue
+ * single customers through {@link #enqueue}. Because the queue deduplicates
+ * waiting keys and never hands one key to two workers, a webhook arriving
+ * during a periodic pass results in at most one more reconcile of that
+ * customer, after the running one finishes.
+ *
+ * With sharding enabled only customers owned by this replica are queued.
+ * Requests for other customers are forwarded to the owning replica, and a
+ * ring change queues the customers this replica has gained.
+ *
+ * {@code orchestrator.sync.workers} workers drain the queue on a dedicated
+ * scheduler from {@link BlockingSchedulers#newWorkers}, so
+ * {@code orchestrator.blocking.reconcile} picks platform or virtual threads;
+ * delayed requeues fire on {@link BlockingSchedulers#reconcile()}. A failed
+ * or timed-out reconcile is requeued with per-customer exponential backoff
+ * under an overall requeue rate; a success resets it.
+ */
+@Service
+@Slf4j
+public class ReconcileQueueService {
+
+    public static final String FORWARDED_HEADER = "X-Orchestrator-Forwarded";
+
+    private static final Duration TAKE_TIMEOUT = Duration.ofSeconds(1);
+
+    private final CustomerConfigRecordRepository customerConfigRecordRepository;
+    private final ObjectProvider<CustomerReconciler> customerReconciler;
+    private final ShardingService shardingService;
+    private final OrchestratorProperties orchestratorProperties;
+    private final BlockingSchedulers blockingSchedulers;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueLatency;
+    private HierarchicalTimingWheel wheel;
+    private WorkQueue<String> queue;
+    private Scheduler workers;
+    private Disposable resyncLoop;
+    private volatile boolean running;
+
+    public ReconcileQueueService(CustomerConfigRecordRepository customerConfigRecordRepository,
+                                 ObjectProvider<CustomerReconciler> customerReconciler,
+                                 ShardingService shardingService,
+                                 OrchestratorProperties orchestratorProperties,
+                                 BlockingSchedulers blockingSchedulers,
+                                 MeterRegistry meterRegistry,
+                                 WebClient.Builder webClientBuilder) {
+        this.customerConfigRecordRepository = customerConfigRecordRepository;
+        this.customerReconciler = customerReconciler;
+        this.shardingService = shardingService;
+        this.orchestratorProperties = orchestratorProperties;
+        this.blockingSchedulers = blockingSchedulers;
+        this.webClient = webClientBuilder.clone().build();
+        this.meterRegistry = meterRegistry;
+        this.queueLatency = Timer.builder("orchestrator.reconcile.queue.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        OrchestratorProperties.SyncConfig config = orchestratorProperties.getSync();
+        OrchestratorProperties.TimerConfig timers = orchestratorProperties.getTimers();
+        wheel = new HierarchicalTimingWheel(timers.getTickDuration(), timers.getBucketBits(), timers.getLevels(),
+                Clock.systemDefaultZone(), task -> blockingSchedulers.reconcile().schedule(task));
+        queue = new WorkQueue<>(
+                new RequeueRateLimiter<>(config.getRequeueBaseDelay(), config.getRequeueMaxDelay(),
+                        config.getRequeueRate(), config.getRequeueBurst(), System::nanoTime),
+                (delay, task) -> wheel.schedule(delay, task),
+                System::nanoTime);
+        meterRegistry.gauge("orchestrator.reconcile.queue.depth", queue, WorkQueue::depth);
+        meterRegistry.gauge("orchestrator.reconcile.queue.delayed", queue, WorkQueue::delayed);
+        meterRegistry.gauge("orchestrator.reconcile.in_progress", queue, WorkQueue::processing);
+        FunctionCounter.builder("orchestrator.reconcile.retries", queue, WorkQueue::retries)
+                .register(meterRegistry);
+        wheel.start();
+
+        if (customerReconciler.getIfAvailable() == null) {
+            log.warn("No CustomerReconciler available, reconcile queue workers not started");
+            return;
+        }
+        running = true;
+        workers = blockingSchedulers.newWorkers(BlockingSchedulers.CallSite.RECONCILE, config.getWorkers(),
+                "reconcile-worker");
+        for (int i = 0; i < config.getWorkers(); i++) {
+            workers.schedule(this::work);
+        }
+        shardingService.addListener(ring -> enqueueAll());
+        resyncLoop = Flux.interval(Duration.ZERO, config.getInterval(), Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(this::enqueueAll).subscribeOn(blockingSchedulers.jpa()))
+                .subscribe();
+        log.info("Reconcile queue started with {} workers, resync every {}", config.getWorkers(),
+                config.getInterval());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (resyncLoop != null) {
+            resyncLoop.dispose();
+        }
+        if (queue != null) {
+            queue.shutDown();
+        }
+        if (workers != null) {
+            workers.dispose();
+        }
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    /**
+     * Queue a reconcile of one customer
+     *
+     * @return false if the customer was already waiting
+     */
+    public boolean enqueue(String customerId) {
+        return queue.add(customerId);
+    }
+
+    /**
+     * Queue a customer on the replica owning it
+     *
+     * @param forwarded whether another replica already routed the request here
+     * @return whether the customer was newly queued
+     */
+    public Mono<Boolean> route(String customerId, boolean forwarded) {
+        if (forwarded || shardingService.owns(customerId)) {
+            return Mono.just(enqueue(customerId));
+        }
+        String owner = shardingService.ownerOf(customerId);
+        if (owner.isEmpty()) {
+            return Mono.error(new IllegalStateException("No replica owns customer " + customerId + " yet"));
+        }
+        return webClient.post()
+                .uri(shardingService.peerUrl(owner) + "/reconcile/{customerId}", customerId)
+                .header(FORWARDED_HEADER, "true")
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> Boolean.TRUE.equals(body.get("queued")));
+    }
+
+    /**
+     * Queue every stored customer owned by this replica
+     *
+     * @return number of customers newly queued
+     */
+    public int enqueueAll() {
+        try {
+            List<String> customerIds = customerConfigRecordRepository.findAllCustomerIds();
+            int added = (int) customerIds.stream()
+                    .filter(shardingService::owns)
+                    .filter(queue::add)
+                    .count();
+            log.debug("Resync queued {} of {} customers", added, customerIds.size());
+            return added;
+        } catch (RuntimeException e) {
+            log.warn("Periodic resync could not list customers: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Customers ready to be reconciled
+     */
+    public int depth() {
+        return queue.depth();
+    }
+
+    private void work() {
+        while (running) {
+            Optional<WorkQueue.Item<String>> item;
+            try {
+                item = queue.take(TAKE_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            item.ifPresent(this::process);
+        }
+    }
+
+    private void process(WorkQueue.Item<String> item) {
+        String customerId = item.key();
+        if (!shardingService.owns(customerId)) {
+            log.debug("Customer {} moved to replica {}, dropping it", customerId, shardingService.ownerOf(customerId));
+            queue.forget(customerId);
+            queue.done(customerId);
+            return;
+        }
+        queueLatency.record(item.queued());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ReconcileResult result;
+        try {
+            result = Optional.ofNullable(customerReconciler.getObject().reconcile(customerId)
+                            .timeout(orchestratorProperties.getSync().getCustomerTimeout())
+                            .block())
+                    .orElse(ReconcileResult.SKIPPED);
+        } catch (RuntimeException e) {
+            log.warn("Reconcile of customer {} failed: {}", customerId, e.toString());
+            result = ReconcileResult.FAILED;
+        }
+        try {
+            if (result == ReconcileResult.FAILED) {
+                Duration backoff = queue.requeueRateLimited(customerId);
+                log.info("Requeued customer {} in {} after {} failures", customerId, backoff,
+                        queue.failures(customerId));
+            } else {
+                queue.forget(customerId);
+            }
+        } finally {
+            queue.done(customerId);
+            sample.stop(meterRegistry.timer("orchestrator.reconcile.work", "result", result.name().toLowerCase()));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.execution.DagExecutionEngine;
+import com.rtte.argocd.orchestrator.engine.execution.DagExecutionResult;
+import com.rtte.argocd.orchestrator.engine.execution.ServiceDeployer;
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.scheduling.CriticalPathScheduler;
+import com.rtte.argocd.orchestrator.engine.scheduling.RolloutSchedule;
+import com.rtte.argocd.orchestrator.integration.argocd.ArgoApplicationDeployer;
+import com.rtte.argocd.orchestrator.model.domain.Deployment;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.repository.DeploymentRepository;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service computing and executing rollout schedules for customers
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RolloutSchedulingService {
+
+    private final CompiledGraphCache compiledGraphCache;
+    private final DeploymentRepository deploymentRepository;
+    private final OrchestratorProperties orchestratorProperties;
+    private final BlockingSchedulers blockingSchedulers;
+    private final ArgoApplicationDeployer argoApplicationDeployer;
+    private final SyncWaveRepository syncWaveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncWaveProgressService syncWaveProgressService;
+    private final DagExecutionEngine dagExecutionEngine = new DagExecutionEngine();
+    private final Set<String> runningRollouts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Schedule a rollout of a customer's services
+     *
+     * @param maxConcurrency concurrency cap, or null to use the configured default
+     */
+    public Optional<RolloutSchedule> scheduleRollout(String customerId, Integer maxConcurrency) {
+        OrchestratorProperties.SchedulingConfig scheduling = orchestratorProperties.getScheduling();
+        int cap = maxConcurrency != null ? maxConcurrency : scheduling.getMaxConcurrency();
+        CriticalPathScheduler scheduler = new CriticalPathScheduler(
+                scheduling.getDefaultServiceDuration(), scheduling.getEdgeWeightUnit());
+
+        return compiledGraphCache.get(customerId)
+                .map(cached -> {
+                    Map<String, Long> durations = historicalDurations(customerId);
+                    return cached.schedule(cap, durations, () -> {
+                        RolloutSchedule schedule = scheduler.schedule(cached.getGraph(), durations, cap);
+                        schedule.setCustomerId(customerId);
+                        log.debug("Scheduled rollout for customer {}: makespan {}s, critical path {}s",
+                                customerId, schedule.getMakespanSeconds(), schedule.getCriticalPathSeconds());
+                        return schedule;
+                    });
+                });
+    }
+
+    /**
+     * Start a rollout of a customer's services through Argo CD in the background
+     *
+     * @return false if a rollout of the customer is already running
+     */
+    public boolean startRollout(String customerId) {
+        if (!runningRollouts.add(customerId)) {
+            return false;
+        }
+        executeRollout(customerId, argoApplicationDeployer.forCustomer(customerId))
+                .doFinally(signal -> runningRollouts.remove(customerId))
+                // Failures are logged by executeRollout
+                .onErrorResume(error -> Mono.empty())
+                .subscribe();
+        return true;
+    }
+
+    /**
+     * Roll out a customer's services without wave barriers: each service starts
+     * as soon as its HARD dependencies are healthy.
+     *
+     * The configured sync waves are still recorded: one {@code sync_waves} row
+     * per wave is created up front, each wave is started and tracked by
+     * {@link SyncWaveProgressService} when the first of its services is
+     * deployed, and waves none of whose services ran are cancelled at the end.
+     */
+    public Mono<DagExecutionResult> executeRollout(String customerId, ServiceDeployer deployer) {
+        return Mono.fromCallable(() -> compiledGraphCache.get(customerId)
+                        .map(CompiledGraphCache.CachedGraph::getGraph)
+                        .map(graph -> new WaveStartingDeployer(graph, createWaves(customerId, graph), deployer)))
+                .subscribeOn(blockingSchedulers.jpa())
+                .flatMap(rollout -> rollout
+                        .map(waves -> Mono.usingWhen(Mono.just(waves),
+                                tracked -> dagExecutionEngine.execute(tracked.graph, tracked,
+                                        orchestratorProperties.getScheduling().getMaxConcurrency()),
+                                tracked -> Mono.fromRunnable(tracked::cancelUnstarted)
+                                        .subscribeOn(blockingSchedulers.jpa())))
+                        .orElseGet(() -> Mono.error(new IllegalArgumentException(
+                                "No dependency graph found for customer: " + customerId))))
+                .doOnSuccess(result -> log.info("Rollout for customer {} finished in {}s, successful: {}",
+                        customerId, result.getDuration().toSeconds(), result.isSuccessful()))
+                .doOnError(error -> log.error("Rollout for customer {} failed", customerId, error));
+    }
+
+    private List<SyncWave> createWaves(String customerId, CompiledDependencyGraph graph) {
+        Map<Integer, List<String>> servicesByWave = new TreeMap<>();
+        for (int id = 0; id < graph.size(); id++) {
+            servicesByWave.computeIfAbsent(graph.syncWave(id), wave -> new ArrayList<>()).add(graph.serviceName(id));
+        }
+        List<SyncWave> waves = new ArrayList<>(servicesByWave.size());
+        servicesByWave.forEach((waveNumber, services) -> {
+            SyncWave wave = new SyncWave();
+            wave.setCustomerId(customerId);
+            wave.setWaveNumber(waveNumber);
+            wave.setWaveName(SyncWave.SyncWaveType.fromWaveNumber(waveNumber).getDisplayName());
+            wave.setServices(services);
+            wave.setTotalServices(services.size());
+            waves.add(wave);
+        });
+        return transactionTemplate.execute(status -> syncWaveRepository.saveAll(waves));
+    }
+
+    /**
+     * Deployer starting and tracking a service's sync wave before the first of its services deploys
+     */
+    private final class WaveStartingDeployer implements ServiceDeployer {
+
+        private final CompiledDependencyGraph graph;
+        private final List<SyncWave> waves;
+        private final ServiceDeployer deployer;
+        private final Map<String, SyncWave> waveByService = new HashMap<>();
+        private final Set<Long> started = ConcurrentHashMap.newKeySet();
+
+        private WaveStartingDeployer(CompiledDependencyGraph graph, List<SyncWave> waves, ServiceDeployer deployer) {
+            this.graph = graph;
+            this.waves = waves;
+            this.deployer = deployer;
+            waves.forEach(wave -> wave.getServices().forEach(service -> waveByService.put(service, wave)));
+        }
+
+        @Override
+        public Mono<Boolean> deployAndAwaitHealthy(String serviceName) {
+            SyncWave wave = waveByService.get(serviceName);
+            Mono<Void> start = wave != null && started.add(wave.getId())
+                    ? Mono.<Void>fromRunnable(() -> startWave(wave))
+                            .subscribeOn(blockingSchedulers.jpa())
+                            .onErrorResume(error -> {
+                                log.warn("Could not start sync wave {} of customer {}: {}", wave.getWaveNumber(),
+                                        wave.getCustomerId(), error.getMessage());
+                                return Mono.empty();
+                            })
+                    : Mono.empty();
+            return start.then(Mono.defer(() -> deployer.deployAndAwaitHealthy(serviceName)));
+        }
+
+        private void startWave(SyncWave wave) {
+            wave.start();
+            transactionTemplate.executeWithoutResult(status -> syncWaveRepository.save(wave));
+            syncWaveProgressService.track(wave);
+        }
+
+        private void cancelUnstarted() {
+            List<Long> unstarted = waves.stream()
+                    .map(SyncWave::getId)
+                    .filter(id -> !started.contains(id))
+                    .toList();
+            if (unstarted.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                List<SyncWave> pending = syncWaveRepository.findAllById(unstarted);
+                pending.forEach(wave -> {
+                    wave.setStatus(SyncWave.SyncWaveStatus.CANCELLED);
+                    wave.setEndTime(LocalDateTime.now());
+                });
+                syncWaveRepository.saveAll(pending);
+            });
+            log.info("Cancelled {} sync waves of customer {} whose services never started", unstarted.size(),
+                    waves.get(0).getCustomerId());
+        }
+    }
+
+    private Map<String, Long> historicalDurations(String customerId) {
+        Map<String, Long> durations = new HashMap<>();
+        deploymentRepository.findAverageDurations(customerId, Deployment.DeploymentStatus.SUCCESS)
+                .forEach(row -> durations.put(row.getApplicationName(), Math.round(row.getAverageDurationSeconds())));
+        return durations;
+    }
+}
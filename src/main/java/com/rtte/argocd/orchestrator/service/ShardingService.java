@@ -0,0 +1,190 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.shard.ConsistentHashRing;
+import com.rtte.argocd.orchestrator.integration.kubernetes.LeaseMembership;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Service splitting customers across orchestrator replicas.
+ *
+ * With {@code orchestrator.sharding.enabled} every replica joins a
+ * {@link LeaseMembership} group named by {@code orchestrator.sharding.group}
+ * and renews its Lease every {@code renew-interval}. The live members form a
+ * {@link ConsistentHashRing} and each customer is reconciled only by the
+ * replica owning it, so adding a replica takes over about 1/N of the
+ * customers and leaves the rest where they are. Listeners are told whenever
+ * the ring changes.
+ *
+ * A replica that cannot renew its Lease for {@code lease-duration} has
+ * already dropped out of the other replicas' rings, so it stops owning any
+ * customer until a renew succeeds again rather than reconciling alongside
+ * the replicas that took its customers over.
+ *
+ * Without sharding this replica owns every customer.
+ */
+@Service
+@Slf4j
+public class ShardingService {
+
+    private final OrchestratorProperties orchestratorProperties;
+    private final KubernetesClient kubernetesClient;
+    private final BlockingSchedulers blockingSchedulers;
+    private final MeterRegistry meterRegistry;
+    private final Counter rebalances;
+    private final List<Consumer<ConsistentHashRing>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConsistentHashRing ring;
+    // System.nanoTime() of the last successful Lease renew
+    private volatile long renewedAt;
+    private LeaseMembership membership;
+    private Disposable renewLoop;
+
+    public ShardingService(OrchestratorProperties orchestratorProperties, KubernetesClient kubernetesClient,
+                           BlockingSchedulers blockingSchedulers, MeterRegistry meterRegistry) {
+        this.orchestratorProperties = orchestratorProperties;
+        this.kubernetesClient = kubernetesClient;
+        this.blockingSchedulers = blockingSchedulers;
+        this.meterRegistry = meterRegistry;
+        this.rebalances = meterRegistry.counter("orchestrator.shard.rebalances");
+        this.ring = ConsistentHashRing.of(Set.of(orchestratorProperties.getPodName()), 1);
+    }
+
+    @PostConstruct
+    void start() {
+        OrchestratorProperties.ShardingConfig config = orchestratorProperties.getSharding();
+        if (!config.isEnabled()) {
+            return;
+        }
+        ring = ConsistentHashRing.of(Set.of(), config.getVirtualNodes());
+        membership = new LeaseMembership(kubernetesClient, orchestratorProperties.getPodNamespace(),
+                config.getGroup(), orchestratorProperties.getPodName(), config.getLeaseDuration(),
+                Clock.systemUTC());
+        meterRegistry.gauge("orchestrator.shard.members", this, sharding -> sharding.ring.members().size());
+        renewLoop = Flux.interval(Duration.ZERO, config.getRenewInterval(), Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::refresh).subscribeOn(blockingSchedulers.kubernetes()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (renewLoop != null) {
+            renewLoop.dispose();
+        }
+        if (membership != null) {
+            membership.release();
+        }
+    }
+
+    /**
+     * Register a listener for ring changes
+     */
+    public void addListener(Consumer<ConsistentHashRing> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Whether this replica reconciles the customer
+     */
+    public boolean owns(String customerId) {
+        return ownerOf(customerId).equals(orchestratorProperties.getPodName());
+    }
+
+    /**
+     * Replica owning the customer, or the empty string before any member is known
+     * or while this replica's own Lease has lapsed
+     */
+    public String ownerOf(String customerId) {
+        if (leaseExpired()) {
+            return "";
+        }
+        return ring.ownerOf(customerId).orElse("");
+    }
+
+    /**
+     * Base URL of a peer replica, from {@code orchestrator.sharding.peer-url-template}
+     */
+    public String peerUrl(String member) {
+        return orchestratorProperties.getSharding().getPeerUrlTemplate()
+                .replace("{pod}", member)
+                .replace("{namespace}", orchestratorProperties.getPodNamespace());
+    }
+
+    /**
+     * Live members of the ring
+     */
+    public SortedSet<String> members() {
+        return ring.members();
+    }
+
+    /**
+     * Renew this replica's Lease and rebuild the ring if membership changed
+     */
+    void refresh() {
+        SortedSet<String> members;
+        try {
+            // Taken before the write, so the fence never outlives the Lease it stands for
+            long renewing = System.nanoTime();
+            membership.renew();
+            renewedAt = renewing;
+            members = new TreeSet<>(membership.members());
+        } catch (RuntimeException e) {
+            if (leaseExpired() && !ring.members().isEmpty()) {
+                log.warn("Shard lease not renewed for {}, releasing all customers: {}",
+                        orchestratorProperties.getSharding().getLeaseDuration(), e.getMessage());
+                update(ConsistentHashRing.of(Set.of(), orchestratorProperties.getSharding().getVirtualNodes()));
+            } else {
+                log.warn("Shard membership refresh failed, keeping {} members: {}", ring.members().size(),
+                        e.getMessage());
+            }
+            return;
+        }
+        // Our own Lease was just renewed, so count ourselves even if the list lags behind
+        members.add(membership.identity());
+        if (members.equals(ring.members())) {
+            return;
+        }
+        update(ConsistentHashRing.of(members, orchestratorProperties.getSharding().getVirtualNodes()));
+    }
+
+    /**
+     * Whether this replica's Lease may have expired on the API server
+     */
+    private boolean leaseExpired() {
+        return membership != null
+                && System.nanoTime() - renewedAt > orchestratorProperties.getSharding().getLeaseDuration().toNanos();
+    }
+
+    private void update(ConsistentHashRing next) {
+        log.info("Shard ring changed from {} to {}", ring.members(), next.members());
+        ring = next;
+        rebalances.increment();
+        listeners.forEach(listener -> {
+            try {
+                listener.accept(next);
+            } catch (RuntimeException e) {
+                log.warn("Shard ring listener failed: {}", e.getMessage());
+            }
+        });
+    }
+}
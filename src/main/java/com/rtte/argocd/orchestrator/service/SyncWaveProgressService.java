@@ -0,0 +1,266 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.progress.ServiceState;
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgress;
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgressTracker;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.model.dto.ApplicationStatus;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Service pushing Argo CD Application watch events into sync wave progress.
+ *
+ * Running waves are registered with {@link #track(SyncWave)}. Every
+ * Application add/update/delete from the informer is mapped to its customer
+ * and service and applied to the wave tracking that service, so counts move
+ * as events arrive and a wave completes or fails on the event that decides
+ * it, with no poll interval in between.
+ *
+ * Writes are coalesced: each event only replaces the wave's pending progress,
+ * and pending waves are flushed to {@code sync_waves} in one batch every
+ * {@code orchestrator.progress.flush-interval}, or right away when a wave
+ * reaches a terminal state. A burst of health reports from one wave therefore
+ * costs one UPDATE instead of one per event. Flushes run on a dedicated
+ * single thread, off the informer thread.
+ *
+ * Listeners registered with {@link #addTerminalListener(Consumer)} are
+ * told about every completed or failed wave, on the flush thread after its
+ * terminal progress has been written.
+ *
+ * Tracked waves get their timeout armed on {@link SyncWaveTimerService};
+ * a wave that times out is dropped here without flushing further progress.
+ * Progress is also checkpointed locally, and once the application is ready
+ * every wave that was deploying or health checking before a restart is
+ * tracked again from its checkpoint, if this replica owns its customer.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SyncWaveProgressService implements ResourceEventHandler<GenericKubernetesResource> {
+
+    private final ArgoResourceCache argoResourceCache;
+    private final SyncWaveRepository syncWaveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrchestratorProperties orchestratorProperties;
+    private final SyncWaveTimerService syncWaveTimerService;
+    private final WaveCheckpointService waveCheckpointService;
+    private final ShardingService shardingService;
+
+    // customerId -> serviceName -> tracker of the running wave containing that service
+    private final Map<String, Map<String, WaveProgressTracker>> trackersByService = new ConcurrentHashMap<>();
+    private final Map<Long, WaveProgressTracker> trackersByWave = new ConcurrentHashMap<>();
+    // Latest unflushed progress per wave; newer events overwrite older ones
+    private final Map<Long, WaveProgress> pendingFlush = new ConcurrentHashMap<>();
+    private final List<Consumer<WaveProgress>> terminalListeners = new CopyOnWriteArrayList<>();
+    private final Scheduler persistenceScheduler = Schedulers.newSingle("sync-wave-progress");
+    private Disposable flushLoop;
+
+    @PostConstruct
+    void start() {
+        Duration interval = orchestratorProperties.getProgress().getFlushInterval();
+        flushLoop = Flux.interval(interval, interval, persistenceScheduler)
+                .subscribe(tick -> flush());
+        argoResourceCache.addApplicationHandler(this);
+        syncWaveTimerService.addListener((wave, kind) -> {
+            if (kind != SyncWaveTimerService.TimerKind.RETRY) {
+                // The wave is already TIMED_OUT; late progress must not overwrite it
+                untrack(wave.getId());
+                pendingFlush.remove(wave.getId());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushLoop != null) {
+            flushLoop.dispose();
+        }
+        flush();
+        persistenceScheduler.dispose();
+    }
+
+    /**
+     * Register a listener for waves reaching a terminal state, invoked after
+     * the terminal progress has been flushed
+     */
+    public void addTerminalListener(Consumer<WaveProgress> listener) {
+        terminalListeners.add(listener);
+    }
+
+    /**
+     * Start tracking a persisted, started wave. Current Application states are
+     * applied immediately, so services that are already healthy count right away.
+     *
+     * @return emits the terminal progress once the wave completes or fails
+     */
+    public Mono<WaveProgress> track(SyncWave wave) {
+        List<String> services = wave.getServices() != null ? wave.getServices() : List.of();
+        WaveProgressTracker tracker = new WaveProgressTracker(wave.getId(), wave.getCustomerId(),
+                wave.getWaveNumber(), services);
+        // Progress left over from an earlier attempt must not overwrite this one
+        pendingFlush.remove(wave.getId());
+        trackersByWave.put(wave.getId(), tracker);
+        Map<String, WaveProgressTracker> customerTrackers =
+                trackersByService.computeIfAbsent(wave.getCustomerId(), customer -> new ConcurrentHashMap<>());
+        services.forEach(service -> customerTrackers.put(service, tracker));
+        syncWaveTimerService.schedule(wave);
+
+        if (services.isEmpty()) {
+            persist(tracker.snapshot());
+        } else {
+            argoResourceCache.applicationsForCustomer(wave.getCustomerId()).forEach(this::apply);
+        }
+        return tracker.completion();
+    }
+
+    /**
+     * Track again every owned wave that was deploying or health checking before a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void resume() {
+        List<SyncWave> running = waveCheckpointService.activeWaves().stream()
+                .filter(wave -> wave.getStatus() == SyncWaveStatus.DEPLOYING
+                        || wave.getStatus() == SyncWaveStatus.HEALTH_CHECKING)
+                .filter(wave -> !trackersByWave.containsKey(wave.getId()))
+                .filter(wave -> shardingService.owns(wave.getCustomerId()))
+                .toList();
+        running.forEach(this::track);
+        log.info("Resumed tracking of {} running sync waves", running.size());
+    }
+
+    /**
+     * Stop tracking a wave, e.g. when it is cancelled or has timed out
+     */
+    public void untrack(Long waveId) {
+        WaveProgressTracker tracker = trackersByWave.remove(waveId);
+        if (tracker == null) {
+            return;
+        }
+        Map<String, WaveProgressTracker> customerTrackers = trackersByService.get(tracker.getCustomerId());
+        if (customerTrackers != null) {
+            tracker.services().forEach(service -> customerTrackers.remove(service, tracker));
+        }
+    }
+
+    /**
+     * Live counts of a tracked wave
+     */
+    public Optional<WaveProgress> progress(Long waveId) {
+        return Optional.ofNullable(trackersByWave.get(waveId)).map(WaveProgressTracker::snapshot);
+    }
+
+    @Override
+    public void onAdd(GenericKubernetesResource application) {
+        apply(application);
+    }
+
+    @Override
+    public void onUpdate(GenericKubernetesResource previous, GenericKubernetesResource application) {
+        apply(application);
+    }
+
+    @Override
+    public void onDelete(GenericKubernetesResource application, boolean deletedFinalStateUnknown) {
+        ArgoResourceCache.customerOf(application).ifPresent(customerId ->
+                apply(customerId, ArgoResourceCache.serviceNameOf(application), ServiceState.PENDING));
+    }
+
+    /**
+     * Apply a batch of Application statuses read for one customer, catching up on
+     * any watch events that were missed
+     */
+    public void reconcile(String customerId, Collection<ApplicationStatus> statuses) {
+        statuses.forEach(status -> apply(customerId, status.getServiceName(), status.getState()));
+    }
+
+    private void apply(GenericKubernetesResource application) {
+        ApplicationStatus status = ArgoResourceCache.statusOf(application);
+        if (status.getCustomerId() != null) {
+            apply(status.getCustomerId(), status.getServiceName(), status.getState());
+        }
+    }
+
+    private void apply(String customerId, String serviceName, ServiceState state) {
+        Map<String, WaveProgressTracker> customerTrackers = trackersByService.get(customerId);
+        WaveProgressTracker tracker = customerTrackers != null ? customerTrackers.get(serviceName) : null;
+        if (tracker != null) {
+            tracker.update(serviceName, state).ifPresent(this::persist);
+        }
+    }
+
+    private void persist(WaveProgress progress) {
+        pendingFlush.put(progress.getWaveId(), progress);
+        waveCheckpointService.update(progress);
+        if (progress.isTerminal()) {
+            untrack(progress.getWaveId());
+            syncWaveTimerService.cancel(progress.getWaveId());
+            log.info("Sync wave {} of customer {} {}: {}/{} healthy, {} failed", progress.getWaveNumber(),
+                    progress.getCustomerId(), progress.getStatus(), progress.getHealthyServices(),
+                    progress.getTotalServices(), progress.getFailedServices());
+            persistenceScheduler.schedule(() -> {
+                flush();
+                notifyTerminal(progress);
+            });
+        }
+    }
+
+    private void notifyTerminal(WaveProgress progress) {
+        for (Consumer<WaveProgress> listener : terminalListeners) {
+            try {
+                listener.accept(progress);
+            } catch (RuntimeException e) {
+                log.error("Terminal listener failed for sync wave {}", progress.getWaveId(), e);
+            }
+        }
+    }
+
+    /**
+     * Write all pending progress in one transaction
+     */
+    private synchronized void flush() {
+        if (pendingFlush.isEmpty()) {
+            return;
+        }
+        Map<Long, WaveProgress> batch = new HashMap<>(pendingFlush);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<SyncWave> waves = syncWaveRepository.findAllById(batch.keySet());
+                waves.forEach(wave -> batch.get(wave.getId()).applyTo(wave));
+                syncWaveRepository.saveAll(waves);
+            });
+            // Keep entries that were replaced by newer progress while flushing
+            batch.forEach(pendingFlush::remove);
+            log.debug("Flushed progress of {} sync waves", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush sync wave progress, retrying next interval: {}", e.getMessage());
+        }
+    }
+}
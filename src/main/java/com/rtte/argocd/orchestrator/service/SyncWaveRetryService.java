@@ -0,0 +1,214 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgress;
+import com.rtte.argocd.orchestrator.engine.retry.DecorrelatedJitterBackoff;
+import com.rtte.argocd.orchestrator.engine.retry.RetryBudget;
+import com.rtte.argocd.orchestrator.integration.argocd.ArgoApplicationDeployer;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service retrying failed and timed-out sync waves.
+ *
+ * Retry delays use decorrelated-jitter exponential backoff, so waves that
+ * failed together on a flapping shared dependency do not retry in lockstep.
+ * Every retry must also be admitted by a {@link RetryBudget} for the wave's
+ * destination cluster and globally; retries beyond the budget are shed and
+ * the wave stays failed, so a retry storm is capped instead of amplified.
+ *
+ * The drawn delay is stored in {@code retryDelaySeconds}, which both seeds the
+ * next draw and lets {@link SyncWaveTimerService} re-arm the retry after a
+ * restart. Waves are retried when their timeout fires and when
+ * {@link SyncWaveProgressService} reports them FAILED, on the first attempt
+ * as on every retry. When the retry fires the wave is restarted, tracked
+ * again and each of its services is synced again through
+ * {@link ArgoApplicationDeployer}. With sharding only waves of customers
+ * owned by this replica are retried.
+ */
+@Service
+@Slf4j
+public class SyncWaveRetryService {
+
+    private static final Set<SyncWaveStatus> RETRYABLE = EnumSet.of(SyncWaveStatus.FAILED, SyncWaveStatus.TIMED_OUT);
+
+    private final SyncWaveRepository syncWaveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncWaveTimerService syncWaveTimerService;
+    private final SyncWaveProgressService syncWaveProgressService;
+    private final ArgoResourceCache argoResourceCache;
+    private final ArgoApplicationDeployer argoApplicationDeployer;
+    private final ShardingService shardingService;
+    private final OrchestratorProperties orchestratorProperties;
+    private final MeterRegistry meterRegistry;
+    private final DecorrelatedJitterBackoff backoff;
+    private final RetryBudget budget;
+
+    public SyncWaveRetryService(SyncWaveRepository syncWaveRepository,
+                                TransactionTemplate transactionTemplate,
+                                SyncWaveTimerService syncWaveTimerService,
+                                SyncWaveProgressService syncWaveProgressService,
+                                ArgoResourceCache argoResourceCache,
+                                ArgoApplicationDeployer argoApplicationDeployer,
+                                ShardingService shardingService,
+                                OrchestratorProperties orchestratorProperties,
+                                MeterRegistry meterRegistry) {
+        this.syncWaveRepository = syncWaveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.syncWaveTimerService = syncWaveTimerService;
+        this.syncWaveProgressService = syncWaveProgressService;
+        this.argoResourceCache = argoResourceCache;
+        this.argoApplicationDeployer = argoApplicationDeployer;
+        this.shardingService = shardingService;
+        this.orchestratorProperties = orchestratorProperties;
+        this.meterRegistry = meterRegistry;
+
+        OrchestratorProperties.RetryConfig config = orchestratorProperties.getRetry();
+        this.backoff = new DecorrelatedJitterBackoff(config.getBaseDelay(), config.getMaxDelay());
+        this.budget = new RetryBudget(config.getGlobalBudget(), config.getGlobalRefillPerSecond(),
+                config.getClusterBudget(), config.getClusterRefillPerSecond());
+        meterRegistry.gauge("orchestrator.retry.budget.available", budget, RetryBudget::globalAvailable);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!orchestratorProperties.getRetry().isEnabled()) {
+            log.info("Sync wave retries disabled");
+            return;
+        }
+        syncWaveTimerService.addListener((wave, kind) -> {
+            if (!shardingService.owns(wave.getCustomerId())) {
+                return;
+            }
+            if (kind == SyncWaveTimerService.TimerKind.RETRY) {
+                resume(wave.getId());
+            } else {
+                retry(wave.getId());
+            }
+        });
+        syncWaveProgressService.addTerminalListener(progress -> {
+            if (progress.getStatus() == SyncWaveStatus.FAILED && shardingService.owns(progress.getCustomerId())) {
+                retry(progress.getWaveId(), progress);
+            }
+        });
+    }
+
+    /**
+     * Schedule a retry of a failed or timed-out wave
+     *
+     * @return true if a retry was scheduled; false if the wave is not retryable,
+     *         has used up its retries, or the retry budget shed it
+     */
+    public boolean retry(Long waveId) {
+        return retry(waveId, null);
+    }
+
+    /**
+     * Schedule a retry, first applying the terminal progress the wave was
+     * reported with if it is still running in the database
+     */
+    private boolean retry(Long waveId, WaveProgress progress) {
+        Optional<SyncWave> scheduled = transactionTemplate.execute(status -> syncWaveRepository.findById(waveId)
+                .map(wave -> {
+                    if (progress != null && (wave.getStatus() == SyncWaveStatus.DEPLOYING
+                            || wave.getStatus() == SyncWaveStatus.HEALTH_CHECKING)) {
+                        progress.applyTo(wave);
+                    }
+                    return wave;
+                })
+                .filter(wave -> RETRYABLE.contains(wave.getStatus()))
+                .filter(this::admit)
+                .map(wave -> {
+                    Duration delay = wave.getRetryCount() == 0
+                            ? backoff.initial()
+                            : backoff.next(Duration.ofSeconds(wave.getRetryDelaySeconds()));
+                    wave.retry();
+                    wave.setEndTime(null);
+                    wave.setRetryDelaySeconds((int) Math.max(1, (delay.toMillis() + 999) / 1000));
+                    Hibernate.initialize(wave.getServices());
+                    return syncWaveRepository.save(wave);
+                }));
+        if (scheduled == null || scheduled.isEmpty()) {
+            return false;
+        }
+        SyncWave wave = scheduled.get();
+        syncWaveTimerService.schedule(wave);
+        log.info("Retry {}/{} of sync wave {} for customer {} in {}s", wave.getRetryCount(), wave.getMaxRetries(),
+                wave.getWaveNumber(), wave.getCustomerId(), wave.getRetryDelaySeconds());
+        return true;
+    }
+
+    /**
+     * Check retry limits and the budget, recording the outcome
+     */
+    private boolean admit(SyncWave wave) {
+        if (wave.getRetryCount() >= wave.getMaxRetries()) {
+            record("exhausted");
+            return false;
+        }
+        String cluster = argoResourceCache.destinationForCustomer(wave.getCustomerId());
+        RetryBudget.Decision decision = budget.tryAcquire(cluster);
+        switch (decision) {
+            case GRANTED -> record("scheduled");
+            case CLUSTER_EXHAUSTED -> {
+                record("shed_cluster");
+                log.warn("Retry budget of cluster {} exhausted, shedding retry of sync wave {} for customer {}",
+                        cluster, wave.getWaveNumber(), wave.getCustomerId());
+            }
+            case GLOBAL_EXHAUSTED -> {
+                record("shed_global");
+                log.warn("Global retry budget exhausted, shedding retry of sync wave {} for customer {}",
+                        wave.getWaveNumber(), wave.getCustomerId());
+            }
+        }
+        return decision == RetryBudget.Decision.GRANTED;
+    }
+
+    /**
+     * Restart a wave whose retry delay has elapsed, track it again and sync
+     * its services again. A failed attempt is retried through the terminal
+     * listener registered in {@link #start()}.
+     */
+    private void resume(Long waveId) {
+        SyncWave wave = transactionTemplate.execute(status -> syncWaveRepository.findById(waveId)
+                .filter(candidate -> candidate.getStatus() == SyncWaveStatus.RETRYING)
+                .map(candidate -> {
+                    candidate.start();
+                    Hibernate.initialize(candidate.getServices());
+                    return syncWaveRepository.save(candidate);
+                })
+                .orElse(null));
+        if (wave == null) {
+            return;
+        }
+        syncWaveProgressService.track(wave);
+        Flux.fromIterable(wave.getServices())
+                .flatMap(service -> argoApplicationDeployer.deploy(wave.getCustomerId(), service)
+                                .onErrorResume(error -> {
+                                    log.warn("Redeploying {} for retry of sync wave {} failed: {}", service,
+                                            wave.getWaveNumber(), error.getMessage());
+                                    return Mono.just(false);
+                                }),
+                        Math.max(1, orchestratorProperties.getScheduling().getMaxConcurrency()))
+                .subscribe();
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("orchestrator.retries", "result", result).increment();
+    }
+}
@@ -0,0 +1,207 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.timer.HierarchicalTimingWheel;
+import com.rtte.argocd.orchestrator.engine.timer.TimerHandle;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Service owning the deadlines of running sync waves.
+ *
+ * Every active wave has at most one timer on a shared
+ * {@link HierarchicalTimingWheel}, chosen by its status:
+ * <ul>
+ *   <li>DEPLOYING: wave timeout at {@code startTime + timeoutSeconds}</li>
+ *   <li>HEALTH_CHECKING: health-check deadline at
+ *       {@code startTime + timeoutSeconds + healthCheckTimeoutSeconds}</li>
+ *   <li>RETRYING: retry firing at {@code startTime + retryDelaySeconds}</li>
+ * </ul>
+ * Deadlines derive only from persisted columns, so once the application is
+ * ready all active waves are re-armed from their local checkpoints (see
+ * {@link WaveCheckpointService}) or the database, and deadlines that
+ * passed while the pod was down fire on the first tick. An expired wave timeout or health-check
+ * deadline moves the wave to TIMED_OUT; a retry firing only notifies listeners.
+ * A timer that fires after its wave changed status is ignored. With sharding
+ * only waves of customers owned by this replica are re-armed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SyncWaveTimerService {
+
+    private final SyncWaveRepository syncWaveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrchestratorProperties orchestratorProperties;
+    private final MeterRegistry meterRegistry;
+    private final WaveCheckpointService waveCheckpointService;
+    private final BlockingSchedulers blockingSchedulers;
+    private final ShardingService shardingService;
+
+    private final Map<Long, TimerHandle> timers = new ConcurrentHashMap<>();
+    private final List<WaveTimerListener> listeners = new CopyOnWriteArrayList<>();
+    private HierarchicalTimingWheel wheel;
+
+    /**
+     * Kind of deadline a wave timer enforces
+     */
+    public enum TimerKind {
+        WAVE_TIMEOUT,
+        HEALTH_CHECK_DEADLINE,
+        RETRY
+    }
+
+    /**
+     * Callback for fired wave timers, invoked after the wave has been updated
+     */
+    @FunctionalInterface
+    public interface WaveTimerListener {
+        void onTimer(SyncWave wave, TimerKind kind);
+    }
+
+    @PostConstruct
+    void start() {
+        OrchestratorProperties.TimerConfig config = orchestratorProperties.getTimers();
+        wheel = new HierarchicalTimingWheel(config.getTickDuration(), config.getBucketBits(), config.getLevels(),
+                Clock.systemDefaultZone(), task -> blockingSchedulers.jpa().schedule(task));
+        meterRegistry.gauge("orchestrator.wave.timers", wheel, HierarchicalTimingWheel::size);
+        wheel.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    /**
+     * Register a listener for fired timers
+     */
+    public void addListener(WaveTimerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Arm the timer matching the wave's current status, replacing any previous
+     * one. Waves in other statuses have their timer cancelled.
+     */
+    public void schedule(SyncWave wave) {
+        Optional<TimerKind> kind = kindOf(wave);
+        if (kind.isEmpty() || wave.getStartTime() == null) {
+            cancel(wave.getId());
+            waveCheckpointService.remove(wave.getId());
+            return;
+        }
+        waveCheckpointService.save(wave);
+        Long waveId = wave.getId();
+        TimerKind timerKind = kind.get();
+        TimerHandle timer = wheel.schedule(deadlineOf(wave, timerKind), () -> fire(waveId, timerKind));
+        TimerHandle previous = timers.put(waveId, timer);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Cancel the pending timer of a wave, if any
+     */
+    public void cancel(Long waveId) {
+        TimerHandle timer = timers.remove(waveId);
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    /**
+     * Number of armed wave timers
+     */
+    public int pendingTimers() {
+        return wheel.size();
+    }
+
+    /**
+     * Re-arm timers of active waves owned by this replica once every listener has registered
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void recover() {
+        List<SyncWave> active = waveCheckpointService.activeWaves().stream()
+                .filter(wave -> shardingService.owns(wave.getCustomerId()))
+                .toList();
+        active.forEach(this::schedule);
+        log.info("Re-armed timers for {} active sync waves", active.size());
+    }
+
+    private void fire(Long waveId, TimerKind kind) {
+        timers.computeIfPresent(waveId, (id, timer) -> timer.isExpired() ? null : timer);
+        try {
+            SyncWave fired = transactionTemplate.execute(status -> syncWaveRepository.findById(waveId)
+                    .filter(wave -> kindOf(wave).orElse(null) == kind && wave.getStartTime() != null)
+                    .filter(wave -> deadlineOf(wave, kind).toEpochMilli() <= System.currentTimeMillis())
+                    .map(wave -> {
+                        if (kind != TimerKind.RETRY) {
+                            wave.setStatus(SyncWaveStatus.TIMED_OUT);
+                            wave.setEndTime(LocalDateTime.now());
+                            syncWaveRepository.save(wave);
+                            waveCheckpointService.remove(waveId);
+                        }
+                        return wave;
+                    })
+                    .orElse(null));
+            if (fired == null) {
+                return;
+            }
+            meterRegistry.counter("orchestrator.wave.timers.fired", "kind", kind.name()).increment();
+            log.info("Sync wave {} of customer {}: {} fired", fired.getWaveNumber(), fired.getCustomerId(), kind);
+            for (WaveTimerListener listener : listeners) {
+                listener.onTimer(fired, kind);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to handle {} of sync wave {}", kind, waveId, e);
+        }
+    }
+
+    private static Optional<TimerKind> kindOf(SyncWave wave) {
+        if (wave.getStatus() == null) {
+            return Optional.empty();
+        }
+        return switch (wave.getStatus()) {
+            case DEPLOYING -> Optional.of(TimerKind.WAVE_TIMEOUT);
+            case HEALTH_CHECKING -> Optional.of(TimerKind.HEALTH_CHECK_DEADLINE);
+            case RETRYING -> Optional.of(TimerKind.RETRY);
+            default -> Optional.empty();
+        };
+    }
+
+    private static Instant deadlineOf(SyncWave wave, TimerKind kind) {
+        LocalDateTime deadline = switch (kind) {
+            case WAVE_TIMEOUT -> wave.getStartTime().plusSeconds(wave.getTimeoutSeconds());
+            case HEALTH_CHECK_DEADLINE -> wave.getStartTime()
+                    .plusSeconds(wave.getTimeoutSeconds())
+                    .plusSeconds(wave.getHealthCheckTimeoutSeconds());
+            case RETRY -> wave.getStartTime().plusSeconds(wave.getRetryDelaySeconds());
+        };
+        return deadline.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
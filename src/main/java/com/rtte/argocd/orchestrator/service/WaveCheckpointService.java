@@ -0,0 +1,219 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgress;
+import com.rtte.argocd.orchestrator.engine.state.DurableStateStore;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.model.dto.WaveCheckpoint;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service checkpointing in-flight sync waves to a {@link DurableStateStore}
+ * under {@code orchestrator.state.storage-path}.
+ *
+ * Each wave in DEPLOYING, HEALTH_CHECKING or RETRYING has one checkpoint,
+ * written when its timer is armed and updated with its progress; it is
+ * removed when the wave completes, fails or times out. A compacted snapshot
+ * is written every {@code orchestrator.state.snapshot-interval} if anything
+ * changed.
+ *
+ * After a restart {@link #activeWaves()} answers from the recovered
+ * checkpoints, so timers and progress tracking resume without reading
+ * {@code sync_waves}. The database stays authoritative: it is read instead
+ * when the store is disabled, could not be opened, or was created empty on
+ * this start.
+ */
+@Service
+@Slf4j
+public class WaveCheckpointService {
+
+    private static final Set<SyncWaveStatus> ACTIVE_STATUSES =
+            EnumSet.of(SyncWaveStatus.DEPLOYING, SyncWaveStatus.HEALTH_CHECKING, SyncWaveStatus.RETRYING);
+    private static final String KEY_PREFIX = "wave/";
+
+    private final OrchestratorProperties orchestratorProperties;
+    private final SyncWaveRepository syncWaveRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, WaveCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private DurableStateStore store;
+    private Disposable snapshotLoop;
+    private List<SyncWave> activeWaves;
+
+    public WaveCheckpointService(OrchestratorProperties orchestratorProperties,
+                                 SyncWaveRepository syncWaveRepository,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.orchestratorProperties = orchestratorProperties;
+        this.syncWaveRepository = syncWaveRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        OrchestratorProperties.StateConfig config = orchestratorProperties.getState();
+        if (!config.isEnabled()) {
+            log.info("Local state store disabled, in-flight waves recover from the database");
+            return;
+        }
+        Path directory = Path.of(config.getStoragePath(), "waves");
+        long start = System.nanoTime();
+        try {
+            store = DurableStateStore.open(directory, (int) config.getSegmentSize().toBytes());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not open local state store at {}, in-flight waves recover from the database",
+                    directory, e);
+            return;
+        }
+        store.entries().forEach((key, value) -> {
+            try {
+                WaveCheckpoint checkpoint = objectMapper.readValue(value, WaveCheckpoint.class);
+                checkpoints.put(checkpoint.getWaveId(), checkpoint);
+            } catch (IOException e) {
+                log.warn("Dropping unreadable wave checkpoint {}: {}", key, e.getMessage());
+                store.delete(key);
+            }
+        });
+        log.info("Recovered {} wave checkpoints from {} in {} ms", checkpoints.size(), directory,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+        meterRegistry.gauge("orchestrator.state.checkpoints", checkpoints, Map::size);
+        meterRegistry.gauge("orchestrator.state.segments", store, DurableStateStore::segmentCount);
+        Timer snapshots = meterRegistry.timer("orchestrator.state.snapshot");
+        snapshotLoop = Flux.interval(config.getSnapshotInterval(), config.getSnapshotInterval(),
+                        Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .subscribe(tick -> snapshots.record(this::snapshot));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (snapshotLoop != null) {
+            snapshotLoop.dispose();
+        }
+        if (store != null) {
+            snapshot();
+            store.close();
+        }
+    }
+
+    /**
+     * In-flight waves to resume after a restart, from the checkpoints or else the database
+     */
+    public synchronized List<SyncWave> activeWaves() {
+        if (activeWaves == null) {
+            if (store != null && !store.isFresh()) {
+                activeWaves = checkpoints.values().stream()
+                        .filter(checkpoint -> ACTIVE_STATUSES.contains(checkpoint.getStatus()))
+                        .map(WaveCheckpoint::toSyncWave)
+                        .toList();
+            } else {
+                activeWaves = new ArrayList<>(syncWaveRepository.findByStatusIn(ACTIVE_STATUSES));
+                activeWaves.forEach(this::save);
+            }
+        }
+        return activeWaves;
+    }
+
+    /**
+     * Checkpoint a wave, or drop its checkpoint once it is no longer in flight
+     */
+    public void save(SyncWave wave) {
+        if (wave.getId() == null) {
+            return;
+        }
+        if (!ACTIVE_STATUSES.contains(wave.getStatus())) {
+            remove(wave.getId());
+            return;
+        }
+        write(WaveCheckpoint.of(wave));
+    }
+
+    /**
+     * Apply live progress to a checkpointed wave
+     */
+    public void update(WaveProgress progress) {
+        if (progress.isTerminal()) {
+            remove(progress.getWaveId());
+            return;
+        }
+        // Atomic with remove(), so progress racing the wave's end cannot bring its checkpoint back
+        checkpoints.computeIfPresent(progress.getWaveId(), (waveId, checkpoint) -> {
+            checkpoint.apply(progress);
+            persist(checkpoint);
+            return checkpoint;
+        });
+    }
+
+    /**
+     * Drop the checkpoint of a wave
+     */
+    public void remove(Long waveId) {
+        checkpoints.compute(waveId, (id, checkpoint) -> {
+            if (store != null) {
+                try {
+                    store.delete(KEY_PREFIX + id);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to remove checkpoint of sync wave {}: {}", id, e.getMessage());
+                }
+            }
+            return null;
+        });
+    }
+
+    private void write(WaveCheckpoint checkpoint) {
+        checkpoints.compute(checkpoint.getWaveId(), (waveId, previous) -> {
+            persist(checkpoint);
+            return checkpoint;
+        });
+    }
+
+    /**
+     * Write a checkpoint to the store; callers hold the map entry so the store
+     * sees puts and deletes of one wave in map order
+     */
+    private void persist(WaveCheckpoint checkpoint) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.put(KEY_PREFIX + checkpoint.getWaveId(), objectMapper.writeValueAsBytes(checkpoint));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to checkpoint sync wave {}: {}", checkpoint.getWaveId(), e.getMessage());
+        }
+    }
+
+    private void snapshot() {
+        try {
+            if (store.pendingRecords() > 0) {
+                store.snapshot();
+            } else {
+                store.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to snapshot local state store: {}", e.getMessage());
+        }
+    }
+}
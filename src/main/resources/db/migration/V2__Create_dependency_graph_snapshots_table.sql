@@ -0,0 +1,16 @@
+-- Create dependency_graph_snapshots table holding encoded compiled graphs
+CREATE TABLE dependency_graph_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    customer_id VARCHAR(255) NOT NULL,
+    config_hash VARCHAR(64) NOT NULL,
+    format_version INTEGER NOT NULL,
+    node_count INTEGER NOT NULL,
+    edge_count INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_dependency_graph_snapshots_customer_hash UNIQUE (customer_id, config_hash)
+);
+
+-- Create indexes for dependency_graph_snapshots
+CREATE INDEX idx_dependency_graph_snapshots_customer_id ON dependency_graph_snapshots(customer_id);
@@ -0,0 +1,195 @@
+package com.rtte.argocd.orchestrator.engine.execution;
+
+import com.rtte.argocd.orchestrator.engine.graph.CircularDependencyException;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge.DependencyType;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DagExecutionEngineTest {
+
+    private final DagExecutionEngine engine = new DagExecutionEngine();
+
+    @Test
+    void hardDependentStartsOnlyOnceItsDependencyIsHealthy() {
+        DependencyGraph graph = graph("db", "api");
+        edge(graph, "api", "db", DependencyType.HARD);
+        ControlledDeployer deployer = new ControlledDeployer();
+
+        AtomicReference<DagExecutionResult> result = new AtomicReference<>();
+        engine.execute(graph.compile(), deployer, 0).subscribe(result::set);
+
+        assertThat(deployer.started).containsExactly("db");
+        deployer.settle("db", true);
+        assertThat(deployer.started).containsExactly("db", "api");
+        deployer.settle("api", true);
+        assertThat(result.get().isSuccessful()).isTrue();
+    }
+
+    @Test
+    void softAndOptionalDependenciesDoNotBlock() {
+        DependencyGraph graph = graph("db", "cache", "api");
+        edge(graph, "api", "db", DependencyType.SOFT);
+        edge(graph, "api", "cache", DependencyType.OPTIONAL);
+        ControlledDeployer deployer = new ControlledDeployer();
+
+        engine.execute(graph.compile(), deployer, 0).subscribe();
+
+        assertThat(deployer.started).containsExactlyInAnyOrder("db", "cache", "api");
+    }
+
+    @Test
+    void failureSkipsOnlyTransitiveHardDependents() {
+        DependencyGraph graph = graph("db", "api", "web", "metrics", "docs");
+        edge(graph, "api", "db", DependencyType.HARD);
+        edge(graph, "web", "api", DependencyType.HARD);
+        edge(graph, "metrics", "db", DependencyType.SOFT);
+
+        StepVerifier.create(engine.execute(graph.compile(), name -> Mono.just(!name.equals("db")), 0))
+                .assertNext(result -> {
+                    assertThat(result.isSuccessful()).isFalse();
+                    assertThat(outcomes(result)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                            "db", ServiceExecution.Outcome.FAILED,
+                            "api", ServiceExecution.Outcome.SKIPPED,
+                            "web", ServiceExecution.Outcome.SKIPPED,
+                            "metrics", ServiceExecution.Outcome.HEALTHY,
+                            "docs", ServiceExecution.Outcome.HEALTHY));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deployerErrorsAndEmptyResultsCountAsFailures() {
+        DependencyGraph graph = graph("db", "api");
+        ServiceDeployer deployer = name -> name.equals("db")
+                ? Mono.error(new IllegalStateException("sync rejected"))
+                : Mono.empty();
+
+        StepVerifier.create(engine.execute(graph.compile(), deployer, 0))
+                .assertNext(result -> {
+                    assertThat(outcomes(result)).containsOnly(
+                            Map.entry("db", ServiceExecution.Outcome.FAILED),
+                            Map.entry("api", ServiceExecution.Outcome.FAILED));
+                    assertThat(result.getServices())
+                            .filteredOn(service -> service.getServiceName().equals("db"))
+                            .extracting(ServiceExecution::getMessage)
+                            .containsExactly("sync rejected");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void maxConcurrencyCapsServicesInFlight() {
+        DependencyGraph graph = graph("a", "b", "c", "d", "e");
+        ControlledDeployer deployer = new ControlledDeployer();
+
+        engine.execute(graph.compile(), deployer, 2).subscribe();
+
+        assertThat(deployer.started).hasSize(2);
+        deployer.settle(deployer.started.get(0), true);
+        assertThat(deployer.started).hasSize(3);
+    }
+
+    @Test
+    void longChainWithSynchronousDeployerDoesNotRecurse() {
+        int services = 20_000;
+        List<String> names = new ArrayList<>(services);
+        for (int i = 0; i < services; i++) {
+            names.add("service-" + i);
+        }
+        DependencyGraph graph = graph(names.toArray(String[]::new));
+        for (int i = 1; i < services; i++) {
+            edge(graph, names.get(i), names.get(i - 1), DependencyType.HARD);
+        }
+
+        StepVerifier.create(engine.execute(graph.compile(), name -> Mono.just(true), 1))
+                .assertNext(result -> {
+                    assertThat(result.isSuccessful()).isTrue();
+                    assertThat(result.getServices()).hasSize(services);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void hardCycleIsRejected() {
+        DependencyGraph graph = graph("a", "b");
+        edge(graph, "a", "b", DependencyType.HARD);
+        edge(graph, "b", "a", DependencyType.HARD);
+
+        StepVerifier.create(engine.execute(graph.compile(), name -> Mono.just(true), 0))
+                .expectError(CircularDependencyException.class)
+                .verify();
+    }
+
+    @Test
+    void softCycleIsExecuted() {
+        DependencyGraph graph = graph("a", "b");
+        edge(graph, "a", "b", DependencyType.SOFT);
+        edge(graph, "b", "a", DependencyType.SOFT);
+
+        StepVerifier.create(engine.execute(graph.compile(), name -> Mono.just(true), 0))
+                .assertNext(result -> assertThat(result.isSuccessful()).isTrue())
+                .verifyComplete();
+    }
+
+    /**
+     * Deployer whose services settle only when the test says so
+     */
+    private static final class ControlledDeployer implements ServiceDeployer {
+        final List<String> started = new CopyOnWriteArrayList<>();
+        final Map<String, Sinks.One<Boolean>> results = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<Boolean> deployAndAwaitHealthy(String serviceName) {
+            started.add(serviceName);
+            return results.computeIfAbsent(serviceName, name -> Sinks.one()).asMono();
+        }
+
+        void settle(String serviceName, boolean healthy) {
+            results.get(serviceName).tryEmitValue(healthy);
+        }
+    }
+
+    private static Map<String, ServiceExecution.Outcome> outcomes(DagExecutionResult result) {
+        Map<String, ServiceExecution.Outcome> outcomes = new ConcurrentHashMap<>();
+        result.getServices().forEach(service -> outcomes.put(service.getServiceName(), service.getOutcome()));
+        return outcomes;
+    }
+
+    private static DependencyGraph graph(String... services) {
+        DependencyGraph graph = DependencyGraph.builder()
+                .customerId("acme")
+                .nodes(new ArrayList<>())
+                .edges(new ArrayList<>())
+                .topologicalOrder(new ArrayList<>())
+                .build();
+        for (String service : services) {
+            graph.addNode(DependencyGraph.DependencyNode.builder()
+                    .serviceName(service)
+                    .syncWave(0)
+                    .priority(0)
+                    .build());
+        }
+        return graph;
+    }
+
+    private static void edge(DependencyGraph graph, String from, String to, DependencyType type) {
+        graph.addEdge(DependencyGraph.DependencyEdge.builder()
+                .fromService(from)
+                .toService(to)
+                .dependencyType(type)
+                .weight(1)
+                .build());
+    }
+}
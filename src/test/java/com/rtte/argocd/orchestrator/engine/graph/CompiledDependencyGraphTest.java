@@ -0,0 +1,147 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge.DependencyType;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledDependencyGraphTest {
+
+    @Test
+    void adjacencyIsIndexedInBothDirections() {
+        DependencyGraph graph = graph("api", "auth", "db");
+        graph.addEdge(edge("api", "auth", DependencyType.HARD));
+        graph.addEdge(edge("api", "db", DependencyType.SOFT));
+        graph.addEdge(edge("auth", "db", DependencyType.HARD));
+
+        CompiledDependencyGraph compiled = graph.compile();
+
+        assertThat(compiled.size()).isEqualTo(3);
+        assertThat(compiled.edgeCount()).isEqualTo(3);
+        assertThat(compiled.dependenciesOf("api")).containsExactlyInAnyOrder("auth", "db");
+        assertThat(compiled.dependentsOf("db")).containsExactlyInAnyOrder("api", "auth");
+        assertThat(compiled.dependenciesOf("db")).isEmpty();
+        assertThat(compiled.dependenciesOf("unknown")).isEmpty();
+        assertThat(compiled.idOf("unknown")).isEqualTo(-1);
+        assertThat(compiled.serviceName(compiled.idOf("auth"))).isEqualTo("auth");
+    }
+
+    @Test
+    void edgesKeepTheirTypeAndWeight() {
+        DependencyGraph graph = graph("api", "db");
+        graph.addEdge(DependencyEdge.builder()
+                .fromService("api")
+                .toService("db")
+                .dependencyType(DependencyType.OPTIONAL)
+                .weight(7)
+                .build());
+
+        CompiledDependencyGraph compiled = graph.compile();
+        int edge = compiled.dependencyEdge(compiled.dependenciesStart(compiled.idOf("api")));
+
+        assertThat(compiled.edgeType(edge)).isEqualTo(DependencyType.OPTIONAL);
+        assertThat(compiled.edgeWeight(edge)).isEqualTo(7);
+        assertThat(compiled.toEdge(edge))
+                .extracting(DependencyEdge::getFromService, DependencyEdge::getToService)
+                .containsExactly("api", "db");
+    }
+
+    @Test
+    void servicesOnlyNamedByEdgesAndDuplicateNodesAreInternedOnce() {
+        DependencyGraph graph = graph("api", "api");
+        graph.addEdge(edge("api", "external-db", DependencyType.HARD));
+
+        CompiledDependencyGraph compiled = graph.compile();
+
+        assertThat(compiled.size()).isEqualTo(2);
+        assertThat(compiled.topologicalOrder()).containsExactly("external-db", "api");
+    }
+
+    @Test
+    void topologicalOrderPutsDependenciesFirstAndGroupsSyncWaves() {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId("acme");
+        graph.addNode(node("frontend", 2));
+        graph.addNode(node("api", 1));
+        graph.addNode(node("db", 0));
+        graph.addNode(node("cache", 0));
+        graph.addEdge(edge("frontend", "api", DependencyType.HARD));
+        graph.addEdge(edge("api", "db", DependencyType.HARD));
+        graph.addEdge(edge("api", "cache", DependencyType.SOFT));
+
+        CompiledDependencyGraph compiled = graph.compile();
+        List<String> order = compiled.topologicalOrder();
+
+        assertThat(compiled.hasCycle()).isFalse();
+        assertThat(order.indexOf("db")).isLessThan(order.indexOf("api"));
+        assertThat(order.indexOf("cache")).isLessThan(order.indexOf("api"));
+        assertThat(order.indexOf("api")).isLessThan(order.indexOf("frontend"));
+        Map<Integer, List<String>> waves = compiled.syncWaveOrder();
+        assertThat(waves).containsOnlyKeys(0, 1, 2);
+        assertThat(waves.get(0)).containsExactlyInAnyOrder("db", "cache");
+        assertThat(waves.get(2)).containsExactly("frontend");
+    }
+
+    @Test
+    void softCyclesCondenseIntoOneUnitAndHardCyclesAreRejected() {
+        DependencyGraph soft = graph("api", "auth", "db");
+        soft.addEdge(edge("api", "auth", DependencyType.SOFT));
+        soft.addEdge(edge("auth", "api", DependencyType.OPTIONAL));
+        soft.addEdge(edge("auth", "db", DependencyType.HARD));
+
+        assertThat(soft.compile().condensedOrder()).satisfiesExactly(
+                unit -> assertThat(unit).containsExactly("db"),
+                unit -> assertThat(unit).containsExactlyInAnyOrder("api", "auth"));
+        assertThat(soft.generateTopologicalOrder(true)).startsWith("db").containsExactlyInAnyOrder("db", "api", "auth");
+
+        DependencyGraph hard = graph("api", "auth");
+        hard.addEdge(edge("api", "auth", DependencyType.SOFT));
+        hard.addEdge(edge("auth", "api", DependencyType.HARD));
+        CompiledDependencyGraph compiled = hard.compile();
+
+        assertThat(compiled.hasCycle()).isTrue();
+        assertThatThrownBy(compiled::condensedOrder).isInstanceOf(CircularDependencyException.class);
+        assertThatThrownBy(compiled::topologicalOrder)
+                .isInstanceOfSatisfying(CircularDependencyException.class, e ->
+                        assertThat(e.getCycles()).singleElement()
+                                .satisfies(cycle -> assertThat(cycle.isBlocking()).isTrue()));
+    }
+
+    @Test
+    void emptyGraphCompiles() {
+        CompiledDependencyGraph compiled = new DependencyGraph().compile();
+
+        assertThat(compiled.size()).isZero();
+        assertThat(compiled.topologicalOrder()).isEmpty();
+        assertThat(compiled.findCycles()).isEmpty();
+    }
+
+    private static DependencyGraph graph(String... services) {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId("acme");
+        for (String service : services) {
+            graph.addNode(node(service, 0));
+        }
+        return graph;
+    }
+
+    private static DependencyNode node(String serviceName, int syncWave) {
+        return DependencyNode.builder().serviceName(serviceName).syncWave(syncWave).priority(0).build();
+    }
+
+    private static DependencyEdge edge(String from, String to, DependencyType type) {
+        return DependencyEdge.builder()
+                .fromService(from)
+                .toService(to)
+                .dependencyType(type)
+                .weight(1)
+                .build();
+    }
+}
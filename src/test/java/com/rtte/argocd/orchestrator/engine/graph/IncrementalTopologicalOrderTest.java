@@ -0,0 +1,158 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalTopologicalOrderTest {
+
+    @Test
+    void addedEdgeMovesOnlyTheAffectedRegion() {
+        DependencyGraph graph = chain("a", "b", "c", "d", "e");
+        DependencyEdge dOnC = graph.getEdges().get(2);
+        assertThat(graph.generateTopologicalOrder()).containsExactly("a", "b", "c", "d", "e");
+        graph.removeEdge(dOnC);
+
+        // c now depends on e, which sits after it; e drags d along
+        graph.addEdge(edge("c", "e"));
+
+        assertThat(graph.getTopologicalOrder()).containsExactly("a", "b", "d", "e", "c");
+        assertRespectsEdges(graph);
+    }
+
+    @Test
+    void dependentsOfAMovedServiceMoveWithIt() {
+        DependencyGraph graph = chain("api", "worker", "cache", "db");
+        DependencyEdge dbOnCache = graph.getEdges().get(2);
+        graph.generateTopologicalOrder();
+        graph.removeEdge(dbOnCache);
+
+        graph.addEdge(edge("api", "db"));
+
+        assertThat(graph.getTopologicalOrder()).containsExactly("db", "api", "worker", "cache");
+        assertRespectsEdges(graph);
+    }
+
+    @Test
+    void edgeClosingACycleIsRejectedAndLeavesTheGraphUnchanged() {
+        DependencyGraph graph = chain("a", "b", "c");
+        graph.generateTopologicalOrder();
+        List<String> before = List.copyOf(graph.getTopologicalOrder());
+
+        assertThatThrownBy(() -> graph.addEdge(edge("a", "c")))
+                .isInstanceOfSatisfying(CircularDependencyException.class, e ->
+                        assertThat(e.getCycles()).singleElement().satisfies(cycle ->
+                                assertThat(cycle.getServices()).containsExactlyInAnyOrder("a", "b", "c")));
+        assertThatThrownBy(() -> graph.addEdge(edge("b", "b")))
+                .isInstanceOf(CircularDependencyException.class);
+
+        assertThat(graph.getEdges()).hasSize(2);
+        assertThat(graph.getTopologicalOrder()).isEqualTo(before);
+        assertThat(graph.hasCircularDependencies()).isFalse();
+    }
+
+    @Test
+    void removedEdgeNoLongerConstrainsTheOrder() {
+        DependencyGraph graph = graph("a", "b");
+        DependencyEdge dependency = edge("a", "b");
+        graph.addEdge(dependency);
+        graph.generateTopologicalOrder();
+
+        graph.removeEdge(dependency);
+        // b -> a would close a cycle through the removed edge
+        graph.addEdge(edge("b", "a"));
+
+        assertThat(graph.getTopologicalOrder()).containsExactly("a", "b");
+    }
+
+    @Test
+    void graphWithoutAGeneratedOrderAcceptsCyclesUntilSorted() {
+        DependencyGraph graph = graph("a", "b");
+        graph.addEdge(edge("a", "b"));
+        graph.addEdge(edge("b", "a"));
+
+        assertThat(graph.hasCircularDependencies()).isTrue();
+        assertThatThrownBy(graph::generateTopologicalOrder).isInstanceOf(CircularDependencyException.class);
+    }
+
+    @Test
+    void randomUpdatesKeepTheOrderValid() {
+        Random random = new Random(42);
+        DependencyGraph graph = graph();
+        for (int i = 0; i < 60; i++) {
+            graph.addNode(node("svc-" + i));
+        }
+        graph.generateTopologicalOrder();
+
+        List<DependencyEdge> added = new ArrayList<>();
+        for (int op = 0; op < 2_000; op++) {
+            if (!added.isEmpty() && random.nextInt(4) == 0) {
+                graph.removeEdge(added.remove(random.nextInt(added.size())));
+                continue;
+            }
+            DependencyEdge edge = edge("svc-" + random.nextInt(60), "svc-" + random.nextInt(60));
+            try {
+                graph.addEdge(edge);
+                added.add(edge);
+            } catch (CircularDependencyException e) {
+                assertThat(graph.getEdges()).doesNotContain(edge);
+            }
+            if (op % 100 == 0) {
+                graph.addNode(node("late-" + op));
+            }
+        }
+
+        assertRespectsEdges(graph);
+        assertThat(graph.hasCircularDependencies()).isFalse();
+        assertThat(graph.getTopologicalOrder()).hasSize(graph.getNodes().size());
+    }
+
+    private static void assertRespectsEdges(DependencyGraph graph) {
+        List<String> order = graph.getTopologicalOrder();
+        assertThat(graph.getEdges()).allSatisfy(edge ->
+                assertThat(order.indexOf(edge.getToService()))
+                        .as("%s before %s", edge.getToService(), edge.getFromService())
+                        .isLessThan(order.indexOf(edge.getFromService())));
+    }
+
+    private static DependencyGraph graph(String... services) {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId("acme");
+        for (String service : services) {
+            graph.addNode(node(service));
+        }
+        return graph;
+    }
+
+    /**
+     * Each service depends on the one before it, which forces a single order
+     */
+    private static DependencyGraph chain(String... services) {
+        DependencyGraph graph = graph(services);
+        for (int i = 1; i < services.length; i++) {
+            graph.addEdge(edge(services[i], services[i - 1]));
+        }
+        return graph;
+    }
+
+    private static DependencyNode node(String serviceName) {
+        return DependencyNode.builder().serviceName(serviceName).syncWave(0).priority(0).build();
+    }
+
+    private static DependencyEdge edge(String from, String to) {
+        return DependencyEdge.builder()
+                .fromService(from)
+                .toService(to)
+                .dependencyType(DependencyEdge.DependencyType.HARD)
+                .weight(1)
+                .build();
+    }
+}
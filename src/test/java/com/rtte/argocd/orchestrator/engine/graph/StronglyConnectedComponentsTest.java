@@ -0,0 +1,128 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StronglyConnectedComponentsTest {
+
+    @Test
+    void selfDependencyIsACycleOfOne() {
+        DependencyGraph graph = graph("api", "db");
+        graph.addEdge(edge("api", "api"));
+        graph.addEdge(edge("api", "db"));
+
+        List<DependencyCycle> cycles = graph.findCircularDependencies();
+
+        assertThat(cycles).singleElement().satisfies(cycle -> {
+            assertThat(cycle.getServices()).containsExactly("api");
+            assertThat(cycle.getEdges()).extracting(DependencyEdge::getToService).containsExactly("api");
+        });
+        assertThat(graph.hasCircularDependencies()).isTrue();
+    }
+
+    @Test
+    void mutualDependencyIsOneCycleWithBothEdges() {
+        DependencyGraph graph = graph("api", "auth", "db");
+        graph.addEdge(edge("api", "auth"));
+        graph.addEdge(edge("auth", "api"));
+        graph.addEdge(edge("auth", "db"));
+
+        List<DependencyCycle> cycles = graph.findCircularDependencies();
+
+        assertThat(cycles).singleElement().satisfies(cycle -> {
+            assertThat(cycle.getServices()).containsExactlyInAnyOrder("api", "auth");
+            assertThat(cycle.getEdges()).hasSize(2)
+                    .allSatisfy(edge -> assertThat(edge.getToService()).isNotEqualTo("db"));
+        });
+    }
+
+    @Test
+    void nestedAndChainedCyclesFormSeparateComponentsInDependencyOrder() {
+        // {a, b, c} contains the inner loop b <-> c and depends on the cycle {d, e}
+        DependencyGraph graph = graph("a", "b", "c", "d", "e", "f");
+        graph.addEdge(edge("a", "b"));
+        graph.addEdge(edge("b", "c"));
+        graph.addEdge(edge("c", "b"));
+        graph.addEdge(edge("c", "a"));
+        graph.addEdge(edge("c", "d"));
+        graph.addEdge(edge("d", "e"));
+        graph.addEdge(edge("e", "d"));
+        graph.addEdge(edge("f", "a"));
+
+        StronglyConnectedComponents components = graph.compile().stronglyConnectedComponents();
+
+        assertThat(components.componentCount()).isEqualTo(3);
+        assertThat(components.condensedOrder()).satisfiesExactly(
+                unit -> assertThat(unit).containsExactlyInAnyOrder("d", "e"),
+                unit -> assertThat(unit).containsExactlyInAnyOrder("a", "b", "c"),
+                unit -> assertThat(unit).containsExactly("f"));
+        assertThat(graph.findCircularDependencies())
+                .extracting(DependencyCycle::getServices)
+                .satisfiesExactly(
+                        services -> assertThat(services).containsExactlyInAnyOrder("d", "e"),
+                        services -> assertThat(services).containsExactlyInAnyOrder("a", "b", "c"));
+        CompiledDependencyGraph compiled = graph.compile();
+        assertThat(components.isCyclic(components.componentOf(compiled.idOf("f")))).isFalse();
+    }
+
+    @Test
+    void acyclicGraphHasNoCycles() {
+        DependencyGraph graph = graph("api", "auth", "db");
+        graph.addEdge(edge("api", "auth"));
+        graph.addEdge(edge("api", "db"));
+        graph.addEdge(edge("auth", "db"));
+
+        assertThat(graph.findCircularDependencies()).isEmpty();
+        assertThat(graph.compile().stronglyConnectedComponents().componentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void deepChainDoesNotOverflowTheStack() {
+        int services = 200_000;
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId("acme");
+        for (int i = 0; i < services; i++) {
+            graph.addNode(node("svc-" + i));
+            if (i > 0) {
+                graph.addEdge(edge("svc-" + i, "svc-" + (i - 1)));
+            }
+        }
+        // Closing the chain forces Tarjan down its full depth to find one component
+        graph.addEdge(edge("svc-0", "svc-" + (services - 1)));
+
+        List<DependencyCycle> cycles = graph.findCircularDependencies();
+
+        assertThat(cycles).singleElement().satisfies(cycle -> {
+            assertThat(cycle.getServices()).hasSize(services);
+            assertThat(cycle.getEdges()).hasSize(services);
+        });
+    }
+
+    private static DependencyGraph graph(String... services) {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId("acme");
+        for (String service : services) {
+            graph.addNode(node(service));
+        }
+        return graph;
+    }
+
+    private static DependencyNode node(String serviceName) {
+        return DependencyNode.builder().serviceName(serviceName).syncWave(0).priority(0).build();
+    }
+
+    private static DependencyEdge edge(String from, String to) {
+        return DependencyEdge.builder()
+                .fromService(from)
+                .toService(to)
+                .dependencyType(DependencyEdge.DependencyType.HARD)
+                .weight(1)
+                .build();
+    }
+}
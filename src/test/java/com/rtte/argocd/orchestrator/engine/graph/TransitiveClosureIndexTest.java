@@ -0,0 +1,132 @@
+package com.rtte.argocd.orchestrator.engine.graph;
+
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransitiveClosureIndexTest {
+
+    @Test
+    void closureFollowsChainsInBothDirections() {
+        DependencyGraph graph = graph("frontend", "api", "auth", "db", "metrics");
+        graph.addEdge(edge("frontend", "api"));
+        graph.addEdge(edge("api", "auth"));
+        graph.addEdge(edge("auth", "db"));
+        graph.addEdge(edge("api", "db"));
+
+        TransitiveClosureIndex index = TransitiveClosureIndex.build(graph.compile());
+
+        assertThat(index.upstreamOf("frontend")).containsExactlyInAnyOrder("api", "auth", "db");
+        assertThat(index.downstreamOf("db")).containsExactlyInAnyOrder("auth", "api", "frontend");
+        assertThat(index.dependsOn("frontend", "db")).isTrue();
+        assertThat(index.dependsOn("db", "frontend")).isFalse();
+        assertThat(index.dependsOn("db", "db")).isFalse();
+        assertThat(index.upstreamOf("metrics")).isEmpty();
+        assertThat(index.downstreamOf("unknown")).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void servicesInACycleReachEachOther() {
+        DependencyGraph graph = graph("api", "auth", "db", "loop");
+        graph.addEdge(edge("api", "auth"));
+        graph.addEdge(edge("auth", "api"));
+        graph.addEdge(edge("auth", "db"));
+        graph.addEdge(edge("loop", "loop"));
+
+        TransitiveClosureIndex index = TransitiveClosureIndex.build(graph.compile());
+
+        assertThat(index.dependsOn("api", "auth")).isTrue();
+        assertThat(index.dependsOn("auth", "api")).isTrue();
+        assertThat(index.dependsOn("api", "db")).isTrue();
+        assertThat(index.dependsOn("loop", "loop")).isTrue();
+        assertThat(index.upstreamOf("api")).containsExactlyInAnyOrder("api", "auth", "db");
+        assertThat(index.downstreamOf("db")).containsExactlyInAnyOrder("api", "auth");
+    }
+
+    @Test
+    void redeploySetIsTheChangeAndEverythingDownstreamInDependencyOrder() {
+        DependencyGraph graph = graph("frontend", "api", "auth", "db", "cache");
+        graph.addEdge(edge("frontend", "api"));
+        graph.addEdge(edge("api", "auth"));
+        graph.addEdge(edge("auth", "db"));
+        graph.addEdge(edge("api", "cache"));
+
+        TransitiveClosureIndex index = TransitiveClosureIndex.build(graph.compile());
+
+        assertThat(index.redeploySet(List.of("auth"))).containsExactly("auth", "api", "frontend");
+        assertThat(index.redeploySet(List.of("cache", "unknown"))).containsExactly("cache", "api", "frontend");
+        assertThat(index.redeploySet(List.of())).isEmpty();
+    }
+
+    @Test
+    void randomGraphsMatchABreadthFirstSearch() {
+        Random random = new Random(42);
+        int services = 150;
+        DependencyGraph graph = graph();
+        for (int i = 0; i < services; i++) {
+            graph.addNode(node("svc-" + i));
+        }
+        for (int e = 0; e < 300; e++) {
+            graph.addEdge(edge("svc-" + random.nextInt(services), "svc-" + random.nextInt(services)));
+        }
+        CompiledDependencyGraph compiled = graph.compile();
+
+        TransitiveClosureIndex index = TransitiveClosureIndex.build(compiled);
+
+        for (int i = 0; i < services; i++) {
+            String service = "svc-" + i;
+            Set<String> reachable = reachable(compiled, service);
+            // A service in a cycle reaches itself and is its own upstream
+            assertThat(index.upstreamOf(service)).as("upstream of %s", service).isEqualTo(reachable);
+            assertThat(index.dependsOn(service, service)).isEqualTo(reachable.contains(service));
+        }
+    }
+
+    /**
+     * Services reachable from {@code service} over one or more dependency edges
+     */
+    private static Set<String> reachable(CompiledDependencyGraph graph, String service) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(graph.dependenciesOf(service));
+        while (!queue.isEmpty()) {
+            String next = queue.poll();
+            if (seen.add(next)) {
+                queue.addAll(graph.dependenciesOf(next));
+            }
+        }
+        return seen;
+    }
+
+    private static DependencyGraph graph(String... services) {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId("acme");
+        for (String service : services) {
+            graph.addNode(node(service));
+        }
+        return graph;
+    }
+
+    private static DependencyNode node(String serviceName) {
+        return DependencyNode.builder().serviceName(serviceName).syncWave(0).priority(0).build();
+    }
+
+    private static DependencyEdge edge(String from, String to) {
+        return DependencyEdge.builder()
+                .fromService(from)
+                .toService(to)
+                .dependencyType(DependencyEdge.DependencyType.HARD)
+                .weight(1)
+                .build();
+    }
+}
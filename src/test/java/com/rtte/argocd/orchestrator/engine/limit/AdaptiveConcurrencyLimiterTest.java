@@ -0,0 +1,130 @@
+package com.rtte.argocd.orchestrator.engine.limit;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration SLOW = Duration.ofMinutes(1);
+
+    @Test
+    void overloadErrorsShrinkTheGlobalAndDestinationLimits() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(10, 1, 100, 0.5, SLOW),
+                () -> new AimdLimit(8, 1, 50, 0.5, SLOW),
+                100,
+                error -> error instanceof IOException);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(limiter.execute("https://cluster-a", "acme",
+                            () -> Mono.error(new IOException("connection reset"))))
+                    .expectError(IOException.class)
+                    .verify();
+        }
+
+        assertThat(limiter.limit("https://cluster-a")).isEqualTo(1);
+        assertThat(limiter.limit()).isEqualTo(1);
+        assertThat(limiter.limit("https://cluster-b")).isEqualTo(-1);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void nonOverloadErrorsKeepTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(10, 1, 100, 0.5, SLOW),
+                () -> new AimdLimit(8, 1, 50, 0.5, SLOW),
+                100,
+                error -> error instanceof IOException);
+
+        StepVerifier.create(limiter.execute("https://cluster-a", "acme",
+                        () -> Mono.error(new IllegalArgumentException("invalid spec"))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        assertThat(limiter.limit("https://cluster-a")).isEqualTo(8);
+    }
+
+    @Test
+    void queuedCustomersAreServedRoundRobin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(1, 1, 1, 0.5, SLOW),
+                () -> new AimdLimit(1, 1, 1, 0.5, SLOW),
+                100,
+                error -> false);
+        Sinks.One<String> gate = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        limiter.execute("https://cluster-a", "blocker", gate::asMono).subscribe();
+        for (int i = 1; i <= 3; i++) {
+            submit(limiter, "big", i, started);
+        }
+        for (int i = 1; i <= 2; i++) {
+            submit(limiter, "small", i, started);
+        }
+        assertThat(started).isEmpty();
+        assertThat(limiter.queued()).isEqualTo(5);
+
+        gate.tryEmitValue("done");
+
+        assertThat(started).containsExactly("big-1", "small-1", "big-2", "small-2", "big-3");
+        assertThat(limiter.queued()).isZero();
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void saturatedDestinationDoesNotBlockOtherDestinations() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(10, 1, 10, 0.5, SLOW),
+                () -> new AimdLimit(1, 1, 1, 0.5, SLOW),
+                100,
+                error -> false);
+        Sinks.One<String> gate = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        limiter.execute("https://cluster-a", "acme", gate::asMono).subscribe();
+        limiter.execute("https://cluster-a", "acme", () -> {
+            started.add("a");
+            return Mono.just("a");
+        }).subscribe();
+        limiter.execute("https://cluster-b", "globex", () -> {
+            started.add("b");
+            return Mono.just("b");
+        }).subscribe();
+
+        assertThat(started).containsExactly("b");
+        gate.tryEmitValue("done");
+        assertThat(started).containsExactly("b", "a");
+    }
+
+    @Test
+    void requestsBeyondMaxQueuedAreShed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimit(1, 1, 1, 0.5, SLOW),
+                () -> new AimdLimit(1, 1, 1, 0.5, SLOW),
+                1,
+                error -> false);
+        limiter.execute("https://cluster-a", "acme", () -> Mono.never()).subscribe();
+        limiter.execute("https://cluster-a", "acme", () -> Mono.just("queued")).subscribe();
+
+        StepVerifier.create(limiter.execute("https://cluster-a", "globex", () -> Mono.just("shed")))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify();
+    }
+
+    private static void submit(AdaptiveConcurrencyLimiter limiter, String customer, int index, List<String> started) {
+        String label = customer + "-" + index;
+        limiter.execute("https://cluster-a", customer, () -> {
+            started.add(label);
+            return Mono.just(label);
+        }).subscribe();
+    }
+}
@@ -0,0 +1,179 @@
+package com.rtte.argocd.orchestrator.engine.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkQueueTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Delayed> scheduled = new ArrayList<>();
+
+    private record Delayed(Duration delay, Runnable task) {
+    }
+
+    @Test
+    void waitingKeysAreDeduplicated() throws InterruptedException {
+        WorkQueue<String> queue = queue(Duration.ofSeconds(1), Duration.ofSeconds(8), 100, 100);
+
+        assertThat(queue.add("acme")).isTrue();
+        assertThat(queue.add("acme")).isFalse();
+        assertThat(queue.add("globex")).isTrue();
+        clock.addAndGet(Duration.ofMillis(5).toNanos());
+
+        assertThat(queue.depth()).isEqualTo(2);
+        WorkQueue.Item<String> item = queue.take(Duration.ZERO).orElseThrow();
+        assertThat(item.key()).isEqualTo("acme");
+        assertThat(item.queued()).isEqualTo(Duration.ofMillis(5));
+        assertThat(queue.take(Duration.ZERO)).map(WorkQueue.Item::key).contains("globex");
+        assertThat(queue.take(Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    void keyAddedWhileProcessingIsRequeuedOnlyWhenDone() throws InterruptedException {
+        WorkQueue<String> queue = queue(Duration.ofSeconds(1), Duration.ofSeconds(8), 100, 100);
+        queue.add("acme");
+        queue.take(Duration.ZERO).orElseThrow();
+
+        assertThat(queue.add("acme")).isTrue();
+        assertThat(queue.add("acme")).isFalse();
+        assertThat(queue.depth()).isZero();
+        assertThat(queue.processing()).isEqualTo(1);
+        assertThat(queue.take(Duration.ZERO)).isEmpty();
+
+        queue.done("acme");
+
+        assertThat(queue.processing()).isZero();
+        assertThat(queue.take(Duration.ZERO)).map(WorkQueue.Item::key).contains("acme");
+        queue.done("acme");
+        assertThat(queue.depth()).isZero();
+    }
+
+    @Test
+    void concurrentWorkersNeverProcessOneKeyTwice() throws InterruptedException {
+        WorkQueue<Integer> queue = new WorkQueue<>(
+                new RequeueRateLimiter<>(Duration.ZERO, Duration.ZERO, 1000, 1000, System::nanoTime),
+                (delay, task) -> task.run(),
+                System::nanoTime);
+        int workers = 8;
+        int keys = 10;
+        int adds = 20_000;
+        Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+        Map<Integer, AtomicInteger> processed = new ConcurrentHashMap<>();
+        AtomicBoolean overlap = new AtomicBoolean();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        CountDownLatch finished = new CountDownLatch(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1);
+        try {
+            for (int w = 0; w < workers; w++) {
+                executor.execute(() -> {
+                    try {
+                        while (producing.get() || queue.depth() > 0 || queue.processing() > 0) {
+                            Optional<WorkQueue.Item<Integer>> item = queue.take(Duration.ofMillis(10));
+                            if (item.isEmpty()) {
+                                continue;
+                            }
+                            int key = item.get().key();
+                            if (!inFlight.add(key)) {
+                                overlap.set(true);
+                            }
+                            processed.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                            Thread.onSpinWait();
+                            inFlight.remove(key);
+                            queue.done(key);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+            executor.execute(() -> {
+                for (int i = 0; i < adds; i++) {
+                    queue.add(i % keys);
+                }
+                producing.set(false);
+            });
+            assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(overlap).isFalse();
+        assertThat(processed).hasSize(keys);
+        // No add is left unprocessed once the workers drain the queue
+        assertThat(queue.depth()).isZero();
+        assertThat(queue.processing()).isZero();
+    }
+
+    @Test
+    void failedKeysBackOffExponentiallyUntilForgotten() {
+        WorkQueue<String> queue = queue(Duration.ofSeconds(1), Duration.ofSeconds(8), 100, 100);
+
+        List<Duration> backoffs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            backoffs.add(queue.requeueRateLimited("acme"));
+        }
+
+        assertThat(backoffs).containsExactly(Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(4),
+                Duration.ofSeconds(8), Duration.ofSeconds(8));
+        assertThat(queue.failures("acme")).isEqualTo(5);
+        assertThat(queue.retries()).isEqualTo(5);
+        assertThat(queue.delayed()).isEqualTo(5);
+        assertThat(scheduled).extracting(Delayed::delay).isEqualTo(backoffs);
+        assertThat(queue.depth()).isZero();
+
+        scheduled.forEach(delayed -> delayed.task().run());
+        assertThat(queue.delayed()).isZero();
+        assertThat(queue.depth()).isEqualTo(1);
+
+        queue.forget("acme");
+        assertThat(queue.failures("acme")).isZero();
+        assertThat(queue.requeueRateLimited("acme")).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void overallRequeueRateDelaysRequeuesBeyondTheBurst() {
+        WorkQueue<String> queue = queue(Duration.ofMillis(10), Duration.ofSeconds(1), 1, 2);
+
+        assertThat(queue.requeueRateLimited("acme")).isEqualTo(Duration.ofMillis(10));
+        assertThat(queue.requeueRateLimited("globex")).isEqualTo(Duration.ofMillis(10));
+        assertThat(queue.requeueRateLimited("initech")).isEqualTo(Duration.ofSeconds(1));
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertThat(queue.requeueRateLimited("umbrella")).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    void shutDownRejectsKeysAndReleasesWaitingWorkers() throws InterruptedException {
+        WorkQueue<String> queue = queue(Duration.ofSeconds(1), Duration.ofSeconds(8), 100, 100);
+        queue.shutDown();
+
+        assertThat(queue.add("acme")).isFalse();
+        assertThat(queue.take(Duration.ofMinutes(1))).isEmpty();
+        queue.addAfter("acme", Duration.ofSeconds(1));
+        assertThat(scheduled).isEmpty();
+    }
+
+    private WorkQueue<String> queue(Duration baseDelay, Duration maxDelay, double rate, int burst) {
+        return new WorkQueue<>(new RequeueRateLimiter<>(baseDelay, maxDelay, rate, burst, clock::get),
+                (delay, task) -> scheduled.add(new Delayed(delay, task)),
+                clock::get);
+    }
+}
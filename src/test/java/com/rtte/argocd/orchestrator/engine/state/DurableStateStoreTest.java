@@ -0,0 +1,168 @@
+package com.rtte.argocd.orchestrator.engine.state;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DurableStateStoreTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void randomPutsAndDeletesMatchAModelAcrossSnapshotsAndReopens() throws IOException {
+        Random random = new Random(42);
+        Map<String, String> model = new HashMap<>();
+        DurableStateStore store = DurableStateStore.open(directory, SEGMENT_BYTES);
+        for (int op = 1; op <= 5_000; op++) {
+            String key = "wave/" + random.nextInt(50);
+            if (random.nextInt(3) == 0) {
+                store.delete(key);
+                model.remove(key);
+            } else {
+                String value = "v" + op + "-".repeat(random.nextInt(40));
+                store.put(key, value.getBytes(StandardCharsets.UTF_8));
+                model.put(key, value);
+            }
+            if (op % 700 == 0) {
+                store.snapshot();
+            }
+            if (op % 1_100 == 0) {
+                store.close();
+                store = DurableStateStore.open(directory, SEGMENT_BYTES);
+                assertThat(decode(store.entries())).as("after reopen at op %d", op).isEqualTo(model);
+            }
+        }
+        assertThat(decode(store.entries())).isEqualTo(model);
+        store.close();
+
+        DurableStateStore reopened = DurableStateStore.open(directory, SEGMENT_BYTES);
+        assertThat(decode(reopened.entries())).isEqualTo(model);
+        assertThat(reopened.isFresh()).isFalse();
+        // Snapshots let the store drop segments it no longer needs to replay
+        assertThat(reopened.segmentCount()).isLessThan(5_000 * 20 / SEGMENT_BYTES);
+    }
+
+    @Test
+    void tornTailKeepsEveryRecordBeforeIt() throws IOException {
+        DurableStateStore store = DurableStateStore.open(directory, SEGMENT_BYTES);
+        store.put("wave/1", bytes("deploying"));
+        store.put("wave/2", bytes("deploying"));
+        store.put("wave/1", bytes("healthchk"));
+        store.close();
+        // Half of a fourth record: its length and CRC were written, its payload was not
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+            long end = 3L * (SegmentedLog.HEADER_BYTES + 1 + 4 + "wave/1".length() + "deploying".length());
+            channel.write(ByteBuffer.allocate(8).putInt(64).putInt(0x1234abcd).flip(), end);
+        }
+
+        DurableStateStore recovered = DurableStateStore.open(directory, SEGMENT_BYTES);
+
+        assertThat(decode(recovered.entries())).isEqualTo(Map.of("wave/1", "healthchk", "wave/2", "deploying"));
+        recovered.delete("wave/2");
+        recovered.close();
+        assertThat(decode(DurableStateStore.open(directory, SEGMENT_BYTES).entries()))
+                .isEqualTo(Map.of("wave/1", "healthchk"));
+    }
+
+    @Test
+    void corruptNewestSnapshotRecoversFromThePreviousOne() throws IOException {
+        DurableStateStore store = DurableStateStore.open(directory, SEGMENT_BYTES);
+        Map<String, String> model = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            String key = "wave/" + (i % 40);
+            store.put(key, bytes("v" + i));
+            model.put(key, "v" + i);
+            if (i == 150 || i == 250) {
+                store.snapshot();
+            }
+        }
+        store.delete("wave/3");
+        model.remove("wave/3");
+        store.close();
+
+        List<Path> snapshots = snapshots();
+        assertThat(snapshots).hasSize(2);
+        Path newest = snapshots.get(1);
+        byte[] content = Files.readAllBytes(newest);
+        content[content.length / 2] ^= (byte) 0xff;
+        Files.write(newest, content);
+
+        DurableStateStore recovered = DurableStateStore.open(directory, SEGMENT_BYTES);
+
+        assertThat(decode(recovered.entries())).isEqualTo(model);
+    }
+
+    @Test
+    void truncatedSnapshotIsIgnored() throws IOException {
+        DurableStateStore store = DurableStateStore.open(directory, SEGMENT_BYTES);
+        store.put("wave/1", bytes("deploying"));
+        store.snapshot();
+        store.put("wave/2", bytes("retrying"));
+        store.snapshot();
+        store.close();
+        Path newest = snapshots().get(1);
+        byte[] content = Files.readAllBytes(newest);
+        Files.write(newest, Arrays.copyOf(content, content.length - 4));
+
+        DurableStateStore recovered = DurableStateStore.open(directory, SEGMENT_BYTES);
+
+        assertThat(decode(recovered.entries())).isEqualTo(Map.of("wave/1", "deploying", "wave/2", "retrying"));
+    }
+
+    @Test
+    void storeIsFreshOnlyUntilSomethingIsWritten() throws IOException {
+        DurableStateStore store = DurableStateStore.open(directory, SEGMENT_BYTES);
+        assertThat(store.isFresh()).isTrue();
+        assertThat(store.entries()).isEmpty();
+
+        store.put("wave/1", bytes("deploying"));
+        store.delete("wave/1");
+        store.close();
+
+        DurableStateStore reopened = DurableStateStore.open(directory, SEGMENT_BYTES);
+        assertThat(reopened.isFresh()).isFalse();
+        assertThat(reopened.entries()).isEmpty();
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(file -> file.getFileName().toString().endsWith(".log")).toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".snap")).sorted().toList();
+        }
+    }
+
+    private static Map<String, String> decode(Map<String, byte[]> entries) {
+        Map<String, String> decoded = new HashMap<>();
+        entries.forEach((key, value) -> decoded.put(key, new String(value, StandardCharsets.UTF_8)));
+        return decoded;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,146 @@
+package com.rtte.argocd.orchestrator.engine.state;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentedLogTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+    // 8-byte header plus a 32-byte payload
+    private static final int RECORD_BYTES = SegmentedLog.HEADER_BYTES + 32;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsAreReplayedInOrderAcrossSegmentsAfterReopen() throws IOException {
+        SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(log.append(payload(i))).isEqualTo(i);
+        }
+        assertThat(log.segmentCount()).isGreaterThan(1);
+        log.close();
+
+        SegmentedLog reopened = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+
+        assertThat(reopened.nextSequence()).isEqualTo(100);
+        assertThat(replay(reopened, 0)).containsExactlyElementsOf(expected(0, 100));
+        assertThat(replay(reopened, 60)).containsExactlyElementsOf(expected(60, 100));
+    }
+
+    @Test
+    void tornTailIsDiscardedAndOverwrittenByNewAppends() throws IOException {
+        SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        for (int i = 0; i < 10; i++) {
+            log.append(payload(i));
+        }
+        log.close();
+        // A write that stopped inside record 7 leaves a payload that fails its CRC
+        corrupt(firstSegment(), 7 * RECORD_BYTES + SegmentedLog.HEADER_BYTES + 5);
+
+        SegmentedLog recovered = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        assertThat(recovered.nextSequence()).isEqualTo(7);
+        assertThat(replay(recovered, 0)).containsExactlyElementsOf(expected(0, 7));
+
+        assertThat(recovered.append(payload(70))).isEqualTo(7);
+        recovered.close();
+
+        SegmentedLog reopened = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        List<String> records = expected(0, 7);
+        records.add(new String(payload(70), StandardCharsets.UTF_8));
+        assertThat(replay(reopened, 0)).containsExactlyElementsOf(records);
+    }
+
+    @Test
+    void partialHeaderAtTheTailIsDiscarded() throws IOException {
+        SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        for (int i = 0; i < 3; i++) {
+            log.append(payload(i));
+        }
+        log.close();
+        try (FileChannel channel = FileChannel.open(firstSegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(SEGMENT_BYTES).flip(), 3L * RECORD_BYTES);
+        }
+
+        SegmentedLog recovered = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+
+        assertThat(recovered.nextSequence()).isEqualTo(3);
+        assertThat(replay(recovered, 0)).containsExactlyElementsOf(expected(0, 3));
+    }
+
+    @Test
+    void deleteBeforeKeepsSegmentsWithLaterRecords() throws IOException {
+        SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        for (int i = 0; i < 100; i++) {
+            log.append(payload(i));
+        }
+        int segments = log.segmentCount();
+
+        log.deleteBefore(50);
+
+        assertThat(log.segmentCount()).isLessThan(segments);
+        assertThat(replay(log, 50)).containsExactlyElementsOf(expected(50, 100));
+        log.deleteBefore(1_000);
+        assertThat(log.segmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyDirectoryStartsAtTheRequestedSequence() throws IOException {
+        SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES, 42);
+
+        assertThat(log.nextSequence()).isEqualTo(42);
+        assertThat(log.append(payload(0))).isEqualTo(42);
+    }
+
+    @Test
+    void oversizedRecordsAndSegmentsAreRejected() throws IOException {
+        assertThatThrownBy(() -> SegmentedLog.open(directory, 512, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES, 0);
+        assertThatThrownBy(() -> log.append(new byte[SEGMENT_BYTES]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(log.nextSequence()).isZero();
+    }
+
+    private Path firstSegment() {
+        return directory.resolve(String.format("segment-%020d.log", 0));
+    }
+
+    private static void corrupt(Path file, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer current = ByteBuffer.allocate(1);
+            channel.read(current, offset);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (current.get(0) ^ 0xff)}), offset);
+        }
+    }
+
+    private static List<String> replay(SegmentedLog log, long from) {
+        List<String> records = new ArrayList<>();
+        log.replay(from, (sequence, payload) -> records.add(new String(payload, StandardCharsets.UTF_8)));
+        return records;
+    }
+
+    private static List<String> expected(int from, int to) {
+        List<String> records = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            records.add(new String(payload(i), StandardCharsets.UTF_8));
+        }
+        return records;
+    }
+
+    private static byte[] payload(int i) {
+        return String.format("record-%025d", i).getBytes(StandardCharsets.UTF_8);
+    }
+}
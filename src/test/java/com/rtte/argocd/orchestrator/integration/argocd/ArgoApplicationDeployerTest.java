@@ -0,0 +1,70 @@
+package com.rtte.argocd.orchestrator.integration.argocd;
+
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArgoApplicationDeployerTest {
+
+    private static final Instant REQUESTED = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    void healthyAfterTheRequestedSyncSucceeded() {
+        assertThat(settle("2026-01-01T10:00:05Z", "Succeeded", "Synced", "Healthy")).contains(true);
+    }
+
+    @Test
+    void olderOperationsAreIgnored() {
+        assertThat(settle("2026-01-01T09:59:00Z", "Succeeded", "Synced", "Healthy")).isEmpty();
+        assertThat(settle(null, null, "Synced", "Healthy")).isEmpty();
+    }
+
+    @Test
+    void runningOrProgressingSyncsAreNotSettled() {
+        assertThat(settle("2026-01-01T10:00:05Z", "Running", "OutOfSync", "Healthy")).isEmpty();
+        assertThat(settle("2026-01-01T10:00:05Z", "Succeeded", "Synced", "Progressing")).isEmpty();
+    }
+
+    @Test
+    void failedOperationsAndDegradedHealthFail() {
+        assertThat(settle("2026-01-01T10:00:05Z", "Failed", "OutOfSync", "Healthy")).contains(false);
+        assertThat(settle("2026-01-01T10:00:05Z", "Error", "OutOfSync", "Missing")).contains(false);
+        assertThat(settle("2026-01-01T10:00:05Z", "Succeeded", "Synced", "Degraded")).contains(false);
+    }
+
+    private static Optional<Boolean> settle(String startedAt, String phase, String sync, String health) {
+        return ArgoApplicationDeployer.settle(application(startedAt, phase, sync, health), REQUESTED);
+    }
+
+    private static GenericKubernetesResource application(String startedAt, String phase, String sync, String health) {
+        GenericKubernetesResource application = new GenericKubernetesResourceBuilder()
+                .withApiVersion("argoproj.io/v1alpha1")
+                .withKind("Application")
+                .withNewMetadata()
+                .withName("acme-api")
+                .withNamespace("argocd")
+                .withLabels(Map.of(ArgoResourceCache.CUSTOMER_LABEL, "acme"))
+                .endMetadata()
+                .build();
+        Map<String, Object> operationState = new HashMap<>();
+        if (startedAt != null) {
+            operationState.put("startedAt", startedAt);
+        }
+        if (phase != null) {
+            operationState.put("phase", phase);
+        }
+        application.setAdditionalProperty("status", Map.of(
+                "operationState", operationState,
+                "sync", Map.of("status", sync),
+                "health", Map.of("status", health)));
+        return application;
+    }
+}
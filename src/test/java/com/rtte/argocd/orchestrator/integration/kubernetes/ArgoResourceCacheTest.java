@@ -0,0 +1,145 @@
+package com.rtte.argocd.orchestrator.integration.kubernetes;
+
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableKubernetesMockClient(crud = true)
+class ArgoResourceCacheTest {
+
+    private static final String NAMESPACE = "argocd";
+
+    KubernetesClient client;
+
+    private ArgoCDProperties argoCDProperties;
+    private ArgoResourceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        argoCDProperties = new ArgoCDProperties();
+        cache = new ArgoResourceCache(client, argoCDProperties);
+        create(application("acme-api", Map.of(ArgoResourceCache.CUSTOMER_LABEL, "acme"), "0"));
+        create(application("acme-web", Map.of(ArgoResourceCache.CUSTOMER_LABEL, "acme"), "1"));
+        create(application("globex-api", Map.of(), "0", Map.of(ArgoResourceCache.CUSTOMER_ANNOTATION, "globex")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+    }
+
+    @Test
+    void healthIsOutOfServiceUntilTheInformersHaveSynced() {
+        assertThat(cache.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        cache.start();
+        await(cache::hasSynced);
+
+        assertThat(cache.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void indexesApplicationsByCustomerAndSyncWave() {
+        cache.start();
+        await(cache::hasSynced);
+
+        assertThat(names(cache.applicationsForCustomer("acme"))).containsExactlyInAnyOrder("acme-api", "acme-web");
+        assertThat(names(cache.applicationsInWave("acme", 1))).containsExactly("acme-web");
+        assertThat(names(cache.applicationsInWave("acme", 0))).containsExactly("acme-api");
+        // Generated Applications may only carry the customer annotation
+        assertThat(names(cache.applicationsForCustomer("globex"))).containsExactly("globex-api");
+        assertThat(cache.applicationsForCustomer("initech")).isEmpty();
+    }
+
+    @Test
+    void watchEventsUpdateTheIndexes() {
+        cache.start();
+        await(cache::hasSynced);
+
+        create(application("acme-worker", Map.of(ArgoResourceCache.CUSTOMER_LABEL, "acme"), "2"));
+        await(() -> cache.applicationsInWave("acme", 2).size() == 1);
+
+        client.genericKubernetesResources(ArgoResourceCache.APPLICATIONS).inNamespace(NAMESPACE)
+                .withName("acme-api").delete();
+        await(() -> cache.applicationsForCustomer("acme").size() == 2);
+        assertThat(cache.getApplication("acme-api")).isEmpty();
+    }
+
+    @Test
+    void readsFallBackToTheApiServerBeforeTheInformersHaveSynced() {
+        assertThat(cache.hasSynced()).isFalse();
+
+        assertThat(cache.getApplication("acme-api")).isPresent();
+        assertThat(names(cache.applicationsForCustomer("acme"))).containsExactlyInAnyOrder("acme-api", "acme-web");
+        assertThat(names(cache.applicationsInWave("acme", 1))).containsExactly("acme-web");
+        assertThat(cache.getApplicationSet("acme-apps")).isEmpty();
+    }
+
+    @Test
+    void disabledInformersReadFromTheApiServerAndReportUp() {
+        argoCDProperties.getInformers().setEnabled(false);
+        cache.start();
+
+        assertThat(cache.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(cache.getApplication("acme-web")).isPresent();
+    }
+
+    private void create(GenericKubernetesResource application) {
+        client.genericKubernetesResources(ArgoResourceCache.APPLICATIONS).inNamespace(NAMESPACE)
+                .resource(application)
+                .create();
+    }
+
+    private static GenericKubernetesResource application(String name, Map<String, String> labels, String syncWave) {
+        return application(name, labels, syncWave, Map.of());
+    }
+
+    private static GenericKubernetesResource application(String name, Map<String, String> labels, String syncWave,
+                                                         Map<String, String> annotations) {
+        Map<String, String> allAnnotations = new HashMap<>(annotations);
+        allAnnotations.put(ArgoResourceCache.SYNC_WAVE_ANNOTATION, syncWave);
+        GenericKubernetesResource application = new GenericKubernetesResourceBuilder()
+                .withApiVersion("argoproj.io/v1alpha1")
+                .withKind("Application")
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .withLabels(labels)
+                .withAnnotations(allAnnotations)
+                .endMetadata()
+                .build();
+        application.setAdditionalProperty("spec", Map.of("destination", Map.of("server", "https://cluster-a")));
+        return application;
+    }
+
+    private static List<String> names(List<GenericKubernetesResource> resources) {
+        return resources.stream().map(resource -> resource.getMetadata().getName()).toList();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
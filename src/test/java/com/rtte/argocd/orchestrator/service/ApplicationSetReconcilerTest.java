@@ -0,0 +1,199 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.ArgoCDProperties;
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.CACProperties;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler;
+import com.rtte.argocd.orchestrator.engine.fleet.FleetReconcileSummary;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetApplier;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetFingerprint;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ApplicationSetSpecFactory;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import com.rtte.argocd.orchestrator.integration.kubernetes.OutboundMutationLimiter;
+import com.rtte.argocd.orchestrator.model.domain.CustomerConfigRecord;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@EnableKubernetesMockClient(crud = true)
+class ApplicationSetReconcilerTest {
+
+    private static final int CUSTOMERS = 40;
+    private static final int FLEET_CUSTOMERS = 1_000;
+
+    KubernetesClient client;
+
+    private final Map<String, String> configs = new TreeMap<>();
+    private ArgoCDProperties argoCDProperties;
+    private OrchestratorProperties orchestratorProperties;
+    private FleetReconcileService fleetReconcileService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String customer = String.format("customer-%02d", i);
+            configs.put(customer, config(customer, "1.0.0"));
+        }
+        CustomerConfigRecordRepository repository = mock(CustomerConfigRecordRepository.class);
+        when(repository.findAllCustomerIds()).thenAnswer(invocation -> new ArrayList<>(configs.keySet()));
+        when(repository.findByCustomerId(anyString())).thenAnswer(invocation -> {
+            String customer = invocation.getArgument(0);
+            return Optional.ofNullable(configs.get(customer)).map(data -> CustomerConfigRecord.builder()
+                    .customerId(customer)
+                    .configData(data)
+                    .configHash(Integer.toHexString(data.hashCode()))
+                    .build());
+        });
+
+        argoCDProperties = new ArgoCDProperties();
+        argoCDProperties.getInformers().setEnabled(false);
+        CACProperties cacProperties = new CACProperties();
+        cacProperties.setRepositoryUrl("https://github.com/rtte/cac-configs");
+        orchestratorProperties = new OrchestratorProperties();
+        BlockingSchedulers blockingSchedulers = mock(BlockingSchedulers.class);
+        when(blockingSchedulers.jpa()).thenReturn(Schedulers.boundedElastic());
+        when(blockingSchedulers.argocd()).thenReturn(Schedulers.boundedElastic());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ApplicationSetApplier applier = new ApplicationSetApplier(client, argoCDProperties,
+                new ArgoResourceCache(client, argoCDProperties),
+                new OutboundMutationLimiter(orchestratorProperties, meterRegistry),
+                blockingSchedulers, meterRegistry);
+        ApplicationSetReconciler reconciler = new ApplicationSetReconciler(repository,
+                new ApplicationSetSpecFactory(argoCDProperties, cacProperties), applier, blockingSchedulers);
+        ObjectProvider<CustomerReconciler> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(reconciler);
+        fleetReconcileService = new FleetReconcileService(repository, provider, orchestratorProperties,
+                blockingSchedulers, meterRegistry);
+    }
+
+    @Test
+    void firstPassCreatesEveryApplicationSetAndTheNextOneSkipsThem() {
+        FleetReconcileSummary first = fleetReconcileService.reconcileAll().block();
+
+        assertThat(first.getApplied()).isEqualTo(CUSTOMERS);
+        assertThat(first.getFailed()).isZero();
+        List<GenericKubernetesResource> live = applicationSets();
+        assertThat(live).hasSize(CUSTOMERS);
+        assertThat(live).allSatisfy(applicationSet -> {
+            assertThat(applicationSet.getMetadata().getAnnotations()).containsKey(ApplicationSetFingerprint.ANNOTATION);
+            assertThat(applicationSet.getMetadata().getLabels()).containsKey(ArgoResourceCache.CUSTOMER_LABEL);
+            assertThat(applicationSet.getAdditionalProperties()).containsKey("spec");
+        });
+
+        FleetReconcileSummary second = fleetReconcileService.reconcileAll().block();
+
+        assertThat(second.getSkipped()).isEqualTo(CUSTOMERS);
+        assertThat(second.getApplied()).isZero();
+        assertThat(fleetReconcileService.lastSummary()).contains(second);
+    }
+
+    @Test
+    void changedConfigurationIsPatched() {
+        fleetReconcileService.reconcileAll().block();
+        String before = fingerprintOf("customer-07-apps");
+
+        configs.put("customer-07", config("customer-07", "1.1.0"));
+        FleetReconcileSummary summary = fleetReconcileService.reconcileAll().block();
+
+        assertThat(summary.getApplied()).isEqualTo(1);
+        assertThat(summary.getSkipped()).isEqualTo(CUSTOMERS - 1);
+        assertThat(fingerprintOf("customer-07-apps")).isNotEqualTo(before);
+    }
+
+    @Test
+    void invalidConfigurationFailsOnlyItsCustomer() {
+        configs.put("customer-03", "applications: [");
+
+        FleetReconcileSummary summary = fleetReconcileService.reconcileAll().block();
+
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(summary.getFailures()).containsOnlyKeys("customer-03");
+        assertThat(summary.getApplied()).isEqualTo(CUSTOMERS - 1);
+        assertThat(applicationSets()).hasSize(CUSTOMERS - 1);
+    }
+
+    @Test
+    void thousandCustomerPassFinishesWellWithinTheSyncInterval() {
+        for (int i = CUSTOMERS; i < FLEET_CUSTOMERS; i++) {
+            String customer = String.format("customer-%04d", i);
+            configs.put(customer, config(customer, "1.0.0"));
+        }
+        Duration budget = orchestratorProperties.getSync().getInterval().dividedBy(5);
+
+        FleetReconcileSummary created = fleetReconcileService.reconcileAll().block();
+        // Every tenth customer changes, so the second pass patches as well as skips
+        for (int i = 0; i < FLEET_CUSTOMERS; i += 10) {
+            String customer = i < CUSTOMERS ? String.format("customer-%02d", i) : String.format("customer-%04d", i);
+            configs.put(customer, config(customer, "1.1.0"));
+        }
+        FleetReconcileSummary steady = fleetReconcileService.reconcileAll().block();
+
+        for (FleetReconcileSummary summary : List.of(created, steady)) {
+            log.info("Fleet pass over {} customers: {} applied, {} skipped, {} failed in {} "
+                            + "(p50 {}, p90 {}, p99 {}, max {})", summary.getTotal(), summary.getApplied(), summary.getSkipped(), summary.getFailed(),
+                    summary.getDuration(), summary.getP50(), summary.getP90(), summary.getP99(), summary.getMax());
+            assertThat(summary.getTotal()).isEqualTo(FLEET_CUSTOMERS);
+            assertThat(summary.getFailed()).isZero();
+            assertThat(summary.getDuration()).as("pass duration").isLessThan(budget);
+            assertThat(summary.getP50()).isLessThanOrEqualTo(summary.getP90());
+            assertThat(summary.getP90()).isLessThanOrEqualTo(summary.getP99());
+            assertThat(summary.getP99()).isLessThanOrEqualTo(summary.getMax());
+        }
+        assertThat(created.getApplied()).isEqualTo(FLEET_CUSTOMERS);
+        assertThat(steady.getApplied()).isEqualTo(FLEET_CUSTOMERS / 10);
+        assertThat(steady.getSkipped()).isEqualTo(FLEET_CUSTOMERS - FLEET_CUSTOMERS / 10);
+        assertThat(applicationSets()).hasSize(FLEET_CUSTOMERS);
+    }
+
+    private List<GenericKubernetesResource> applicationSets() {
+        return client.genericKubernetesResources(ArgoResourceCache.APPLICATION_SETS)
+                .inNamespace(argoCDProperties.getApplicationSet().getNamespace())
+                .list()
+                .getItems();
+    }
+
+    private String fingerprintOf(String name) {
+        return client.genericKubernetesResources(ArgoResourceCache.APPLICATION_SETS)
+                .inNamespace(argoCDProperties.getApplicationSet().getNamespace())
+                .withName(name)
+                .get()
+                .getMetadata()
+                .getAnnotations()
+                .get(ApplicationSetFingerprint.ANNOTATION);
+    }
+
+    private static String config(String customer, String version) {
+        return """
+                customer: %s
+                environment: production
+                applications:
+                  - name: api
+                    version: %s
+                  - name: web
+                    version: %s
+                """.formatted(customer, version, version);
+    }
+}
@@ -0,0 +1,114 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.engine.graph.CompiledDependencyGraph;
+import com.rtte.argocd.orchestrator.engine.graph.DependencyGraphCodec;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraphSnapshot;
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import com.rtte.argocd.orchestrator.repository.CustomerConfigRecordRepository;
+import com.rtte.argocd.orchestrator.repository.DependencyGraphRepository;
+import com.rtte.argocd.orchestrator.repository.DependencyGraphSnapshotRepository;
+import com.rtte.argocd.orchestrator.repository.MicroserviceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DependencyGraphSnapshotServiceTest {
+
+    private DependencyGraphSnapshotRepository snapshotRepository;
+    private DependencyGraphRepository dependencyGraphRepository;
+    private MicroserviceRepository microserviceRepository;
+    private DependencyGraphSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        snapshotRepository = mock(DependencyGraphSnapshotRepository.class);
+        dependencyGraphRepository = mock(DependencyGraphRepository.class);
+        microserviceRepository = mock(MicroserviceRepository.class);
+        service = new DependencyGraphSnapshotService(snapshotRepository, dependencyGraphRepository,
+                mock(CustomerConfigRecordRepository.class), microserviceRepository);
+        when(snapshotRepository.findByCustomerIdAndConfigHash(anyString(), anyString())).thenReturn(Optional.empty());
+        when(dependencyGraphRepository.save(any(DependencyGraph.class))).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void snapshotHitDoesNotReadTheGraphTables() {
+        DependencyGraph graph = graph("acme");
+        graph.addEdge(DependencyGraph.DependencyEdge.builder().fromService("api").toService("db").build());
+        when(snapshotRepository.findByCustomerIdAndConfigHash("acme", "hash-1")).thenReturn(Optional.of(
+                DependencyGraphSnapshot.builder()
+                        .customerId("acme")
+                        .configHash("hash-1")
+                        .formatVersion(DependencyGraphCodec.FORMAT_VERSION)
+                        .payload(DependencyGraphCodec.encode(graph.compile()))
+                        .build()));
+
+        Optional<CompiledDependencyGraph> compiled = service.loadCompiled("acme", "hash-1");
+
+        assertThat(compiled).map(CompiledDependencyGraph::topologicalOrder).contains(List.of("db", "api"));
+        verifyNoInteractions(dependencyGraphRepository, microserviceRepository);
+    }
+
+    @Test
+    void missBuildsTheGraphFromTheCustomersServicesAndStoresItUnderTheHash() {
+        when(microserviceRepository.findByCustomerId("acme")).thenReturn(List.of(
+                microservice("api", 1, "db"),
+                microservice("db", 0)));
+
+        Optional<CompiledDependencyGraph> compiled = service.loadCompiled("acme", "hash-2");
+
+        assertThat(compiled).map(CompiledDependencyGraph::topologicalOrder).contains(List.of("db", "api"));
+        verify(dependencyGraphRepository).save(any(DependencyGraph.class));
+        verify(snapshotRepository).save(any(DependencyGraphSnapshot.class));
+        verify(snapshotRepository).deleteSuperseded("acme", "hash-2");
+        verify(dependencyGraphRepository, never()).findFirstByCustomerIdOrderByUpdatedAtDesc(anyString());
+    }
+
+    @Test
+    void customerWithoutServicesFallsBackToTheStoredGraphWithoutSnapshottingIt() {
+        when(dependencyGraphRepository.findFirstByCustomerIdOrderByUpdatedAtDesc("acme"))
+                .thenReturn(Optional.of(graph("acme")));
+
+        Optional<CompiledDependencyGraph> compiled = service.loadCompiled("acme", "hash-2");
+
+        assertThat(compiled).isPresent();
+        verify(snapshotRepository, never()).save(any(DependencyGraphSnapshot.class));
+        verify(snapshotRepository, never()).deleteSuperseded(anyString(), anyString());
+    }
+
+    @Test
+    void savedGraphIsStoredUnderItsHash() {
+        DependencyGraph graph = graph("acme");
+
+        service.saveGraph(graph, "hash-1");
+
+        verify(snapshotRepository).save(any(DependencyGraphSnapshot.class));
+        verify(snapshotRepository).deleteSuperseded("acme", "hash-1");
+    }
+
+    private static DependencyGraph graph(String customerId) {
+        DependencyGraph graph = new DependencyGraph();
+        graph.setCustomerId(customerId);
+        return graph;
+    }
+
+    private static Microservice microservice(String name, int syncWave, String... dependencies) {
+        Microservice microservice = new Microservice();
+        microservice.setCustomerId("acme");
+        microservice.setName(name);
+        microservice.setSyncWave(syncWave);
+        microservice.setDependencies(List.of(dependencies));
+        return microservice;
+    }
+}
@@ -0,0 +1,131 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.model.domain.Microservice;
+import com.rtte.argocd.orchestrator.model.domain.Microservice.MicroserviceStatus;
+import com.rtte.argocd.orchestrator.repository.MicroserviceRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HealthProbeServiceTest {
+
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private MicroserviceRepository microserviceRepository;
+    private Microservice microservice;
+    private HealthProbeService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        microservice = new Microservice();
+        microservice.setId(1L);
+        microservice.setName("api");
+        microservice.setCustomerId("acme");
+        microservice.setStatus(MicroserviceStatus.HEALTHY);
+        Microservice.HealthCheck check = new Microservice.HealthCheck();
+        check.setIntervalSeconds(1);
+        check.setTimeoutSeconds(1);
+        check.setFailureThreshold(2);
+        check.setSuccessThreshold(2);
+        microservice.setHealthCheck(check);
+
+        microserviceRepository = mock(MicroserviceRepository.class);
+        when(microserviceRepository.findByEnabledTrue()).thenAnswer(invocation -> List.of(microservice));
+        when(microserviceRepository.updateHealthStatus(any(), any(), any())).thenReturn(1);
+        BlockingSchedulers blockingSchedulers = mock(BlockingSchedulers.class);
+        when(blockingSchedulers.jpa()).thenReturn(Schedulers.immediate());
+        ShardingService shardingService = mock(ShardingService.class);
+        when(shardingService.owns(any())).thenReturn(true);
+
+        OrchestratorProperties properties = new OrchestratorProperties();
+        properties.getProbes().setBaseUrlTemplate("http://127.0.0.1:" + server.getAddress().getPort()
+                + "/{namespace}/{service}");
+        properties.getProbes().setRefreshInterval(Duration.ofHours(1));
+        properties.getProbes().setJitter(0);
+        service = new HealthProbeService(microserviceRepository, shardingService, properties, blockingSchedulers,
+                WebClient.builder(), new SimpleMeterRegistry());
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void statusIsWrittenOnlyWhenAThresholdFlipsIt() {
+        responseStatus.set(503);
+        verify(microserviceRepository, timeout(10_000))
+                .updateHealthStatus(eq(1L), eq(MicroserviceStatus.UNHEALTHY), any());
+        int failed = requests.get();
+        await(() -> requests.get() >= failed + 2);
+        verify(microserviceRepository, times(1)).updateHealthStatus(any(), any(), any());
+
+        responseStatus.set(200);
+        verify(microserviceRepository, timeout(10_000))
+                .updateHealthStatus(eq(1L), eq(MicroserviceStatus.HEALTHY), any());
+        int recovered = requests.get();
+        await(() -> requests.get() >= recovered + 2);
+        verify(microserviceRepository, times(2)).updateHealthStatus(any(), any(), any());
+    }
+
+    @Test
+    void refreshResyncsTheStatusStoredByAnotherWriter() {
+        await(() -> requests.get() >= 3);
+        verify(microserviceRepository, never()).updateHealthStatus(any(), any(), any());
+
+        // Another writer marked the service unhealthy; healthy probes must flip it back
+        microservice.setStatus(MicroserviceStatus.UNHEALTHY);
+        service.refreshTargets();
+
+        verify(microserviceRepository, timeout(10_000))
+                .updateHealthStatus(eq(1L), eq(MicroserviceStatus.HEALTHY), any());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.progress.WaveProgress;
+import com.rtte.argocd.orchestrator.integration.argocd.ArgoApplicationDeployer;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph;
+import com.rtte.argocd.orchestrator.model.domain.DependencyGraph.DependencyEdge.DependencyType;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.repository.DeploymentRepository;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RolloutSchedulingServiceTest {
+
+    private final Map<Long, SyncWave> stored = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private CompiledGraphCache compiledGraphCache;
+    private SyncWaveRepository syncWaveRepository;
+    private SyncWaveProgressService syncWaveProgressService;
+    private RolloutSchedulingService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        compiledGraphCache = mock(CompiledGraphCache.class);
+        syncWaveRepository = mock(SyncWaveRepository.class);
+        syncWaveProgressService = mock(SyncWaveProgressService.class);
+        BlockingSchedulers blockingSchedulers = mock(BlockingSchedulers.class);
+        when(blockingSchedulers.jpa()).thenReturn(Schedulers.immediate());
+        when(syncWaveRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<SyncWave> saved = new ArrayList<>();
+            for (SyncWave wave : (Iterable<SyncWave>) invocation.getArgument(0)) {
+                if (wave.getId() == null) {
+                    wave.setId(ids.incrementAndGet());
+                }
+                stored.put(wave.getId(), wave);
+                saved.add(wave);
+            }
+            return saved;
+        });
+        when(syncWaveRepository.save(any(SyncWave.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(syncWaveRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<SyncWave> found = new ArrayList<>();
+            ((Iterable<Long>) invocation.getArgument(0)).forEach(id -> found.add(stored.get(id)));
+            return found;
+        });
+        when(syncWaveProgressService.track(any(SyncWave.class))).thenReturn(Mono.<WaveProgress>never());
+
+        service = new RolloutSchedulingService(compiledGraphCache, mock(DeploymentRepository.class),
+                new OrchestratorProperties(), blockingSchedulers, mock(ArgoApplicationDeployer.class),
+                syncWaveRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                syncWaveProgressService);
+    }
+
+    @Test
+    void wavesAreStartedAndTrackedWhenTheirFirstServiceDeploys() {
+        // Wave 0: db; wave 1: api, web; wave 2: docs, which needs the failing api
+        DependencyGraph graph = DependencyGraph.builder()
+                .customerId("acme")
+                .nodes(new ArrayList<>())
+                .edges(new ArrayList<>())
+                .topologicalOrder(new ArrayList<>())
+                .build();
+        node(graph, "db", 0);
+        node(graph, "api", 1);
+        node(graph, "web", 1);
+        node(graph, "docs", 2);
+        edge(graph, "api", "db");
+        edge(graph, "web", "db");
+        edge(graph, "docs", "api");
+        CompiledGraphCache.CachedGraph cached = mock(CompiledGraphCache.CachedGraph.class);
+        when(cached.getGraph()).thenReturn(graph.compile());
+        when(compiledGraphCache.get("acme")).thenReturn(Optional.of(cached));
+
+        StepVerifier.create(service.executeRollout("acme", name -> Mono.just(!name.equals("api"))))
+                .assertNext(result -> assertThat(result.isSuccessful()).isFalse())
+                .verifyComplete();
+
+        ArgumentCaptor<SyncWave> tracked = ArgumentCaptor.forClass(SyncWave.class);
+        verify(syncWaveProgressService, times(2)).track(tracked.capture());
+        assertThat(tracked.getAllValues())
+                .extracting(SyncWave::getWaveNumber, SyncWave::getStatus)
+                .containsExactly(
+                        Tuple.tuple(0, SyncWaveStatus.DEPLOYING),
+                        Tuple.tuple(1, SyncWaveStatus.DEPLOYING));
+        assertThat(tracked.getAllValues().get(1).getServices()).containsExactly("api", "web");
+
+        assertThat(stored.values())
+                .filteredOn(wave -> wave.getWaveNumber() == 2)
+                .extracting(SyncWave::getStatus)
+                .containsExactly(SyncWaveStatus.CANCELLED);
+    }
+
+    @Test
+    void missingGraphFailsWithoutCreatingWaves() {
+        when(compiledGraphCache.get("initech")).thenReturn(Optional.empty());
+
+        StepVerifier.create(service.executeRollout("initech", name -> Mono.just(true)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        assertThat(stored).isEmpty();
+    }
+
+    private static void node(DependencyGraph graph, String service, int syncWave) {
+        graph.addNode(DependencyGraph.DependencyNode.builder()
+                .serviceName(service)
+                .syncWave(syncWave)
+                .priority(0)
+                .build());
+    }
+
+    private static void edge(DependencyGraph graph, String from, String to) {
+        graph.addEdge(DependencyGraph.DependencyEdge.builder()
+                .fromService(from)
+                .toService(to)
+                .dependencyType(DependencyType.HARD)
+                .weight(1)
+                .build());
+    }
+}
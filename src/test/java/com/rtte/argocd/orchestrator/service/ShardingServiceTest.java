@@ -0,0 +1,181 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.engine.fleet.CustomerReconciler.ReconcileResult;
+import com.rtte.argocd.orchestrator.engine.fleet.FleetReconcileSummary;
+import com.rtte.argocd.orchestrator.engine.fleet.FleetReconciler;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+/**
+ * Several in-process orchestrator replicas sharing one Lease group on the
+ * fabric8 mock API server.
+ */
+@EnableKubernetesMockClient(crud = true)
+class ShardingServiceTest {
+
+    private static final int CUSTOMERS = 2_000;
+    private static final List<String> CUSTOMER_IDS = IntStream.range(0, CUSTOMERS)
+            .mapToObj(i -> "customer-" + i)
+            .toList();
+
+    KubernetesClient client;
+
+    private final List<ShardingService> replicas = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        replicas.forEach(ShardingService::stop);
+    }
+
+    @Test
+    void shardedPassReconcilesEveryCustomerExactlyOnce() {
+        for (int i = 0; i < 4; i++) {
+            join(client, "argocd-orchestrator-" + i, Duration.ofSeconds(15));
+        }
+        converge();
+
+        Map<String, Integer> reconciled = new ConcurrentHashMap<>();
+        List<FleetReconcileSummary> summaries = Flux.fromIterable(replicas)
+                .flatMap(replica -> new FleetReconciler(customerId -> Mono.fromCallable(() -> {
+                            reconciled.merge(customerId, 1, Integer::sum);
+                            return ReconcileResult.APPLIED;
+                        }), 16, Duration.ofSeconds(30))
+                        .reconcile(Flux.fromIterable(CUSTOMER_IDS).filter(replica::owns)))
+                .collectList()
+                .block();
+
+        assertThat(reconciled).hasSize(CUSTOMERS);
+        assertThat(reconciled.values()).containsOnly(1);
+        // 128 virtual nodes per member keep every replica's share near 1/4
+        assertThat(summaries).allSatisfy(summary ->
+                assertThat(summary.getApplied()).isBetween(CUSTOMERS / 8, CUSTOMERS * 3 / 8));
+    }
+
+    @Test
+    void joiningReplicaTakesOverOnlyItsShare() {
+        for (int i = 0; i < 3; i++) {
+            join(client, "argocd-orchestrator-" + i, Duration.ofSeconds(15));
+        }
+        converge();
+        Map<String, String> before = owners();
+        AtomicInteger rebalances = new AtomicInteger();
+        replicas.get(0).addListener(ring -> rebalances.incrementAndGet());
+
+        ShardingService joined = join(client, "argocd-orchestrator-3", Duration.ofSeconds(15));
+        converge();
+
+        Map<String, String> after = owners();
+        List<String> moved = CUSTOMER_IDS.stream()
+                .filter(customerId -> !before.get(customerId).equals(after.get(customerId)))
+                .toList();
+        assertThat(rebalances).hasValue(1);
+        assertThat(moved).allSatisfy(customerId -> assertThat(joined.owns(customerId)).isTrue());
+        assertThat(moved.size()).isBetween(CUSTOMERS / 8, CUSTOMERS * 3 / 8);
+    }
+
+    @Test
+    void replicaThatCannotRenewItsLeaseReleasesItsCustomers() {
+        KubernetesClient flaky = mock(KubernetesClient.class, delegatesTo(client));
+        ShardingService replica = join(flaky, "argocd-orchestrator-0", Duration.ofSeconds(1));
+        // The first renew also builds the HTTP client and can outlast the 1s Lease
+        replica.refresh();
+        assertThat(replica.owns("customer-1")).isTrue();
+        AtomicInteger rebalances = new AtomicInteger();
+        replica.addListener(ring -> rebalances.incrementAndGet());
+
+        doThrow(new KubernetesClientException("API server unavailable")).when(flaky).resources(Lease.class);
+        replica.refresh();
+        assertThat(replica.owns("customer-1")).as("still within the lease").isTrue();
+
+        await(() -> {
+            replica.refresh();
+            return replica.members().isEmpty();
+        });
+        assertThat(replica.owns("customer-1")).isFalse();
+        assertThat(replica.ownerOf("customer-1")).isEmpty();
+        assertThat(rebalances).hasValue(1);
+
+        reset(flaky);
+        replica.refresh();
+        assertThat(replica.owns("customer-1")).isTrue();
+        assertThat(rebalances).hasValue(2);
+    }
+
+    private ShardingService join(KubernetesClient kubernetesClient, String podName, Duration leaseDuration) {
+        OrchestratorProperties properties = new OrchestratorProperties();
+        properties.setPodName(podName);
+        properties.getSharding().setEnabled(true);
+        properties.getSharding().setLeaseDuration(leaseDuration);
+        // Renewals are driven by the test after the first one
+        properties.getSharding().setRenewInterval(Duration.ofHours(1));
+        BlockingSchedulers blockingSchedulers = mock(BlockingSchedulers.class);
+        when(blockingSchedulers.kubernetes()).thenReturn(Schedulers.immediate());
+
+        ShardingService replica = new ShardingService(properties, kubernetesClient, blockingSchedulers,
+                new SimpleMeterRegistry());
+        replica.start();
+        await(() -> replica.members().contains(podName));
+        replicas.add(replica);
+        return replica;
+    }
+
+    /**
+     * Refresh every replica so all of them see every Lease
+     */
+    private void converge() {
+        replicas.forEach(ShardingService::refresh);
+        assertThat(replicas).allSatisfy(replica -> assertThat(replica.members()).hasSize(replicas.size()));
+    }
+
+    private Map<String, String> owners() {
+        Map<String, String> owners = new ConcurrentHashMap<>();
+        for (String customerId : CUSTOMER_IDS) {
+            List<String> claimed = replicas.stream()
+                    .filter(replica -> replica.owns(customerId))
+                    .map(replica -> replica.ownerOf(customerId))
+                    .toList();
+            assertThat(claimed).as("owners of %s", customerId).hasSize(1);
+            owners.put(customerId, claimed.get(0));
+        }
+        return owners;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.rtte.argocd.orchestrator.service;
+
+import com.rtte.argocd.orchestrator.config.BlockingSchedulers;
+import com.rtte.argocd.orchestrator.config.OrchestratorProperties;
+import com.rtte.argocd.orchestrator.integration.argocd.ArgoApplicationDeployer;
+import com.rtte.argocd.orchestrator.integration.kubernetes.ArgoResourceCache;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave;
+import com.rtte.argocd.orchestrator.model.domain.SyncWave.SyncWaveStatus;
+import com.rtte.argocd.orchestrator.repository.SyncWaveRepository;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncWaveRetryServiceTest {
+
+    private final Map<Long, SyncWave> stored = new ConcurrentHashMap<>();
+    private ArgoApplicationDeployer argoApplicationDeployer;
+    private ShardingService shardingService;
+    private SyncWaveTimerService syncWaveTimerService;
+    private SyncWaveProgressService syncWaveProgressService;
+    private SyncWaveRetryService syncWaveRetryService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        SyncWaveRepository syncWaveRepository = mock(SyncWaveRepository.class);
+        when(syncWaveRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<Long>getArgument(0))));
+        when(syncWaveRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<SyncWave> found = new ArrayList<>();
+            ((Iterable<Long>) invocation.getArgument(0)).forEach(id -> Optional.ofNullable(stored.get(id))
+                    .ifPresent(found::add));
+            return found;
+        });
+        when(syncWaveRepository.save(any(SyncWave.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(syncWaveRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ArgoResourceCache argoResourceCache = mock(ArgoResourceCache.class);
+        when(argoResourceCache.applicationsForCustomer(anyString())).thenReturn(List.of());
+        when(argoResourceCache.destinationForCustomer(anyString())).thenReturn(ArgoResourceCache.IN_CLUSTER_SERVER);
+        argoApplicationDeployer = mock(ArgoApplicationDeployer.class);
+        when(argoApplicationDeployer.deploy(anyString(), anyString())).thenReturn(Mono.just(true));
+        BlockingSchedulers blockingSchedulers = mock(BlockingSchedulers.class);
+        when(blockingSchedulers.jpa()).thenReturn(Schedulers.immediate());
+        shardingService = mock(ShardingService.class);
+        when(shardingService.owns(anyString())).thenAnswer(invocation -> !"globex".equals(invocation.getArgument(0)));
+
+        OrchestratorProperties properties = new OrchestratorProperties();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        WaveCheckpointService waveCheckpointService = mock(WaveCheckpointService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        syncWaveTimerService = new SyncWaveTimerService(syncWaveRepository, transactionTemplate, properties,
+                meterRegistry, waveCheckpointService, blockingSchedulers, shardingService);
+        syncWaveProgressService = new SyncWaveProgressService(argoResourceCache, syncWaveRepository,
+                transactionTemplate, properties, syncWaveTimerService, waveCheckpointService, shardingService);
+        syncWaveRetryService = new SyncWaveRetryService(syncWaveRepository, transactionTemplate,
+                syncWaveTimerService, syncWaveProgressService, argoResourceCache, argoApplicationDeployer,
+                shardingService, properties, meterRegistry);
+        syncWaveTimerService.start();
+        syncWaveProgressService.start();
+        syncWaveRetryService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        syncWaveProgressService.shutdown();
+        syncWaveTimerService.shutdown();
+    }
+
+    @Test
+    void failedFirstAttemptIsScheduledForRetry() {
+        SyncWave wave = wave(1L, "api", "web");
+        wave.start();
+        syncWaveProgressService.track(wave);
+
+        syncWaveProgressService.onUpdate(null, application("acme-api", "Degraded"));
+        syncWaveProgressService.onUpdate(null, application("acme-web", "Healthy"));
+
+        await(() -> wave.getStatus() == SyncWaveStatus.RETRYING && syncWaveTimerService.pendingTimers() == 1);
+        assertThat(wave.getRetryCount()).isEqualTo(1);
+        assertThat(wave.getRetryDelaySeconds()).isPositive();
+        assertThat(wave.getEndTime()).isNull();
+    }
+
+    @Test
+    void firedRetryRestartsTheWaveAndRedeploysItsServices() {
+        SyncWave wave = wave(2L, "api", "web");
+        wave.setStatus(SyncWaveStatus.RETRYING);
+        wave.setRetryCount(1);
+        wave.setRetryDelaySeconds(1);
+        wave.setStartTime(LocalDateTime.now().minusSeconds(5));
+
+        syncWaveTimerService.schedule(wave);
+
+        verify(argoApplicationDeployer, timeout(5000)).deploy("acme", "api");
+        verify(argoApplicationDeployer, timeout(5000)).deploy("acme", "web");
+        assertThat(wave.getStatus()).isEqualTo(SyncWaveStatus.DEPLOYING);
+        assertThat(syncWaveProgressService.progress(2L)).isPresent();
+    }
+
+    @Test
+    void completedWaveIsNotRetried() {
+        SyncWave wave = wave(3L, "api");
+        wave.start();
+        syncWaveProgressService.track(wave);
+
+        syncWaveProgressService.onUpdate(null, application("acme-api", "Healthy"));
+
+        await(() -> wave.getStatus() == SyncWaveStatus.COMPLETED);
+        assertThat(syncWaveRetryService.retry(3L)).isFalse();
+        assertThat(wave.getRetryCount()).isZero();
+    }
+
+    @Test
+    void waveOfACustomerOwnedByAnotherReplicaIsNotRetried() {
+        SyncWave wave = customerWave(4L, "globex", "api");
+        wave.start();
+        syncWaveProgressService.track(wave);
+
+        syncWaveProgressService.onUpdate(null, application("globex-api", "globex", "Degraded"));
+
+        verify(shardingService, timeout(5000)).owns("globex");
+        assertThat(wave.getStatus()).isEqualTo(SyncWaveStatus.FAILED);
+        assertThat(wave.getRetryCount()).isZero();
+        assertThat(syncWaveTimerService.pendingTimers()).isZero();
+    }
+
+    private SyncWave wave(Long id, String... services) {
+        return customerWave(id, "acme", services);
+    }
+
+    private SyncWave customerWave(Long id, String customerId, String... services) {
+        SyncWave wave = new SyncWave();
+        wave.setId(id);
+        wave.setCustomerId(customerId);
+        wave.setWaveNumber(0);
+        wave.setWaveName("Infrastructure");
+        wave.setServices(new ArrayList<>(List.of(services)));
+        wave.setTotalServices(services.length);
+        stored.put(id, wave);
+        return wave;
+    }
+
+    private static GenericKubernetesResource application(String name, String health) {
+        return application(name, "acme", health);
+    }
+
+    private static GenericKubernetesResource application(String name, String customerId, String health) {
+        GenericKubernetesResource application = new GenericKubernetesResourceBuilder()
+                .withApiVersion("argoproj.io/v1alpha1")
+                .withKind("Application")
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("argocd")
+                .withLabels(Map.of(ArgoResourceCache.CUSTOMER_LABEL, customerId))
+                .endMetadata()
+                .build();
+        application.setAdditionalProperty("status", Map.of(
+                "sync", Map.of("status", "Synced"),
+                "health", Map.of("status", health)));
+        return application;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}